@@ -0,0 +1,50 @@
+package com.fixitnow.config;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+/**
+ * Committed Flyway defaults, so an install that keeps its own application.properties upgrades
+ * without new settings. Each one applies only when the property is not set.
+ *
+ * Migrations live in one folder per database (db/migration/mysql, db/migration/h2). Flyway's
+ * default classpath:db/migration scans both and fails on the duplicate versions. Databases
+ * Hibernate created before Flyway are baselined at V1, the schema V1 describes.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer flywayDefaults(Environment environment) {
+        return configuration -> {
+            if (!environment.containsProperty("spring.flyway.locations")) {
+                configuration.locations("classpath:db/migration/" + vendor(configuration.getDataSource()));
+            }
+            if (!environment.containsProperty("spring.flyway.baseline-on-migrate")) {
+                configuration.baselineOnMigrate(true);
+            }
+            if (!environment.containsProperty("spring.flyway.baseline-version")) {
+                configuration.baselineVersion("1");
+            }
+        };
+    }
+
+    // Same vendor id Spring Boot substitutes for {vendor} in spring.flyway.locations
+    private static String vendor(DataSource dataSource) {
+        try {
+            String url = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getURL);
+            return DatabaseDriver.fromJdbcUrl(url).getId();
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine the database vendor for Flyway", e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -76,6 +77,7 @@ public class WebSecurityConfig {
                 .requestMatchers("/services/map/**").permitAll()  // Allow public access to map services
                 .requestMatchers("/services/*/reviews").permitAll()  // Allow public access to service reviews
                 .requestMatchers("/users/{id}").permitAll()  // Public access to user profile for chat
+                .requestMatchers(HttpMethod.GET, "/providers/**").permitAll()  // Coverage lookup, service areas and free slots are public
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/provider/**").hasAnyRole("PROVIDER", "ADMIN")
                 .requestMatchers("/customer/**").hasAnyRole("CUSTOMER", "ADMIN")
@@ -5,14 +5,22 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.fixitnow.dto.ServiceCardDTO;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.index.Gazetteer;
+import com.fixitnow.index.ServiceFilterCache;
 import com.fixitnow.model.User;
 import com.fixitnow.model.Service;
 import com.fixitnow.repository.UserRepository;
+import com.fixitnow.repository.ServiceFilter;
 import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.service.DashboardStatsCache;
+import com.fixitnow.service.ServiceAreaService;
 
 @RestController
 @RequestMapping("/admin")
@@ -25,6 +33,21 @@ public class AdminController {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private ServiceFilterCache serviceFilterCache;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private ServiceAreaService serviceAreaService;
+
     @GetMapping("/providers/pending")
     public ResponseEntity<?> getPendingProviders() {
         List<User> pending = userRepository.findByRoleAndIsVerified(User.Role.PROVIDER, false);
@@ -37,6 +60,7 @@ public class AdminController {
         if (user == null) return ResponseEntity.notFound().build();
         user.setIsVerified(true);
         userRepository.save(user);
+        serviceCatalog.providerChanged();
         Map<String, String> resp = new HashMap<>();
         resp.put("message", "Provider verified");
         return ResponseEntity.ok(resp);
@@ -49,6 +73,7 @@ public class AdminController {
         user.setIsVerified(false);
         user.setVerificationRejectionReason(body.getOrDefault("reason", ""));
         userRepository.save(user);
+        serviceCatalog.providerChanged();
         Map<String, String> resp = new HashMap<>();
         resp.put("message", "Provider rejected");
         return ResponseEntity.ok(resp);
@@ -64,7 +89,8 @@ public class AdminController {
     // Get all services
     @GetMapping("/services")
     public ResponseEntity<?> getAllServices() {
-        List<Service> services = serviceRepository.findByIsDeletedFalse();
+        List<ServiceCardDTO> services = serviceRepository.findCards(
+            ServiceFilter.adminListing(), Pageable.unpaged()).getContent();
         return ResponseEntity.ok(services);
     }
 
@@ -74,8 +100,13 @@ public class AdminController {
         User user = userRepository.findById(id).orElse(null);
         if (user == null) return ResponseEntity.notFound().build();
         
-        // Hard delete - permanently remove from database
+        // Services cascade with the user, so drop them from the catalog indexes too
+        List<Service> providerServices = serviceRepository.findByProvider(user);
+
+        // Hard delete - permanently remove from database; service areas cascade in the schema
         userRepository.deleteById(id);
+        providerServices.forEach(s -> serviceCatalog.serviceRemoved(s.getId()));
+        serviceAreaService.refresh(id);
         
         Map<String, String> resp = new HashMap<>();
         resp.put("message", "User deleted successfully");
@@ -91,6 +122,7 @@ public class AdminController {
         
         // Hard delete - permanently remove from database
         serviceRepository.deleteById(id);
+        serviceCatalog.serviceRemoved(id);
         
         Map<String, String> resp = new HashMap<>();
         resp.put("message", "Service deleted successfully");
@@ -111,4 +143,14 @@ public class AdminController {
         List<Service> services = serviceRepository.findAll();
         return ResponseEntity.ok(services);
     }
+
+    // Hit/miss counters for sizing the in-memory caches
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("serviceFilter", serviceFilterCache.getStats());
+        stats.put("geocoding", gazetteer.getStats());
+        stats.put("dashboardStats", dashboardStatsCache.getStats());
+        return ResponseEntity.ok(stats);
+    }
 }
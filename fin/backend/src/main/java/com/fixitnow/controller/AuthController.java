@@ -23,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.fixitnow.dto.JwtResponse;
 import com.fixitnow.dto.LoginRequest;
 import com.fixitnow.dto.SignupRequest;
+import com.fixitnow.index.LocalityDictionary;
 import com.fixitnow.model.User;
 import com.fixitnow.model.PasswordResetToken;
 import com.fixitnow.repository.UserRepository;
@@ -55,6 +56,9 @@ public class AuthController {
     @Autowired
     EmailService emailService;
 
+    @Autowired
+    LocalityDictionary localityDictionary;
+
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
@@ -165,6 +169,7 @@ public class AuthController {
                                User.Role.valueOf(signUpRequest.getRole().toUpperCase()));
 
             user.setLocation(signUpRequest.getLocation());
+            localityDictionary.applyTo(user);
             user.setPhone(signUpRequest.getPhone());
             
             if ("PROVIDER".equals(signUpRequest.getRole().toUpperCase())) {
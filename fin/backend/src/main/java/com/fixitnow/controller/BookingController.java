@@ -1,8 +1,12 @@
 package com.fixitnow.controller;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,14 +27,17 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fixitnow.dto.BookingRequest;
+import com.fixitnow.index.ServiceSignals;
+import com.fixitnow.index.ServiceSuggestIndex;
 import com.fixitnow.model.Booking;
 import com.fixitnow.model.Service;
 import com.fixitnow.model.User;
 import com.fixitnow.repository.BookingRepository;
-import com.fixitnow.repository.ReviewRepository;
 import com.fixitnow.repository.ServiceRepository;
 import com.fixitnow.repository.UserRepository;
 import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.DashboardStatsCache;
+import com.fixitnow.service.SlotReservationService;
 
 import jakarta.validation.Valid;
 
@@ -39,6 +46,8 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "http://localhost:3000")
 public class BookingController {
 
+    private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -49,34 +58,43 @@ public class BookingController {
     private UserRepository userRepository;
 
     @Autowired
-    private ReviewRepository reviewRepository;
+    private ServiceSuggestIndex serviceSuggestIndex;
+
+    @Autowired
+    private ServiceSignals serviceSignals;
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
 
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> createBooking(@Valid @RequestBody BookingRequest bookingRequest,
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            System.out.println("DEBUG: Creating booking for service ID: " + bookingRequest.getServiceId());
-            System.out.println("DEBUG: User Principal: " + userPrincipal.getUsername());
-            System.out.println("DEBUG: User Authorities: " + userPrincipal.getAuthorities());
+            logger.debug("Creating booking for service ID: {}", bookingRequest.getServiceId());
+            logger.debug("User Principal: {}", userPrincipal.getUsername());
+            logger.debug("User Authorities: {}", userPrincipal.getAuthorities());
             
             // Get service
             Optional<Service> serviceOpt = serviceRepository.findByIdAndIsActiveTrue(bookingRequest.getServiceId());
             if (!serviceOpt.isPresent()) {
-                System.out.println("DEBUG: Service not found or inactive for ID: " + bookingRequest.getServiceId());
+                logger.debug("Service not found or inactive for ID: {}", bookingRequest.getServiceId());
                 return ResponseEntity.badRequest().body("Service not found or inactive");
             }
             Service service = serviceOpt.get();
-            System.out.println("DEBUG: Service found: " + service.getTitle());
+            logger.debug("Service found: {}", service.getTitle());
 
             // Get customer
             User customer = userRepository.findById(userPrincipal.getId())
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
-            System.out.println("DEBUG: Customer found: " + customer.getName() + " with role: " + customer.getRole());
+            logger.debug("Customer found: {} with role: {}", customer.getName(), customer.getRole());
 
             // Check if customer is trying to book their own service
             if (service.getProvider().getId().equals(customer.getId())) {
-                System.out.println("DEBUG: Customer trying to book their own service");
+                logger.debug("Customer trying to book their own service");
                 return ResponseEntity.badRequest().body("Cannot book your own service");
             }
 
@@ -89,15 +107,21 @@ public class BookingController {
             booking.setTimeSlot(bookingRequest.getTimeSlot());
             booking.setNotes(bookingRequest.getNotes());
             booking.setUrgencyLevel(bookingRequest.getUrgencyLevel());
+            if (bookingRequest.getDurationHours() != null) {
+                booking.setDurationHours(bookingRequest.getDurationHours());
+            }
             booking.setStatus(Booking.BookingStatus.PENDING);
             booking.setCreatedAt(LocalDateTime.now());
 
-            Booking savedBooking = bookingRepository.save(booking);
-            System.out.println("DEBUG: Booking created successfully with ID: " + savedBooking.getId());
+            Booking savedBooking = slotReservationService.reserve(booking);
+            serviceSuggestIndex.recordBooking(service.getId());
+            dashboardStatsCache.invalidate(customer.getId(), service.getProvider().getId());
+            logger.debug("Booking created successfully with ID: {}", savedBooking.getId());
             return ResponseEntity.ok(savedBooking);
+        } catch (SlotReservationService.SlotTakenException e) {
+            return slotTaken(e);
         } catch (Exception e) {
-            System.out.println("ERROR creating booking: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error creating booking", e);
             return ResponseEntity.badRequest().body("Error creating booking: " + e.getMessage());
         }
     }
@@ -192,10 +216,14 @@ public class BookingController {
                 return ResponseEntity.status(403).body("Access denied");
             }
 
-            booking.setStatus(status);
-            Booking updatedBooking = bookingRepository.save(booking);
+            Booking.BookingStatus previousStatus = booking.getStatus();
+            Booking updatedBooking = slotReservationService.updateStatus(booking, status);
+            serviceSignals.bookingStatusChanged(booking.getService().getId(), previousStatus, status);
+            dashboardStatsCache.invalidate(booking.getCustomer().getId(), booking.getProvider().getId());
             
             return ResponseEntity.ok(updatedBooking);
+        } catch (SlotReservationService.SlotTakenException e) {
+            return slotTaken(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating booking status: " + e.getMessage());
         }
@@ -225,8 +253,10 @@ public class BookingController {
                 return ResponseEntity.badRequest().body("Cannot cancel completed booking");
             }
 
-            booking.setStatus(Booking.BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
+            Booking.BookingStatus previousStatus = booking.getStatus();
+            slotReservationService.updateStatus(booking, Booking.BookingStatus.CANCELLED);
+            serviceSignals.bookingStatusChanged(booking.getService().getId(), previousStatus, Booking.BookingStatus.CANCELLED);
+            dashboardStatsCache.invalidate(booking.getCustomer().getId(), booking.getProvider().getId());
             
             return ResponseEntity.ok().body("Booking cancelled successfully");
         } catch (Exception e) {
@@ -234,87 +264,23 @@ public class BookingController {
         }
     }
 
+    // 409 with free slots of the same provider the customer can pick instead
+    private ResponseEntity<?> slotTaken(SlotReservationService.SlotTakenException e) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", e.getMessage());
+        body.put("alternatives", e.getAlternatives());
+        return ResponseEntity.status(409).body(body);
+    }
+
     @GetMapping("/dashboard-stats")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<?> getDashboardStats(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            Long totalBookings, pendingBookings, confirmedBookings, completedBookings;
-            Double totalEarnings = 0.0;
-            Long activeBookings = 0L;
-            Double avgRating = 0.0;
-            Long totalServices = 0L;
-            
-            if ("CUSTOMER".equals(user.getRole().name())) {
-                // Customer stats
-                Long customerId = userPrincipal.getId();
-                totalBookings = bookingRepository.countByCustomerId(customerId);
-                pendingBookings = bookingRepository.countByCustomerIdAndStatus(customerId, Booking.BookingStatus.PENDING);
-                confirmedBookings = bookingRepository.countByCustomerIdAndStatus(customerId, Booking.BookingStatus.CONFIRMED);
-                completedBookings = bookingRepository.countByCustomerIdAndStatus(customerId, Booking.BookingStatus.COMPLETED);
-                activeBookings = pendingBookings + confirmedBookings;
-            } else {
-                // Provider stats
-                Long providerId = userPrincipal.getId();
-                totalBookings = bookingRepository.countByProviderId(providerId);
-                pendingBookings = bookingRepository.countByProviderIdAndStatus(providerId, Booking.BookingStatus.PENDING);
-                confirmedBookings = bookingRepository.countByProviderIdAndStatus(providerId, Booking.BookingStatus.CONFIRMED);
-                completedBookings = bookingRepository.countByProviderIdAndStatus(providerId, Booking.BookingStatus.COMPLETED);
-                activeBookings = pendingBookings + confirmedBookings;
-                
-                // Calculate earnings from completed bookings
-                totalEarnings = bookingRepository.findByProviderIdAndStatus(providerId, Booking.BookingStatus.COMPLETED, null)
-                    .getContent()
-                    .stream()
-                    .mapToDouble(booking -> booking.getService().getPrice().doubleValue())
-                    .sum();
-                
-                // Get rating information
-                Double averageRating = reviewRepository.findAverageRatingByProviderId(providerId);
-                avgRating = averageRating != null ? averageRating : 0.0;
-                
-                // Get total services count
-                totalServices = serviceRepository.countByProviderIdAndIsActiveTrue(providerId);
-            }
-            
-            return ResponseEntity.ok(new BookingStats(totalBookings, pendingBookings, confirmedBookings, completedBookings, activeBookings, totalEarnings, avgRating, totalServices));
+            boolean customer = userPrincipal.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_CUSTOMER"));
+            return ResponseEntity.ok(dashboardStatsCache.get(userPrincipal.getId(), customer));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching dashboard stats: " + e.getMessage());
         }
     }
-
-    // Inner class for stats response
-    public static class BookingStats {
-        private final Long totalBookings;
-        private final Long pendingBookings;
-        private final Long confirmedBookings;
-        private final Long completedBookings;
-        private final Long activeBookings;
-        private final Double totalEarnings;
-        private final Double avgRating;
-        private final Long totalServices;
-
-        public BookingStats(Long totalBookings, Long pendingBookings, Long confirmedBookings, Long completedBookings, Long activeBookings, Double totalEarnings, Double avgRating, Long totalServices) {
-            this.totalBookings = totalBookings;
-            this.pendingBookings = pendingBookings;
-            this.confirmedBookings = confirmedBookings;
-            this.completedBookings = completedBookings;
-            this.activeBookings = activeBookings;
-            this.totalEarnings = totalEarnings;
-            this.avgRating = avgRating;
-            this.totalServices = totalServices;
-        }
-
-        // Getters
-        public Long getTotalBookings() { return totalBookings; }
-        public Long getPendingBookings() { return pendingBookings; }
-        public Long getConfirmedBookings() { return confirmedBookings; }
-        public Long getCompletedBookings() { return completedBookings; }
-        public Long getActiveBookings() { return activeBookings; }
-        public Double getTotalEarnings() { return totalEarnings; }
-        public Double getAvgRating() { return avgRating; }
-        public Long getTotalServices() { return totalServices; }
-    }
-}
\ No newline at end of file
+}
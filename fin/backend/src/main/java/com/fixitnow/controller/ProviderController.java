@@ -0,0 +1,259 @@
+package com.fixitnow.controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fixitnow.dto.ServiceAreaRequest;
+import com.fixitnow.geo.GeoMath;
+import com.fixitnow.index.ProviderCalendarIndex;
+import com.fixitnow.index.ProviderCoverageIndex;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.model.AvailabilitySlots;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.ServiceArea;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ServiceAreaRepository;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.ServiceAreaService;
+
+@RestController
+@RequestMapping("/providers")
+@CrossOrigin(origins = "*")
+public class ProviderController {
+
+    private static final int MAX_AREAS_PER_PROVIDER = 10;
+    private static final double MAX_AREA_RADIUS_KM = 100;
+    private static final int MAX_POLYGON_VERTICES = 64;
+    private static final double MAX_POLYGON_SPAN_DEGREES = 2; // ~220 km, a large metro area
+    private static final int MAX_COVERING = 200;
+    private static final int MAX_CALENDAR_DAYS = 31;
+
+    @Autowired
+    private ServiceAreaRepository serviceAreaRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProviderCoverageIndex providerCoverageIndex;
+
+    @Autowired
+    private ServiceAreaService serviceAreaService;
+
+    @Autowired
+    private ProviderCalendarIndex providerCalendarIndex;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    // Active providers whose service areas cover the point, nearest area center first
+    @GetMapping("/covering")
+    public ResponseEntity<?> getCoveringProviders(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            if (!GeoMath.isValid(lat, lng)) {
+                return ResponseEntity.badRequest().body("Error fetching covering providers: invalid coordinates");
+            }
+            if (limit < 1 || limit > MAX_COVERING) {
+                return ResponseEntity.badRequest().body("Error fetching covering providers: limit must be between 1 and " + MAX_COVERING);
+            }
+            // Categories come from the catalog, so until it is indexed the database answers
+            List<Long> providerIds = serviceCatalog.isReady()
+                ? providerCoverageIndex.covering(lat, lng, category)
+                : findCoveringProviders(lat, lng, category);
+            return ResponseEntity.ok(findActiveProvidersInOrder(providerIds, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching covering providers: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/service-areas")
+    public ResponseEntity<?> getServiceAreas(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(serviceAreaRepository.findByProviderIdOrderByIdAsc(id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching service areas: " + e.getMessage());
+        }
+    }
+
+    // Bookable one-hour starts from..to (default the coming week), optionally of one service only
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<?> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long serviceId) {
+        try {
+            LocalDate today = LocalDate.now();
+            LocalDate first = from == null || from.isBefore(today) ? today : from;
+            LocalDate last = to != null ? to : first.plusDays(6);
+            if (last.isBefore(first) || last.isAfter(first.plusDays(MAX_CALENDAR_DAYS - 1))) {
+                return ResponseEntity.badRequest().body("Error fetching free slots: range must cover 1 to " + MAX_CALENDAR_DAYS + " days from today on");
+            }
+            // Availability comes from the catalog, so until it is indexed the database answers
+            long[] week = serviceCatalog.isReady()
+                ? providerCalendarIndex.week(id, serviceId)
+                : findWeek(id, serviceId);
+            if (week == null) {
+                return serviceId != null ? ResponseEntity.notFound().build() : ResponseEntity.ok(new ArrayList<>());
+            }
+            return ResponseEntity.ok(providerCalendarIndex.freeSlots(id, week, first, last));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching free slots: " + e.getMessage());
+        }
+    }
+
+    // Replaces all of the provider's service areas; an empty list clears them
+    @PutMapping("/{id}/service-areas")
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> updateServiceAreas(@PathVariable Long id,
+                                                @RequestBody List<ServiceAreaRequest> requests,
+                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            if (!id.equals(userPrincipal.getId()) &&
+                !userPrincipal.getAuthorities().stream()
+                    .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+                return ResponseEntity.status(403).body("Access denied");
+            }
+            User provider = userRepository.findById(id).orElse(null);
+            if (provider == null || provider.getRole() != User.Role.PROVIDER) {
+                return ResponseEntity.notFound().build();
+            }
+            if (requests.size() > MAX_AREAS_PER_PROVIDER) {
+                return ResponseEntity.badRequest().body("Error updating service areas: at most " + MAX_AREAS_PER_PROVIDER + " areas per provider");
+            }
+
+            // Validate everything before touching the stored areas
+            List<ServiceArea> areas = new ArrayList<>();
+            for (ServiceAreaRequest request : requests) {
+                areas.add(toServiceArea(id, request));
+            }
+
+            List<ServiceArea> saved = serviceAreaService.replaceAreas(id, areas);
+            return ResponseEntity.ok(saved);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error updating service areas: " + e.getMessage());
+        }
+    }
+
+    private ServiceArea toServiceArea(Long providerId, ServiceAreaRequest request) {
+        ServiceArea area = new ServiceArea();
+        area.setProviderId(providerId);
+        if ("CIRCLE".equalsIgnoreCase(request.getShape())) {
+            if (!GeoMath.isValid(request.getLatitude(), request.getLongitude())) {
+                throw new IllegalArgumentException("circle needs a valid latitude and longitude");
+            }
+            if (request.getRadiusKm() == null || request.getRadiusKm() <= 0 || request.getRadiusKm() > MAX_AREA_RADIUS_KM) {
+                throw new IllegalArgumentException("radiusKm must be above 0 and at most " + (int) MAX_AREA_RADIUS_KM);
+            }
+            area.setShape(ServiceArea.Shape.CIRCLE);
+            area.setCenterLat(request.getLatitude());
+            area.setCenterLng(request.getLongitude());
+            area.setRadiusKm(request.getRadiusKm());
+        } else if ("POLYGON".equalsIgnoreCase(request.getShape())) {
+            List<List<Double>> vertices = request.getVertices();
+            if (vertices == null || vertices.size() < 3 || vertices.size() > MAX_POLYGON_VERTICES) {
+                throw new IllegalArgumentException("polygon needs between 3 and " + MAX_POLYGON_VERTICES + " vertices");
+            }
+            StringBuilder text = new StringBuilder();
+            for (List<Double> vertex : vertices) {
+                if (vertex == null || vertex.size() != 2 || !GeoMath.isValid(vertex.get(0), vertex.get(1))) {
+                    throw new IllegalArgumentException("polygon vertices must be valid [lat, lng] pairs");
+                }
+                if (text.length() > 0) {
+                    text.append(';');
+                }
+                text.append(vertex.get(0)).append(',').append(vertex.get(1));
+            }
+            area.setShape(ServiceArea.Shape.POLYGON);
+            area.setVertexText(text.toString());
+            double[] bounds = area.bounds();
+            if (bounds[1] - bounds[0] > MAX_POLYGON_SPAN_DEGREES || bounds[3] - bounds[2] > MAX_POLYGON_SPAN_DEGREES) {
+                throw new IllegalArgumentException("polygon may span at most " + (int) MAX_POLYGON_SPAN_DEGREES + " degrees");
+            }
+        } else {
+            throw new IllegalArgumentException("shape must be CIRCLE or POLYGON");
+        }
+        return area;
+    }
+
+    // Coverage from the bounding box index on service_areas, used while the catalog warms up
+    private List<Long> findCoveringProviders(double lat, double lng, String category) {
+        Map<Long, Double> distances = new HashMap<>();
+        for (ServiceArea area : serviceAreaRepository.findBoxesContaining(lat, lng)) {
+            if (area.contains(lat, lng)) {
+                double[] center = area.center();
+                distances.merge(area.getProviderId(), GeoMath.distanceKm(lat, lng, center[0], center[1]), Math::min);
+            }
+        }
+        if (category != null && !category.isBlank() && !distances.isEmpty()) {
+            distances.keySet().retainAll(serviceRepository.findProvidersOffering(distances.keySet(), category.trim()));
+        }
+        List<Long> providerIds = new ArrayList<>(distances.keySet());
+        providerIds.sort(Comparator.comparingDouble((Long providerId) -> distances.get(providerId)).thenComparing(providerId -> providerId));
+        return providerIds;
+    }
+
+    // Weekly availability of the provider's active services from the database, as in the index
+    private long[] findWeek(Long providerId, Long serviceId) {
+        long[] union = null;
+        for (Service service : serviceRepository.findActiveServicesByProvider(providerId)) {
+            if (Boolean.TRUE.equals(service.getIsDeleted()) || (serviceId != null && !serviceId.equals(service.getId()))) {
+                continue;
+            }
+            long[] week = (service.getAvailabilitySlots() != null ? service.getAvailabilitySlots()
+                : AvailabilitySlots.compile(service.getAvailability())).toArray();
+            union = union == null ? new long[7] : union;
+            for (int d = 0; d < 7; d++) {
+                union[d] |= week[d];
+            }
+        }
+        return union;
+    }
+
+    // Loads providers in the given order, skipping deactivated and deleted accounts
+    private List<User> findActiveProvidersInOrder(List<Long> providerIds, int limit) {
+        List<User> providers = new ArrayList<>();
+        for (int from = 0; from < providerIds.size() && providers.size() < limit; from += limit) {
+            List<Long> chunk = providerIds.subList(from, Math.min(providerIds.size(), from + limit));
+            Map<Long, User> byId = new HashMap<>();
+            for (User user : userRepository.findAllById(chunk)) {
+                byId.put(user.getId(), user);
+            }
+            for (Long providerId : chunk) {
+                User user = byId.get(providerId);
+                if (user != null && !Boolean.FALSE.equals(user.getIsActive()) && !Boolean.TRUE.equals(user.getIsDeleted())
+                        && providers.size() < limit) {
+                    providers.add(user);
+                }
+            }
+        }
+        return providers;
+    }
+}
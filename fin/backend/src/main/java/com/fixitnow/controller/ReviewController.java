@@ -23,6 +23,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.fixitnow.dto.ReviewRequest;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.index.ServiceSignals;
 import com.fixitnow.model.Booking;
 import com.fixitnow.model.Review;
 import com.fixitnow.repository.BookingRepository;
@@ -42,6 +44,12 @@ public class ReviewController {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private ServiceSignals serviceSignals;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('ADMIN')")
     public ResponseEntity<?> createReview(@Valid @RequestBody ReviewRequest reviewRequest,
@@ -80,6 +88,8 @@ public class ReviewController {
             review.setCreatedAt(LocalDateTime.now());
 
             Review savedReview = reviewRepository.save(review);
+            serviceSignals.reviewChanged(booking.getProvider().getId(), null, savedReview.getRating());
+            serviceCatalog.providerChanged(); // provider rating shown on service cards
             return ResponseEntity.ok(savedReview);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error creating review: " + e.getMessage());
@@ -187,10 +197,13 @@ public class ReviewController {
                 return ResponseEntity.status(403).body("Access denied");
             }
 
+            Integer previousRating = review.getRating();
             review.setRating(reviewRequest.getRating());
             review.setComment(reviewRequest.getComment());
 
             Review updatedReview = reviewRepository.save(review);
+            serviceSignals.reviewChanged(review.getProvider().getId(), previousRating, updatedReview.getRating());
+            serviceCatalog.providerChanged();
             return ResponseEntity.ok(updatedReview);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating review: " + e.getMessage());
@@ -217,6 +230,8 @@ public class ReviewController {
             }
 
             reviewRepository.delete(review);
+            serviceSignals.reviewChanged(review.getProvider().getId(), review.getRating(), null);
+            serviceCatalog.providerChanged();
             return ResponseEntity.ok().body("Review deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error deleting review: " + e.getMessage());
@@ -1,15 +1,33 @@
 package com.fixitnow.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,18 +39,41 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fixitnow.dto.CursorPage;
+import com.fixitnow.dto.MapClusterDTO;
+import com.fixitnow.dto.MarkerFeed;
+import com.fixitnow.dto.ServiceCardDTO;
 import com.fixitnow.dto.ServiceRequest;
+import com.fixitnow.index.Gazetteer;
+import com.fixitnow.index.LocalityDictionary;
+import com.fixitnow.index.ServiceAvailabilityIndex;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.index.ServiceClusterIndex;
+import com.fixitnow.index.ServiceFacetIndex;
+import com.fixitnow.index.ServiceFilterCache;
+import com.fixitnow.index.ServicePriceIndex;
+import com.fixitnow.index.ServiceSearchIndex;
+import com.fixitnow.index.ServiceSpatialIndex;
+import com.fixitnow.index.ServiceSuggestIndex;
+import com.fixitnow.index.ServiceTaxonomyCache;
 import com.fixitnow.model.Service;
 import com.fixitnow.model.User;
+import com.fixitnow.repository.AvailabilityQuery;
+import com.fixitnow.repository.ServiceCursor;
+import com.fixitnow.repository.ServiceFilter;
 import com.fixitnow.repository.ServiceRepository;
 import com.fixitnow.repository.UserRepository;
 import com.fixitnow.security.UserPrincipal;
+import com.fixitnow.service.ServiceImportService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 
@@ -41,48 +82,173 @@ import jakarta.validation.Valid;
 @CrossOrigin(origins = "http://localhost:3000", methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.PATCH, RequestMethod.DELETE, RequestMethod.OPTIONS})
 public class ServiceController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ServiceController.class);
+
+    private static final String SORT_RELEVANCE = "relevance";
+
+    // Price and availability matches up to this many services are applied as a primary-key restriction
+    private static final int ID_RESTRICTION_LIMIT = 1000;
+
+    private static final int MAX_NEAREST = 100;
+
     @Autowired
     private ServiceRepository serviceRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Autowired
+    private ServiceSearchIndex serviceSearchIndex;
+
+    @Autowired
+    private ServiceFacetIndex serviceFacetIndex;
+
+    @Autowired
+    private ServiceSuggestIndex serviceSuggestIndex;
+
+    @Autowired
+    private ServiceTaxonomyCache serviceTaxonomyCache;
+
+    @Autowired
+    private ServiceFilterCache serviceFilterCache;
+
+    @Autowired
+    private LocalityDictionary localityDictionary;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private ServiceImportService serviceImportService;
+
+    @Autowired
+    private ServicePriceIndex servicePriceIndex;
+
+    @Autowired
+    private ServiceAvailabilityIndex serviceAvailabilityIndex;
+
+    @Autowired
+    private ServiceSpatialIndex serviceSpatialIndex;
+
+    @Autowired
+    private ServiceClusterIndex serviceClusterIndex;
+
     @GetMapping
     public ResponseEntity<?> getAllServices(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String subcategory,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String search) {
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String availableOn,
+            @RequestParam(required = false) String availableAt,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         try {
-            Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortBy);
+            // Conditional GET on the catalog version, checked before any query. The version is read
+            // first, so a write landing mid-request can only make the tag older than the body.
+            String etag = serviceCatalog.getCatalogEtag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            ServiceFilter filter = localityDictionary.narrow(ServiceFilter.publicListing(category, subcategory, location));
+            filter.setMinPrice(minPrice);
+            filter.setMaxPrice(maxPrice);
+            boolean searching = search != null && !search.trim().isEmpty();
+
+            // Price ranges are answered by the sorted price index: an empty range needs no query and a
+            // narrow one becomes an id restriction. Wide ranges keep the SQL price predicate.
+            if (filter.hasPriceRange() && serviceCatalog.isReady()) {
+                int priced = servicePriceIndex.count(category, minPrice, maxPrice);
+                if (priced == 0) {
+                    return catalogResponse(etag, emptyPage(cursor, page, size));
+                }
+                if (priced <= ID_RESTRICTION_LIMIT) {
+                    filter.restrictIds(servicePriceIndex.ids(category, minPrice, maxPrice));
+                }
+            }
+
+            // Availability is tested against the compiled weekly bitmaps in memory. Up to the limit the
+            // matches become an id restriction; beyond it, or while warming up, SQL tests the slot columns.
+            AvailabilityQuery availability = AvailabilityQuery.parse(availableOn, availableAt);
+            if (availability != null) {
+                List<Long> available = serviceCatalog.isReady()
+                    ? serviceAvailabilityIndex.matching(availability, ID_RESTRICTION_LIMIT) : null;
+                if (available != null) {
+                    filter.restrictIds(available);
+                } else {
+                    filter.setAvailability(availability);
+                }
+            }
+
+            // Searches are ranked by relevance unless a sort column is requested explicitly
+            boolean byRelevance = sortBy == null || SORT_RELEVANCE.equals(sortBy);
+            String sortField = byRelevance ? "createdAt" : sortBy;
+            if (searching && byRelevance && cursor == null && serviceCatalog.isReady()) {
+                List<Long> ranked = serviceSearchIndex.rank(search);
+                if (ranked != null) {
+                    return catalogResponse(etag, findRankedPage(ranked, filter, page, size));
+                }
+            }
+
+            // Keyset mode for infinite scroll: pass cursor= (empty) for the first page, then echo "next"
+            if (searching) {
+                // Resolve keywords from the inverted index; LIKE scan only while it is warming up. A broad
+                // term is not bound as thousands of ids: past the limit SQL matches it, unless a narrower
+                // restriction is already in place to intersect with in memory.
+                Set<Long> matchingIds = serviceCatalog.isReady() ? serviceSearchIndex.search(search) : null;
+                if (matchingIds == null || (matchingIds.size() > ID_RESTRICTION_LIMIT && filter.getIds() == null)) {
+                    filter.setSearch(search.trim());
+                } else {
+                    filter.restrictIds(matchingIds);
+                }
+            }
+            if (filter.getIds() != null && filter.getIds().isEmpty()) {
+                return catalogResponse(etag, emptyPage(cursor, page, size));
+            }
+
+            if (cursor != null) {
+                return catalogResponse(etag, findCardCursorPage(filter, cursor, sortField, sortDir, size));
+            }
+
+            Sort sort = Sort.by(Sort.Direction.fromString(sortDir), sortField);
             Pageable pageable = PageRequest.of(page, size, sort);
             
-            Page<Service> services;
-            
-            if (search != null && !search.trim().isEmpty()) {
-                services = serviceRepository.findBySearchCriteria(
-                    search.trim(), category, subcategory, location, pageable);
-            } else {
-                services = serviceRepository.findByFilterCriteria(
-                    category, subcategory, location, pageable);
-            }
+            // List views get card projections; the full entity is only served by /services/{id}
+            Page<ServiceCardDTO> services = searching || filter.hasPriceRange() || availability != null
+                ? serviceRepository.findCards(filter, pageable)
+                : serviceFilterCache.findByFilterCriteria(category, subcategory, location, pageable);
             
-            return ResponseEntity.ok(services);
+            return catalogResponse(etag, services);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching services: " + e.getMessage());
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getServiceById(@PathVariable Long id) {
+    public ResponseEntity<?> getServiceById(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Unchanged since the client's copy: answered from the indexed version, no query
+        String indexedEtag = serviceCatalog.getServiceEtag(id);
+        if (indexedEtag != null && isNotModified(ifNoneMatch, indexedEtag)) {
+            return notModified(indexedEtag);
+        }
+
         Optional<Service> service = serviceRepository.findByIdAndIsActiveTrue(id);
         if (service.isPresent()) {
-            return ResponseEntity.ok(service.get());
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(serviceCatalog.getServiceEtag(service.get()))
+                .body(service.get());
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -94,24 +260,24 @@ public class ServiceController {
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
             if (userPrincipal == null) {
-                System.out.println("ERROR: UserPrincipal is null - user not authenticated");
+                logger.debug("UserPrincipal is null - user not authenticated");
                 return ResponseEntity.status(401).body("User not authenticated");
             }
             
-            System.out.println("DEBUG ServiceController - UserPrincipal: " + userPrincipal);
-            System.out.println("DEBUG ServiceController - UserPrincipal ID: " + userPrincipal.getId());
-            System.out.println("DEBUG ServiceController - UserPrincipal Email: " + userPrincipal.getUsername());
-            System.out.println("DEBUG ServiceController - UserPrincipal Authorities: " + userPrincipal.getAuthorities());
+            logger.debug("UserPrincipal: {}", userPrincipal);
+            logger.debug("UserPrincipal ID: {}", userPrincipal.getId());
+            logger.debug("UserPrincipal Email: {}", userPrincipal.getUsername());
+            logger.debug("UserPrincipal Authorities: {}", userPrincipal.getAuthorities());
             
             // Fetch user fresh from database to get latest role
             User provider = userRepository.findById(userPrincipal.getId())
                 .orElseThrow(() -> new RuntimeException("Provider not found"));
             
-            System.out.println("DEBUG: User role from database: " + provider.getRole());
+            logger.debug("User role from database: {}", provider.getRole());
             
             // Verify user has PROVIDER or ADMIN role
             if (!provider.getRole().equals(User.Role.PROVIDER) && !provider.getRole().equals(User.Role.ADMIN)) {
-                System.out.println("ERROR: User " + userPrincipal.getUsername() + " has role " + provider.getRole() + " which is not PROVIDER or ADMIN");
+                logger.debug("User {} has role {} which is not PROVIDER or ADMIN", userPrincipal.getUsername(), provider.getRole());
                 return ResponseEntity.status(403).body("Permission denied. You need PROVIDER role to create services.");
             }
 
@@ -122,8 +288,10 @@ public class ServiceController {
             service.setSubcategory(serviceRequest.getSubcategory());
             service.setPrice(serviceRequest.getPrice());
             service.setLocation(serviceRequest.getLocation());
+            localityDictionary.applyTo(service);
             service.setLatitude(serviceRequest.getLatitude());
             service.setLongitude(serviceRequest.getLongitude());
+            gazetteer.applyTo(service);
             service.setAvailability(serviceRequest.getAvailability());
             service.setServiceImages(serviceRequest.getServiceImages());
             service.setProvider(provider);
@@ -131,15 +299,39 @@ public class ServiceController {
             service.setCreatedAt(LocalDateTime.now());
 
             Service savedService = serviceRepository.save(service);
-            System.out.println("DEBUG: Service created successfully with ID: " + savedService.getId());
+            serviceCatalog.serviceSaved(savedService);
+            logger.debug("Service created successfully with ID: {}", savedService.getId());
             return ResponseEntity.ok(savedService);
         } catch (Exception e) {
-            System.out.println("ERROR creating service: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error creating service", e);
             return ResponseEntity.badRequest().body("Error creating service: " + e.getMessage());
         }
     }
 
+    // Bulk create: NDJSON (application/x-ndjson) or CSV with a header row (text/csv), read as a stream.
+    // Providers import their own services; admins set providerId or providerEmail on each row.
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> importServices(HttpServletRequest request,
+                                            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            User caller = userRepository.findById(userPrincipal.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+            if (!caller.getRole().equals(User.Role.PROVIDER) && !caller.getRole().equals(User.Role.ADMIN)) {
+                return ResponseEntity.status(403).body("Permission denied. You need PROVIDER role to import services.");
+            }
+
+            boolean csv = request.getContentType().toLowerCase().startsWith("text/csv");
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+                return ResponseEntity.ok(serviceImportService.importServices(reader, csv, caller));
+            }
+        } catch (Exception e) {
+            logger.warn("Error importing services", e);
+            return ResponseEntity.badRequest().body("Error importing services: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<?> updateService(@PathVariable Long id,
@@ -170,12 +362,16 @@ public class ServiceController {
             service.setSubcategory(serviceRequest.getSubcategory());
             service.setPrice(serviceRequest.getPrice());
             service.setLocation(serviceRequest.getLocation());
+            localityDictionary.applyTo(service);
             service.setLatitude(serviceRequest.getLatitude());
             service.setLongitude(serviceRequest.getLongitude());
+            service.setCoordinatesGeocoded(false);
+            gazetteer.applyTo(service);
             service.setAvailability(serviceRequest.getAvailability());
             service.setServiceImages(serviceRequest.getServiceImages());
 
             Service updatedService = serviceRepository.save(service);
+            serviceCatalog.serviceSaved(updatedService);
             return ResponseEntity.ok(updatedService);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating service: " + e.getMessage());
@@ -188,14 +384,20 @@ public class ServiceController {
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<?> getMyServices(@AuthenticationPrincipal UserPrincipal userPrincipal,
                                          @RequestParam(defaultValue = "0") int page,
-                                         @RequestParam(defaultValue = "10") int size) {
+                                         @RequestParam(defaultValue = "10") int size,
+                                         @RequestParam(required = false) String cursor) {
         try {
             if (userPrincipal == null) {
                 return ResponseEntity.status(401).body("User not authenticated");
             }
             
-            System.out.println("DEBUG /my-services - UserPrincipal: " + userPrincipal);
-            System.out.println("DEBUG /my-services - UserPrincipal ID: " + userPrincipal.getId());
+            if (cursor != null) {
+                return ResponseEntity.ok(findCursorPage(
+                    ServiceFilter.providerListing(userPrincipal.getId()), cursor, "createdAt", "desc", size));
+            }
+            
+            logger.debug("UserPrincipal: {}", userPrincipal);
+            logger.debug("UserPrincipal ID: {}", userPrincipal.getId());
             
             Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
             
@@ -204,20 +406,128 @@ public class ServiceController {
             Page<Service> services = serviceRepository.findByProviderIdAndIsDeletedFalse(
                 userPrincipal.getId(), pageable);
             
-            System.out.println("DEBUG /my-services - Found " + services.getTotalElements() + " non-deleted services for provider " + userPrincipal.getId());
+            logger.debug("Found {} non-deleted services for provider {}", services.getTotalElements(), userPrincipal.getId());
             
             return ResponseEntity.ok(services);
         } catch (Exception e) {
-            System.out.println("DEBUG /my-services - Error: " + e.getMessage());
+            logger.warn("Error fetching provider services", e);
             return ResponseEntity.badRequest().body("Error fetching your services: " + e.getMessage());
         }
     }
 
+    // Pages through ids in ranking order; listing filters cost one id-only query, applied in memory.
+    // Past ID_RESTRICTION_LIMIT the ranked ids are not bound: the query runs on the filters alone.
+    private Page<ServiceCardDTO> findRankedPage(List<Long> ranked, ServiceFilter filter, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        if (filter.hasListingFilters() && !ranked.isEmpty()) {
+            if (filter.getIds() != null || ranked.size() <= ID_RESTRICTION_LIMIT) {
+                filter.restrictIds(ranked);
+            }
+            Set<Long> allowed = filter.getIds() != null && filter.getIds().isEmpty()
+                ? Set.of() : new HashSet<>(serviceRepository.findIds(filter));
+            ranked = ranked.stream().filter(allowed::contains).collect(Collectors.toList());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + size, ranked.size());
+        return new PageImpl<>(serviceRepository.findCardsByIds(ranked.subList(from, to)), pageable, ranked.size());
+    }
+
+    // Entities for ids from an in-memory index, in the index's order, loaded in chunks of ID_RESTRICTION_LIMIT
+    private List<Service> findServicesInOrder(List<Long> ids) {
+        Map<Long, Service> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_RESTRICTION_LIMIT) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + ID_RESTRICTION_LIMIT));
+            for (Service service : serviceRepository.findWithProviderByIdIn(chunk)) {
+                byId.put(service.getId(), service);
+            }
+        }
+        List<Service> ordered = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            Service service = byId.get(id);
+            if (service != null) {
+                ordered.add(service);
+            }
+        }
+        return ordered;
+    }
+
+    // 200 tagged with the catalog version; no-cache makes clients revalidate with If-None-Match
+    private ResponseEntity<Object> catalogResponse(String etag, Object body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).eTag(etag).build();
+    }
+
+    // Weak comparison, as RFC 9110 specifies for If-None-Match
+    private static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String quoted = "\"" + etag + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Empty result in the shape the caller asked for: keyset page with a cursor, offset page without
+    private Object emptyPage(String cursor, int page, int size) {
+        return cursor != null
+            ? new CursorPage<>(List.of(), null, size)
+            : new PageImpl<>(List.of(), PageRequest.of(page, size), 0);
+    }
+
+    // Fetches one extra row to learn whether another page exists, so no COUNT query is needed
+    private CursorPage<Service> findCursorPage(ServiceFilter filter, String cursor,
+                                               String sortBy, String sortDir, int size) {
+        ServiceCursor position = cursorPosition(cursor, sortBy, sortDir, size);
+        List<Service> rows = serviceRepository.findPageAfter(filter, position, size + 1);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = position.after(rows.get(size - 1)).encode();
+        }
+        return new CursorPage<>(rows, next, size);
+    }
+
+    private CursorPage<ServiceCardDTO> findCardCursorPage(ServiceFilter filter, String cursor,
+                                                          String sortBy, String sortDir, int size) {
+        ServiceCursor position = cursorPosition(cursor, sortBy, sortDir, size);
+        List<ServiceCardDTO> rows = serviceRepository.findCardPageAfter(filter, position, size + 1);
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            next = position.after(rows.get(size - 1)).encode();
+        }
+        return new CursorPage<>(rows, next, size);
+    }
+
+    private ServiceCursor cursorPosition(String cursor, String sortBy, String sortDir, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be at least 1");
+        }
+        return cursor.isEmpty()
+            ? ServiceCursor.first(sortBy, sortDir)
+            : ServiceCursor.decode(cursor);
+    }
+
+    // Taxonomy reads are served from memory; a matching If-None-Match gets a 304 with no body
     @GetMapping("/categories")
     public ResponseEntity<?> getCategories() {
         try {
-            List<String> categories = serviceRepository.findDistinctCategories();
-            return ResponseEntity.ok(categories);
+            ServiceTaxonomyCache.Taxonomy taxonomy = serviceTaxonomyCache.current();
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(taxonomy.getEtag())
+                .body(taxonomy.getCategories());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching categories: " + e.getMessage());
         }
@@ -226,43 +536,112 @@ public class ServiceController {
     @GetMapping("/categories/{category}/subcategories")
     public ResponseEntity<?> getSubcategories(@PathVariable String category) {
         try {
-            List<String> subcategories = serviceRepository.findDistinctSubcategoriesByCategory(category);
-            return ResponseEntity.ok(subcategories);
+            ServiceTaxonomyCache.Taxonomy taxonomy = serviceTaxonomyCache.current();
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(taxonomy.getEtag())
+                .body(taxonomy.getSubcategories(category));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching subcategories: " + e.getMessage());
         }
     }
 
+    // Category -> subcategory counts and location buckets for the current filter in one call
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(@RequestParam(required = false) String category,
+                                       @RequestParam(required = false) String subcategory,
+                                       @RequestParam(required = false) String location,
+                                       @RequestParam(required = false) String search,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = serviceCatalog.getCatalogEtag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            if (!serviceCatalog.isReady()) {
+                ServiceFilter filter = localityDictionary.narrow(ServiceFilter.publicListing(category, subcategory, location));
+                return catalogResponse(etag, ServiceFacetIndex.fromGroupedCounts(serviceRepository.countByFacetCriteria(
+                    category, subcategory, filter.getCityId(), filter.getLocalityId(), filter.getLocation())));
+            }
+            Set<Long> matchingIds = null;
+            if (search != null && !search.trim().isEmpty()) {
+                matchingIds = serviceSearchIndex.search(search);
+                if (matchingIds == null) {
+                    // No indexable terms: match with LIKE, as the listing does
+                    ServiceFilter filter = ServiceFilter.publicListing(null, null, null);
+                    filter.setSearch(search.trim());
+                    matchingIds = new HashSet<>(serviceRepository.findIds(filter));
+                }
+            }
+            return catalogResponse(etag, serviceFacetIndex.facets(category, subcategory, location, matchingIds));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching facets: " + e.getMessage());
+        }
+    }
+
+    // Price buckets for the range slider, optionally zoomed to [minPrice, maxPrice]
+    @GetMapping("/price-histogram")
+    public ResponseEntity<?> getPriceHistogram(@RequestParam(required = false) String category,
+                                               @RequestParam(required = false) BigDecimal minPrice,
+                                               @RequestParam(required = false) BigDecimal maxPrice,
+                                               @RequestParam(defaultValue = "10") int buckets,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = serviceCatalog.getCatalogEtag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            if (!serviceCatalog.isReady()) {
+                return catalogResponse(etag, ServicePriceIndex.fromSortedPrices(
+                    serviceRepository.findActivePrices(category, minPrice, maxPrice), buckets));
+            }
+            return catalogResponse(etag, servicePriceIndex.histogram(category, minPrice, maxPrice, buckets));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching price histogram: " + e.getMessage());
+        }
+    }
+
+    // Search-box autocomplete, answered from the in-memory trie without touching the database
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam String q,
+                                     @RequestParam(defaultValue = "8") int limit) {
+        try {
+            return ResponseEntity.ok(serviceSuggestIndex.suggest(q, Math.min(Math.max(limit, 1), 10)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching suggestions: " + e.getMessage());
+        }
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<?> updateServiceStatus(@PathVariable Long id, 
                                                @RequestBody Map<String, Object> request,
                                                @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            System.out.println("DEBUG: Received status update request for service " + id);
-            System.out.println("DEBUG: Request body: " + request);
-            System.out.println("DEBUG: User principal: " + (userPrincipal != null ? userPrincipal.getId() : "null"));
+            logger.debug("Received status update request for service {}", id);
+            logger.debug("Request body: {}", request);
+            logger.debug("User principal: {}", (userPrincipal != null ? userPrincipal.getId() : "null"));
             
             if (userPrincipal == null) {
-                System.out.println("DEBUG: User not authenticated");
+                logger.debug("User not authenticated");
                 return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
             }
             
             Optional<Service> serviceOpt = serviceRepository.findById(id);
             if (!serviceOpt.isPresent()) {
-                System.out.println("DEBUG: Service not found with id: " + id);
+                logger.debug("Service not found with id: {}", id);
                 return ResponseEntity.status(404).body(Map.of("error", "Service not found"));
             }
             
             Service service = serviceOpt.get();
-            System.out.println("DEBUG: Found service: " + service.getTitle() + " (current status: " + service.getIsActive() + ")");
-            System.out.println("DEBUG: Service provider ID: " + service.getProvider().getId());
+            logger.debug("Found service: {} (current status: {})", service.getTitle(), service.getIsActive());
+            logger.debug("Service provider ID: {}", service.getProvider().getId());
             
             // Check if user is the owner of the service or admin
             if (!service.getProvider().getId().equals(userPrincipal.getId()) && 
                 !userPrincipal.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                System.out.println("DEBUG: Access denied - user " + userPrincipal.getId() + " is not owner of service");
+                logger.debug("Access denied - user {} is not owner of service", userPrincipal.getId());
                 return ResponseEntity.status(403).body(Map.of("error", "You can only update your own services"));
             }
             
@@ -271,8 +650,8 @@ public class ServiceController {
             Object activeValue = request.get("active");
             Object isActiveValue = request.get("isActive");
             
-            System.out.println("DEBUG: 'active' value: " + activeValue + " (type: " + (activeValue != null ? activeValue.getClass() : "null") + ")");
-            System.out.println("DEBUG: 'isActive' value: " + isActiveValue + " (type: " + (isActiveValue != null ? isActiveValue.getClass() : "null") + ")");
+            logger.debug("'active' value: {} (type: {})", activeValue, (activeValue != null ? activeValue.getClass() : "null"));
+            logger.debug("'isActive' value: {} (type: {})", isActiveValue, (isActiveValue != null ? isActiveValue.getClass() : "null"));
             
             // More robust boolean parsing
             if (activeValue != null) {
@@ -293,20 +672,21 @@ public class ServiceController {
                 }
             }
             
-            System.out.println("DEBUG: Parsed isActive value: " + isActive);
+            logger.debug("Parsed isActive value: {}", isActive);
             
             if (isActive == null) {
-                System.out.println("DEBUG: No valid active status provided");
+                logger.debug("No valid active status provided");
                 return ResponseEntity.badRequest().body(Map.of("error", "Active status is required"));
             }
             
             // Log the status change for debugging
-            System.out.println("DEBUG: Updating service " + id + " status from " + service.getIsActive() + " to " + isActive);
+            logger.debug("Updating service {} status from {} to {}", id, service.getIsActive(), isActive);
             
             service.setIsActive(isActive);
             Service updatedService = serviceRepository.save(service);
+            serviceCatalog.serviceSaved(updatedService);
             
-            System.out.println("DEBUG: Successfully updated service status to: " + updatedService.getIsActive());
+            logger.debug("Successfully updated service status to: {}", updatedService.getIsActive());
             
             // Return success response with the updated service
             return ResponseEntity.ok(Map.of(
@@ -315,12 +695,10 @@ public class ServiceController {
                 "service", updatedService
             ));
         } catch (ClassCastException e) {
-            System.err.println("ERROR: Class cast exception in status update: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Class cast exception in status update", e);
             return ResponseEntity.badRequest().body(Map.of("error", "Invalid data type for status field"));
         } catch (Exception e) {
-            System.err.println("ERROR updating service status: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error updating service status", e);
             return ResponseEntity.badRequest().body(Map.of("error", "Error updating service status: " + e.getMessage()));
         }
     }
@@ -331,61 +709,93 @@ public class ServiceController {
     public ResponseEntity<?> deleteService(@PathVariable Long id,
                                          @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            System.out.println("DEBUG: Delete request for service " + id + " by user " + (userPrincipal != null ? userPrincipal.getId() : "null"));
+            logger.debug("Delete request for service {} by user {}", id, (userPrincipal != null ? userPrincipal.getId() : "null"));
             
             if (userPrincipal == null) {
-                System.out.println("DEBUG: Delete failed - user not authenticated");
+                logger.debug("Delete failed - user not authenticated");
                 return ResponseEntity.status(401).body(Map.of("error", "User not authenticated"));
             }
             
             Optional<Service> serviceOpt = serviceRepository.findById(id);
             if (!serviceOpt.isPresent()) {
-                System.out.println("DEBUG: Delete failed - service " + id + " not found");
+                logger.debug("Delete failed - service {} not found", id);
                 return ResponseEntity.status(404).body(Map.of("error", "Service not found"));
             }
             
             Service service = serviceOpt.get();
-            System.out.println("DEBUG: Found service to delete: " + service.getTitle() + " (current status: " + service.getIsActive() + ")");
-            System.out.println("DEBUG: Service provider ID: " + service.getProvider().getId() + ", User ID: " + userPrincipal.getId());
+            logger.debug("Found service to delete: {} (current status: {})", service.getTitle(), service.getIsActive());
+            logger.debug("Service provider ID: {}, User ID: {}", service.getProvider().getId(), userPrincipal.getId());
             
             // Check if user is the owner of the service or admin
             if (!service.getProvider().getId().equals(userPrincipal.getId()) && 
                 !userPrincipal.getAuthorities().stream()
                     .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                System.out.println("DEBUG: Delete failed - access denied for user " + userPrincipal.getId());
+                logger.debug("Delete failed - access denied for user {}", userPrincipal.getId());
                 return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
             }
             
             // Perform hard delete - completely remove from database
-            System.out.println("DEBUG: Performing hard delete - removing service from database");
+            logger.debug("Performing hard delete - removing service from database");
             serviceRepository.delete(service);
-            System.out.println("DEBUG: Service hard deleted successfully - completely removed from database");
+            serviceCatalog.serviceRemoved(id);
+            logger.debug("Service hard deleted successfully - completely removed from database");
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Service deleted successfully"
             ));
         } catch (Exception e) {
-            System.err.println("ERROR deleting service " + id + ": " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error deleting service {}", id, e);
             return ResponseEntity.badRequest().body(Map.of("error", "Error deleting service: " + e.getMessage()));
         }
     }
 
     // Map-related endpoints
     @GetMapping("/map")
-    public ResponseEntity<List<Service>> getAllServicesForMap() {
+    public ResponseEntity<?> getAllServicesForMap(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Service> services = serviceRepository.findAllWithCoordinates();
-            System.out.println("DEBUG: Found " + services.size() + " services with coordinates");
-            return ResponseEntity.ok(services);
+            String etag = serviceCatalog.getCatalogEtag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            List<ServiceCardDTO> services = serviceRepository.findCards(
+                ServiceFilter.mapListing(), Pageable.unpaged()).getContent();
+            logger.debug("Found {} services with coordinates", services.size());
+            return catalogResponse(etag, services);
         } catch (Exception e) {
-            System.err.println("ERROR fetching services for map: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error fetching services for map", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Pre-aggregated markers for the viewport: bbox=minLng,minLat,maxLng,maxLat and the map's zoom level
+    @GetMapping("/map/clusters")
+    public ResponseEntity<?> getServiceClusters(@RequestParam String bbox,
+                                                @RequestParam int zoom,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = serviceCatalog.getCatalogEtag();
+            if (isNotModified(ifNoneMatch, etag)) {
+                return notModified(etag);
+            }
+            String[] parts = bbox.split(",");
+            if (parts.length != 4) {
+                return ResponseEntity.badRequest().body("Error fetching clusters: bbox must be minLng,minLat,maxLng,maxLat");
+            }
+            double minLng = Double.parseDouble(parts[0].trim());
+            double minLat = Double.parseDouble(parts[1].trim());
+            double maxLng = Double.parseDouble(parts[2].trim());
+            double maxLat = Double.parseDouble(parts[3].trim());
+
+            List<MapClusterDTO> clusters = serviceCatalog.isReady()
+                ? serviceClusterIndex.clusters(minLat, maxLat, minLng, maxLng, zoom)
+                : ServiceClusterIndex.clusterAll(serviceRepository.findInBounds(minLat, maxLat, minLng, maxLng), zoom);
+            return catalogResponse(etag, clusters);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching clusters: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/map/bounds")
     public ResponseEntity<List<Service>> getServicesInBounds(
             @RequestParam Double minLat,
@@ -393,32 +803,72 @@ public class ServiceController {
             @RequestParam Double minLng,
             @RequestParam Double maxLng) {
         try {
-            List<Service> services = serviceRepository.findServicesInBounds(minLat, maxLat, minLng, maxLng);
-            System.out.println("DEBUG: Found " + services.size() + " services in bounds");
+            // The spatial index resolves the ids; geohash ranges answer while it is warming up
+            List<Service> services = serviceCatalog.isReady()
+                ? findServicesInOrder(serviceSpatialIndex.within(minLat, maxLat, minLng, maxLng))
+                : serviceRepository.findInBounds(minLat, maxLat, minLng, maxLng);
+            logger.debug("Found {} services in bounds", services.size());
             return ResponseEntity.ok(services);
         } catch (Exception e) {
-            System.err.println("ERROR fetching services in bounds: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error fetching services in bounds", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Same markers in the compact binary encoding (see MarkerFeed), chosen with Accept: application/x-fixitnow-markers
+    @GetMapping(value = "/map/bounds", produces = MarkerFeed.MEDIA_TYPE)
+    public void getMarkerFeedInBounds(@RequestParam Double minLat,
+                                      @RequestParam Double maxLat,
+                                      @RequestParam Double minLng,
+                                      @RequestParam Double maxLng,
+                                      HttpServletResponse response) throws IOException {
+        MarkerFeed feed = serviceCatalog.isReady()
+            ? serviceSpatialIndex.markers(minLat, maxLat, minLng, maxLng)
+            : MarkerFeed.of(serviceRepository.findInBounds(minLat, maxLat, minLng, maxLng));
+        response.setContentType(MarkerFeed.MEDIA_TYPE);
+        response.setHeader("X-Marker-Count", String.valueOf(feed.size()));
+        try (OutputStream out = new BufferedOutputStream(response.getOutputStream())) {
+            feed.writeTo(out);
+        }
+    }
+
     @GetMapping("/map/nearby")
     public ResponseEntity<List<Service>> getServicesNearby(
             @RequestParam Double lat,
             @RequestParam Double lng,
             @RequestParam(defaultValue = "10") Double radiusKm) {
         try {
-            List<Service> services = serviceRepository.findServicesWithinRadius(lat, lng, radiusKm);
-            System.out.println("DEBUG: Found " + services.size() + " services within " + radiusKm + "km");
+            List<Service> services = serviceCatalog.isReady()
+                ? findServicesInOrder(serviceSpatialIndex.nearby(lat, lng, radiusKm))
+                : serviceRepository.findWithinRadius(lat, lng, radiusKm);
+            logger.debug("Found {} services within {}km", services.size(), radiusKm);
             return ResponseEntity.ok(services);
         } catch (Exception e) {
-            System.err.println("ERROR fetching nearby services: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error fetching nearby services", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // The k closest active services, optionally of one category: exactly k unless fewer exist
+    @GetMapping("/map/nearest")
+    public ResponseEntity<?> getNearestServices(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) String category) {
+        try {
+            if (k < 1 || k > MAX_NEAREST) {
+                return ResponseEntity.badRequest().body("Error fetching nearest services: k must be between 1 and " + MAX_NEAREST);
+            }
+            List<Service> services = serviceCatalog.isReady()
+                ? findServicesInOrder(serviceSpatialIndex.nearest(lat, lng, k, category))
+                : serviceRepository.findNearest(lat, lng, k, category);
+            return ResponseEntity.ok(services);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching nearest services: " + e.getMessage());
+        }
+    }
+
     @PatchMapping("/{id}/location")
     @PreAuthorize("hasRole('PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<Service> updateServiceLocation(
@@ -443,6 +893,7 @@ public class ServiceController {
             // Update location data
             if (locationData.containsKey("location")) {
                 service.setLocation((String) locationData.get("location"));
+                localityDictionary.applyTo(service);
             }
             if (locationData.containsKey("latitude")) {
                 service.setLatitude(((Number) locationData.get("latitude")).doubleValue());
@@ -450,13 +901,17 @@ public class ServiceController {
             if (locationData.containsKey("longitude")) {
                 service.setLongitude(((Number) locationData.get("longitude")).doubleValue());
             }
+            if (locationData.containsKey("latitude") || locationData.containsKey("longitude")) {
+                service.setCoordinatesGeocoded(false);
+            }
+            gazetteer.applyTo(service);
 
             Service savedService = serviceRepository.save(service);
-            System.out.println("DEBUG: Updated service location for service " + id);
+            serviceCatalog.serviceSaved(savedService);
+            logger.debug("Updated service location for service {}", id);
             return ResponseEntity.ok(savedService);
         } catch (Exception e) {
-            System.err.println("ERROR updating service location: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error updating service location", e);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -464,12 +919,13 @@ public class ServiceController {
     @GetMapping("/subcategories")
     public ResponseEntity<List<String>> getDistinctSubcategories(@RequestParam String category) {
         try {
-            List<String> subcategories = serviceRepository.findDistinctSubcategoriesByCategory(category);
-            System.out.println("DEBUG: Found " + subcategories.size() + " subcategories for category: " + category);
-            return ResponseEntity.ok(subcategories);
+            ServiceTaxonomyCache.Taxonomy taxonomy = serviceTaxonomyCache.current();
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(taxonomy.getEtag())
+                .body(taxonomy.getSubcategories(category));
         } catch (Exception e) {
-            System.err.println("ERROR fetching subcategories: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error fetching subcategories", e);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -481,7 +937,8 @@ public class ServiceController {
             long activeServices = serviceRepository.findAll().stream()
                 .filter(Service::getActive)
                 .count();
-            long servicesWithCoordinates = serviceRepository.findAllWithCoordinates().size();
+            long servicesWithCoordinates = serviceCatalog.isReady()
+                ? serviceSpatialIndex.size() : serviceRepository.findAllWithCoordinates().size();
             
             Map<String, Object> counts = Map.of(
                 "totalServices", totalServices,
@@ -490,10 +947,10 @@ public class ServiceController {
                 "message", totalServices == 0 ? "No services found in database" : "Services exist in database"
             );
             
-            System.out.println("DEBUG: Service counts - Total: " + totalServices + ", Active: " + activeServices + ", WithCoordinates: " + servicesWithCoordinates);
+            logger.debug("Service counts - Total: {}, Active: {}, WithCoordinates: {}", totalServices, activeServices, servicesWithCoordinates);
             return ResponseEntity.ok(counts);
         } catch (Exception e) {
-            System.err.println("ERROR getting service counts: " + e.getMessage());
+            logger.error("Error getting service counts", e);
             return ResponseEntity.status(500).body(Map.of("error", e.getMessage()));
         }
     }
@@ -520,6 +977,7 @@ public class ServiceController {
                     sampleProvider.setPhone("1234567890");
                     sampleProvider.setRole(User.Role.PROVIDER);
                     sampleProvider.setLocation("Delhi, India");
+                    localityDictionary.applyTo(sampleProvider);
                     sampleProvider.setIsActive(true);
                     sampleProvider.setIsVerified(true);
                     return userRepository.save(sampleProvider);
@@ -534,8 +992,7 @@ public class ServiceController {
                 "services", serviceRepository.count()
             ));
         } catch (Exception e) {
-            System.err.println("ERROR initializing sample data: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error initializing sample data", e);
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -559,6 +1016,7 @@ public class ServiceController {
                         sampleProvider.setPhone("1234567890");
                         sampleProvider.setRole(User.Role.PROVIDER);
                         sampleProvider.setLocation("Delhi, India");
+                        localityDictionary.applyTo(sampleProvider);
                         sampleProvider.setIsActive(true);
                         sampleProvider.setIsVerified(true);
                         return userRepository.save(sampleProvider);
@@ -573,8 +1031,7 @@ public class ServiceController {
                 "message", "Sample services created successfully"
             ));
         } catch (Exception e) {
-            System.err.println("ERROR creating sample services: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error creating sample services", e);
             return ResponseEntity.badRequest().body("Error creating sample services: " + e.getMessage());
         }
     }
@@ -601,13 +1058,14 @@ public class ServiceController {
             service.setDescription(serviceData[3]);
             service.setPrice(new java.math.BigDecimal(serviceData[4]));
             service.setLocation(serviceData[5]);
+            localityDictionary.applyTo(service);
             service.setLatitude(Double.parseDouble(serviceData[6]));
             service.setLongitude(Double.parseDouble(serviceData[7]));
             service.setProvider(provider);
             service.setIsActive(true);
             service.setCreatedAt(LocalDateTime.now());
 
-            serviceRepository.save(service);
+            serviceCatalog.serviceSaved(serviceRepository.save(service));
         }
     }
 }
\ No newline at end of file
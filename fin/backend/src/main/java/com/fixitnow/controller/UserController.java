@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fixitnow.index.LocalityDictionary;
+import com.fixitnow.index.ServiceCatalog;
 import com.fixitnow.model.User;
 import com.fixitnow.repository.UserRepository;
 
@@ -24,6 +26,12 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LocalityDictionary localityDictionary;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
     // Get user profile by ID (public endpoint for chat feature)
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserProfile(@PathVariable Long id) {
@@ -63,6 +71,7 @@ public class UserController {
             }
             if (updates.containsKey("location")) {
                 user.setLocation((String) updates.get("location"));
+                localityDictionary.applyTo(user);
             }
             if (updates.containsKey("avatarUrl") || updates.containsKey("profile_image")) {
                 String avatarUrl = (String) updates.getOrDefault("avatarUrl", updates.get("profile_image"));
@@ -79,6 +88,9 @@ public class UserController {
             }
 
             userRepository.save(user);
+            if (user.getRole() == User.Role.PROVIDER) {
+                serviceCatalog.providerChanged(); // name and image are embedded in service responses
+            }
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User profile updated successfully");
@@ -21,6 +21,9 @@ public class BookingRequest {
     
     private String urgencyLevel;
 
+    // Whole hours; one when missing
+    private Integer durationHours;
+
     // Constructors
     public BookingRequest() {}
 
@@ -47,4 +50,7 @@ public class BookingRequest {
     
     public String getUrgencyLevel() { return urgencyLevel; }
     public void setUrgencyLevel(String urgencyLevel) { this.urgencyLevel = urgencyLevel; }
+
+    public Integer getDurationHours() { return durationHours; }
+    public void setDurationHours(Integer durationHours) { this.durationHours = durationHours; }
 }
\ No newline at end of file
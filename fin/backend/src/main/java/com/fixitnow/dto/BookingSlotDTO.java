@@ -0,0 +1,25 @@
+package com.fixitnow.dto;
+
+import java.time.LocalDate;
+
+// A provider's free (date, time slot), suggested when the requested one is taken
+public class BookingSlotDTO {
+
+    private LocalDate bookingDate;
+    private String timeSlot;
+
+    // Constructors
+    public BookingSlotDTO() {}
+
+    public BookingSlotDTO(LocalDate bookingDate, String timeSlot) {
+        this.bookingDate = bookingDate;
+        this.timeSlot = timeSlot;
+    }
+
+    // Getters and Setters
+    public LocalDate getBookingDate() { return bookingDate; }
+    public void setBookingDate(LocalDate bookingDate) { this.bookingDate = bookingDate; }
+
+    public String getTimeSlot() { return timeSlot; }
+    public void setTimeSlot(String timeSlot) { this.timeSlot = timeSlot; }
+}
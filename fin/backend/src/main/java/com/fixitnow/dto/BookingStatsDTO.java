@@ -0,0 +1,37 @@
+package com.fixitnow.dto;
+
+// Dashboard numbers of one customer or provider; immutable, so cached instances can be shared
+public class BookingStatsDTO {
+
+    private final Long totalBookings;
+    private final Long pendingBookings;
+    private final Long confirmedBookings;
+    private final Long completedBookings;
+    private final Long activeBookings;
+    private final Double totalEarnings;
+    private final Double avgRating;
+    private final Long totalServices;
+
+    // Constructors
+    public BookingStatsDTO(Long totalBookings, Long pendingBookings, Long confirmedBookings, Long completedBookings,
+                           Long activeBookings, Double totalEarnings, Double avgRating, Long totalServices) {
+        this.totalBookings = totalBookings;
+        this.pendingBookings = pendingBookings;
+        this.confirmedBookings = confirmedBookings;
+        this.completedBookings = completedBookings;
+        this.activeBookings = activeBookings;
+        this.totalEarnings = totalEarnings;
+        this.avgRating = avgRating;
+        this.totalServices = totalServices;
+    }
+
+    // Getters
+    public Long getTotalBookings() { return totalBookings; }
+    public Long getPendingBookings() { return pendingBookings; }
+    public Long getConfirmedBookings() { return confirmedBookings; }
+    public Long getCompletedBookings() { return completedBookings; }
+    public Long getActiveBookings() { return activeBookings; }
+    public Double getTotalEarnings() { return totalEarnings; }
+    public Double getAvgRating() { return avgRating; }
+    public Long getTotalServices() { return totalServices; }
+}
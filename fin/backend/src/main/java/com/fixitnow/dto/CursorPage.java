@@ -0,0 +1,32 @@
+package com.fixitnow.dto;
+
+import java.util.List;
+
+// Keyset-paginated response: no totals, just an opaque token for the next page
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String next; // null on the last page
+    private int size;
+
+    // Constructors
+    public CursorPage() {}
+
+    public CursorPage(List<T> content, String next, int size) {
+        this.content = content;
+        this.next = next;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() { return content; }
+    public void setContent(List<T> content) { this.content = content; }
+
+    public String getNext() { return next; }
+    public void setNext(String next) { this.next = next; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasNext() { return next != null; }
+}
@@ -0,0 +1,38 @@
+package com.fixitnow.dto;
+
+// Services in one map grid cell, drawn as a single marker at their centroid
+public class MapClusterDTO {
+
+    private double latitude;
+    private double longitude;
+    private int count;
+    private String topCategory;
+    private Long serviceId; // set when the cluster is a single service
+
+    // Constructors
+    public MapClusterDTO() {}
+
+    public MapClusterDTO(double latitude, double longitude, int count, String topCategory, Long serviceId) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.topCategory = topCategory;
+        this.serviceId = serviceId;
+    }
+
+    // Getters and Setters
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public String getTopCategory() { return topCategory; }
+    public void setTopCategory(String topCategory) { this.topCategory = topCategory; }
+
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+}
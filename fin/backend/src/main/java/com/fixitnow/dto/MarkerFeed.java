@@ -0,0 +1,146 @@
+package com.fixitnow.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fixitnow.model.Service;
+
+/**
+ * Map markers in the compact binary encoding served as application/x-fixitnow-markers.
+ *
+ * Layout (varint = unsigned LEB128, svarint = zigzag-encoded varint):
+ * <pre>
+ *   "FXM" 0x01                                   magic and format version
+ *   varint n, then n x (varint length, UTF-8)    category names; ordinals index this table
+ *   varint count                                 number of markers
+ *   count x:
+ *     svarint id delta                           from the previous marker's id (first from 0)
+ *     svarint latitude delta, svarint longitude delta
+ *                                                degrees x 100000 (~1 m), same deltas
+ *     varint category ordinal
+ *     varint price in paise
+ * </pre>
+ */
+public class MarkerFeed {
+
+    public static final String MEDIA_TYPE = "application/x-fixitnow-markers";
+
+    private static final byte[] MAGIC = {'F', 'X', 'M', 1};
+    private static final double SCALE = 100_000;
+
+    private final List<String> categories;
+    private final long[] ids;
+    private final int[] lats;
+    private final int[] lngs;
+    private final int[] ordinals;
+    private final long[] prices;
+    private final int size;
+
+    private MarkerFeed(List<String> categories, long[] ids, int[] lats, int[] lngs,
+                       int[] ordinals, long[] prices, int size) {
+        this.categories = categories;
+        this.ids = ids;
+        this.lats = lats;
+        this.lngs = lngs;
+        this.ordinals = ordinals;
+        this.prices = prices;
+        this.size = size;
+    }
+
+    // Feed built from entities, used while the spatial index is warming up
+    public static MarkerFeed of(List<Service> services) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> categories = new ArrayList<>();
+        Builder feed = new Builder();
+        for (Service service : services) {
+            String category = service.getCategory() == null ? "" : service.getCategory().trim();
+            int ordinal = ordinals.computeIfAbsent(category, c -> {
+                categories.add(c);
+                return categories.size() - 1;
+            });
+            BigDecimal price = service.getPrice() == null ? BigDecimal.ZERO : service.getPrice();
+            feed.add(service.getId(), service.getLatitude(), service.getLongitude(), ordinal,
+                price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue());
+        }
+        return feed.build(categories);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        writeVarint(out, categories.size());
+        for (String category : categories) {
+            byte[] name = category.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, name.length);
+            out.write(name);
+        }
+        writeVarint(out, size);
+        long previousId = 0;
+        int previousLat = 0;
+        int previousLng = 0;
+        for (int i = 0; i < size; i++) {
+            writeVarint(out, zigzag(ids[i] - previousId));
+            writeVarint(out, zigzag((long) lats[i] - previousLat));
+            writeVarint(out, zigzag((long) lngs[i] - previousLng));
+            writeVarint(out, ordinals[i]);
+            writeVarint(out, Math.max(0, prices[i]));
+            previousId = ids[i];
+            previousLat = lats[i];
+            previousLng = lngs[i];
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // Growable parallel arrays; coordinates are rounded to the fixed-point grid on add
+    public static class Builder {
+        private long[] ids = new long[64];
+        private int[] lats = new int[64];
+        private int[] lngs = new int[64];
+        private int[] ordinals = new int[64];
+        private long[] prices = new long[64];
+        private int size = 0;
+
+        public void add(long id, double lat, double lng, int ordinal, long pricePaise) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                lats = Arrays.copyOf(lats, capacity);
+                lngs = Arrays.copyOf(lngs, capacity);
+                ordinals = Arrays.copyOf(ordinals, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+            ids[size] = id;
+            lats[size] = (int) Math.round(lat * SCALE);
+            lngs[size] = (int) Math.round(lng * SCALE);
+            ordinals[size] = ordinal;
+            prices[size] = pricePaise;
+            size++;
+        }
+
+        public MarkerFeed build(List<String> categories) {
+            return new MarkerFeed(categories, ids, lats, lngs, ordinals, prices, size);
+        }
+    }
+}
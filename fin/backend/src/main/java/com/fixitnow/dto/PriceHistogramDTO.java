@@ -0,0 +1,61 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Equal-width price buckets over the matching services, for the price range slider
+public class PriceHistogramDTO {
+
+    private long total;
+    private BigDecimal min;
+    private BigDecimal max;
+    private List<Bucket> buckets = new ArrayList<>();
+
+    // Constructors
+    public PriceHistogramDTO() {}
+
+    public PriceHistogramDTO(long total, BigDecimal min, BigDecimal max, List<Bucket> buckets) {
+        this.total = total;
+        this.min = min;
+        this.max = max;
+        this.buckets = buckets;
+    }
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public BigDecimal getMin() { return min; }
+    public void setMin(BigDecimal min) { this.min = min; }
+
+    public BigDecimal getMax() { return max; }
+    public void setMax(BigDecimal max) { this.max = max; }
+
+    public List<Bucket> getBuckets() { return buckets; }
+    public void setBuckets(List<Bucket> buckets) { this.buckets = buckets; }
+
+    // Prices in [from, to)
+    public static class Bucket {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+
+        public Bucket() {}
+
+        public Bucket(BigDecimal from, BigDecimal to, long count) {
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+
+        public BigDecimal getFrom() { return from; }
+        public void setFrom(BigDecimal from) { this.from = from; }
+
+        public BigDecimal getTo() { return to; }
+        public void setTo(BigDecimal to) { this.to = to; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.fixitnow.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+
+// One area in PUT /providers/{id}/service-areas: a circle (latitude, longitude, radiusKm)
+// or a polygon (vertices as [lat, lng] pairs, at least three)
+public class ServiceAreaRequest {
+
+    @NotBlank
+    private String shape; // CIRCLE or POLYGON
+
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private List<List<Double>> vertices;
+
+    // Constructors
+    public ServiceAreaRequest() {}
+
+    // Getters and Setters
+    public String getShape() { return shape; }
+    public void setShape(String shape) { this.shape = shape; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+
+    public List<List<Double>> getVertices() { return vertices; }
+    public void setVertices(List<List<Double>> vertices) { this.vertices = vertices; }
+}
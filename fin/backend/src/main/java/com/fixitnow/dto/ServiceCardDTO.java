@@ -0,0 +1,134 @@
+package com.fixitnow.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// List-view shape of a service: only what the cards and map markers render
+public class ServiceCardDTO {
+
+    public static final int DESCRIPTION_PREVIEW_LENGTH = 160;
+
+    private Long id;
+    private String title;
+    private String category;
+    private String subcategory;
+    private String description; // First DESCRIPTION_PREVIEW_LENGTH characters only
+    private BigDecimal price;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private String serviceImages;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private ProviderSummary provider;
+
+    // Constructors
+    public ServiceCardDTO() {}
+
+    // Used by the JPQL constructor expression in ServiceRepositoryImpl; argument order matters
+    public ServiceCardDTO(Long id, String title, String category, String subcategory, String description,
+                          BigDecimal price, String location, Double latitude, Double longitude,
+                          String serviceImages, Boolean isActive, LocalDateTime createdAt,
+                          Long providerId, String providerName, String providerEmail,
+                          String providerProfileImage, Boolean providerVerified, Double providerRating) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.subcategory = subcategory;
+        this.description = description;
+        this.price = price;
+        this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.serviceImages = serviceImages;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.provider = new ProviderSummary(providerId, providerName, providerEmail,
+            providerProfileImage, providerVerified, providerRating);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSubcategory() { return subcategory; }
+    public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public String getServiceImages() { return serviceImages; }
+    public void setServiceImages(String serviceImages) { this.serviceImages = serviceImages; }
+
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+
+    // Same alias the Service entity exposes, for frontend compatibility
+    @JsonProperty("active")
+    public Boolean getActive() { return isActive; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public ProviderSummary getProvider() { return provider; }
+    public void setProvider(ProviderSummary provider) { this.provider = provider; }
+
+    public static class ProviderSummary {
+        private Long id;
+        private String name;
+        private String email;
+        private String profileImage;
+        private Boolean isVerified;
+        private Double rating; // Average review rating, null when unrated
+
+        public ProviderSummary() {}
+
+        public ProviderSummary(Long id, String name, String email, String profileImage,
+                               Boolean isVerified, Double rating) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+            this.profileImage = profileImage;
+            this.isVerified = isVerified;
+            this.rating = rating;
+        }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+
+        public String getProfileImage() { return profileImage; }
+        public void setProfileImage(String profileImage) { this.profileImage = profileImage; }
+
+        public Boolean getIsVerified() { return isVerified; }
+        public void setIsVerified(Boolean isVerified) { this.isVerified = isVerified; }
+
+        public Double getRating() { return rating; }
+        public void setRating(Double rating) { this.rating = rating; }
+    }
+}
@@ -0,0 +1,63 @@
+package com.fixitnow.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Category -> subcategory counts and location buckets for the browse sidebar
+public class ServiceFacetsDTO {
+
+    private long total;
+    private List<CategoryFacet> categories = new ArrayList<>();
+    private List<FacetCount> locations = new ArrayList<>();
+
+    // Constructors
+    public ServiceFacetsDTO() {}
+
+    public ServiceFacetsDTO(long total, List<CategoryFacet> categories, List<FacetCount> locations) {
+        this.total = total;
+        this.categories = categories;
+        this.locations = locations;
+    }
+
+    // Getters and Setters
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public List<CategoryFacet> getCategories() { return categories; }
+    public void setCategories(List<CategoryFacet> categories) { this.categories = categories; }
+
+    public List<FacetCount> getLocations() { return locations; }
+    public void setLocations(List<FacetCount> locations) { this.locations = locations; }
+
+    public static class FacetCount {
+        private String name;
+        private long count;
+
+        public FacetCount() {}
+
+        public FacetCount(String name, long count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+    }
+
+    public static class CategoryFacet extends FacetCount {
+        private List<FacetCount> subcategories = new ArrayList<>();
+
+        public CategoryFacet() {}
+
+        public CategoryFacet(String name, long count, List<FacetCount> subcategories) {
+            super(name, count);
+            this.subcategories = subcategories;
+        }
+
+        public List<FacetCount> getSubcategories() { return subcategories; }
+        public void setSubcategories(List<FacetCount> subcategories) { this.subcategories = subcategories; }
+    }
+}
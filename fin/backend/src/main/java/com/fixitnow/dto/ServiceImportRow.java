@@ -0,0 +1,20 @@
+package com.fixitnow.dto;
+
+/**
+ * One NDJSON object or CSV row of a bulk service import. Same fields and validation as
+ * {@link ServiceRequest}; admins name the owning provider by id or email.
+ */
+public class ServiceImportRow extends ServiceRequest {
+    private Long providerId;
+    private String providerEmail;
+
+    // Constructors
+    public ServiceImportRow() {}
+
+    // Getters and Setters
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public String getProviderEmail() { return providerEmail; }
+    public void setProviderEmail(String providerEmail) { this.providerEmail = providerEmail; }
+}
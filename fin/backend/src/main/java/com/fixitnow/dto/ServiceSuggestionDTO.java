@@ -0,0 +1,28 @@
+package com.fixitnow.dto;
+
+// One autocomplete entry for the service search box
+public class ServiceSuggestionDTO {
+
+    private String text;
+    private String type; // TITLE, CATEGORY or SUBCATEGORY
+    private long score;
+
+    // Constructors
+    public ServiceSuggestionDTO() {}
+
+    public ServiceSuggestionDTO(String text, String type, long score) {
+        this.text = text;
+        this.type = type;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public long getScore() { return score; }
+    public void setScore(long score) { this.score = score; }
+}
@@ -0,0 +1,64 @@
+package com.fixitnow.geo;
+
+/**
+ * Distances and bounding boxes on a spherical Earth, shared by the in-memory spatial index
+ * and the geohash queries that stand in for it while it warms up.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    public static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private GeoMath() {}
+
+    // Great-circle distance (haversine)
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * {minLat, maxLat, minLng, maxLng} enclosing the circle. Near the poles, or when the circle
+     * spans all longitudes, the box covers every longitude; minLng > maxLng when it wraps.
+     */
+    public static double[] radiusBounds(double lat, double lng, double radiusKm) {
+        double deltaLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90, lat - deltaLat);
+        double maxLat = Math.min(90, lat + deltaLat);
+        double cos = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double deltaLng = cos <= 0 ? 360 : deltaLat / cos;
+        if (deltaLng >= 180 || minLat == -90 || maxLat == 90) {
+            return new double[] {minLat, maxLat, -180, 180};
+        }
+        return new double[] {minLat, maxLat, wrap(lng - deltaLng), wrap(lng + deltaLng)};
+    }
+
+    /**
+     * Even-odd test of the point against a simple polygon given as {lat0, lng0, lat1, lng1, ...}.
+     * Edges are straight in degrees, which is what providers draw on the map at city scale.
+     */
+    public static boolean inPolygon(double lat, double lng, double[] vertices) {
+        boolean inside = false;
+        int n = vertices.length / 2;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double latI = vertices[2 * i], lngI = vertices[2 * i + 1];
+            double latJ = vertices[2 * j], lngJ = vertices[2 * j + 1];
+            if ((latI > lat) != (latJ > lat)
+                    && lng < (lngJ - lngI) * (lat - latI) / (latJ - latI) + lngI) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    public static boolean isValid(Double lat, Double lng) {
+        return lat != null && lng != null && lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+
+    private static double wrap(double lng) {
+        return lng < -180 ? lng + 360 : lng > 180 ? lng - 360 : lng;
+    }
+}
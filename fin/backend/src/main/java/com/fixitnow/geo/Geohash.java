@@ -0,0 +1,136 @@
+package com.fixitnow.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Standard base-32 geohashes. Every cell's hash is a prefix of the hashes of all points inside
+ * it, and the alphabet is in ASCII order, so a cell is one range of a B-tree index on the
+ * hash column and neighbouring cells along the Z-order curve merge into a single range.
+ */
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12; // ~4 cm cells
+
+    // Cells a box is covered with at most; the precision is the finest that stays under it
+    public static final int MAX_COVER_CELLS = 32;
+
+    private static final String ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private Geohash() {}
+
+    public static String encode(double lat, double lng, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lngBit = true; // bits alternate, longitude first
+        int bits = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (lngBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (lng >= mid) {
+                    value = value * 2 + 1;
+                    minLng = mid;
+                } else {
+                    value = value * 2;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    value = value * 2 + 1;
+                    minLat = mid;
+                } else {
+                    value = value * 2;
+                    maxLat = mid;
+                }
+            }
+            lngBit = !lngBit;
+            if (++bits == 5) {
+                hash.append(ALPHABET.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Full-precision hash stored on rows; null without valid coordinates
+    public static String of(Double lat, Double lng) {
+        return GeoMath.isValid(lat, lng) ? encode(lat, lng, MAX_PRECISION) : null;
+    }
+
+    /**
+     * Hash ranges covering the box, each {from, to} with from inclusive and to exclusive (null
+     * when open-ended). The box must not cross the antimeridian (minLng <= maxLng).
+     */
+    public static List<String[]> ranges(double minLat, double maxLat, double minLng, double maxLng) {
+        int precision = MAX_PRECISION;
+        while (precision > 1 && cellCount(minLat, maxLat, minLng, maxLng, precision) > MAX_COVER_CELLS) {
+            precision--;
+        }
+
+        int latBits = 5 * precision / 2;
+        int lngBits = 5 * precision - latBits;
+        double cellLat = 180.0 / (1L << latBits);
+        double cellLng = 360.0 / (1L << lngBits);
+        TreeSet<String> cells = new TreeSet<>();
+        for (long row = index(minLat + 90, cellLat, latBits); row <= index(maxLat + 90, cellLat, latBits); row++) {
+            for (long col = index(minLng + 180, cellLng, lngBits); col <= index(maxLng + 180, cellLng, lngBits); col++) {
+                cells.add(encode(-90 + (row + 0.5) * cellLat, -180 + (col + 0.5) * cellLng, precision));
+            }
+        }
+
+        // Cells are sorted, so a cell that starts where the previous range ends extends it
+        List<String[]> ranges = new ArrayList<>();
+        String from = null;
+        String to = null;
+        for (String cell : cells) {
+            if (from != null && to != null && cell.equals(pad(to, precision))) {
+                to = successor(cell);
+                continue;
+            }
+            if (from != null) {
+                ranges.add(new String[] {from, to});
+            }
+            from = cell;
+            to = successor(cell);
+        }
+        if (from != null) {
+            ranges.add(new String[] {from, to});
+        }
+        return ranges;
+    }
+
+    private static long cellCount(double minLat, double maxLat, double minLng, double maxLng, int precision) {
+        int latBits = 5 * precision / 2;
+        int lngBits = 5 * precision - latBits;
+        double cellLat = 180.0 / (1L << latBits);
+        double cellLng = 360.0 / (1L << lngBits);
+        long rows = index(maxLat + 90, cellLat, latBits) - index(minLat + 90, cellLat, latBits) + 1;
+        long cols = index(maxLng + 180, cellLng, lngBits) - index(minLng + 180, cellLng, lngBits) + 1;
+        return rows * cols;
+    }
+
+    private static long index(double offset, double cellSize, int bits) {
+        return Math.max(0, Math.min((1L << bits) - 1, (long) Math.floor(offset / cellSize)));
+    }
+
+    // Smallest string above every hash starting with the prefix; null past the last cell
+    private static String successor(String prefix) {
+        int i = prefix.length() - 1;
+        while (i >= 0 && prefix.charAt(i) == 'z') {
+            i--;
+        }
+        if (i < 0) {
+            return null;
+        }
+        return prefix.substring(0, i) + ALPHABET.charAt(ALPHABET.indexOf(prefix.charAt(i)) + 1);
+    }
+
+    private static String pad(String prefix, int precision) {
+        return prefix + "0".repeat(precision - prefix.length());
+    }
+}
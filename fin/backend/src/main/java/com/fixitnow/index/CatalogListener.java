@@ -0,0 +1,21 @@
+package com.fixitnow.index;
+
+import com.fixitnow.model.Service;
+
+/**
+ * In-memory structure kept in sync with the services table by {@link ServiceCatalog}.
+ *
+ * Implementations must copy whatever they need out of the entity; the
+ * {@link Service} instance belongs to the caller's persistence context.
+ */
+public interface CatalogListener {
+
+    // Drop everything before a full rebuild
+    void clear();
+
+    // Called for every created or updated service, active or not
+    void onServiceSaved(Service service);
+
+    // Called after a service row has been deleted
+    void onServiceRemoved(Long serviceId);
+}
@@ -0,0 +1,200 @@
+package com.fixitnow.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.geo.Geohash;
+import com.fixitnow.model.Service;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Offline geocoder: resolves free-text locations to the approximate center of a locality or
+ * city from a gazetteer CSV (bundled, or any file named by app.geocoding.gazetteer). No
+ * network is involved.
+ *
+ * Results, including misses, are kept in an LRU cache keyed on the normalized text, so the
+ * same locality typed by many providers is parsed and looked up once.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Gazetteer.class);
+
+    private static final double[] UNKNOWN = new double[0];
+
+    @Value("${app.geocoding.gazetteer:classpath:gazetteer/india.csv}")
+    private Resource source;
+
+    @Value("${app.cache.geocoding.max-entries:10000}")
+    private int maxEntries;
+
+    // Normalized name or alias -> coordinates; a locality name can exist in several cities
+    private volatile Map<String, Place> citiesByAlias = Map.of();
+    private volatile Map<String, List<Place>> localitiesByAlias = Map.of();
+
+    private final LinkedHashMap<String, double[]> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    public void load() throws IOException {
+        Map<String, Place> cities = new HashMap<>();
+        Map<String, List<Place>> localities = new HashMap<>();
+        int places = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // city,locality,latitude,longitude,aliases
+                String[] fields = line.split(",", -1);
+                if (line.startsWith("#") || fields.length < 4 || fields[0].equals("city")) {
+                    continue;
+                }
+                Place place = new Place(LocalityDictionary.normalize(fields[0]),
+                    Double.parseDouble(fields[2].trim()), Double.parseDouble(fields[3].trim()));
+                List<String> names = new ArrayList<>();
+                names.add(fields[1].isBlank() ? fields[0] : fields[1]);
+                if (fields.length > 4) {
+                    for (String alias : fields[4].split("\\|")) {
+                        names.add(alias);
+                    }
+                }
+                for (String name : names) {
+                    String normalized = LocalityDictionary.normalize(name);
+                    if (normalized.isEmpty()) {
+                        continue;
+                    }
+                    if (fields[1].isBlank()) {
+                        cities.putIfAbsent(normalized, place);
+                    } else {
+                        localities.computeIfAbsent(normalized, n -> new ArrayList<>()).add(place);
+                    }
+                }
+                places++;
+            }
+        }
+        citiesByAlias = cities;
+        localitiesByAlias = localities;
+        synchronized (cache) {
+            cache.clear();
+        }
+        logger.info("Gazetteer loaded {} places from {}", places, source.getDescription());
+    }
+
+    /**
+     * {latitude, longitude} of comma separated location text, or null when the gazetteer does
+     * not know it. Parts resolve like LocalityDictionary: a locality in the named city wins,
+     * then the city itself.
+     */
+    public double[] geocode(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        for (String part : location.split(",")) {
+            String normalized = LocalityDictionary.normalize(part);
+            if (!normalized.isEmpty()) {
+                parts.add(normalized);
+            }
+        }
+        String key = String.join(",", parts);
+        synchronized (cache) {
+            double[] cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached == UNKNOWN ? null : cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        double[] point = lookup(parts);
+        synchronized (cache) {
+            cache.put(key, point != null ? point : UNKNOWN);
+            if (cache.size() > maxEntries) {
+                cache.remove(cache.keySet().iterator().next());
+                evictions.incrementAndGet();
+            }
+        }
+        return point;
+    }
+
+    /**
+     * Fills in coordinates from the location text when the service has none of its own, and
+     * keeps earlier estimates in step with the text. Call after copying coordinates from the
+     * request; a request that carries coordinates must clear coordinatesGeocoded first.
+     */
+    public void applyTo(Service service) {
+        boolean estimated = Boolean.TRUE.equals(service.getCoordinatesGeocoded());
+        if (!estimated && service.getLatitude() != null && service.getLongitude() != null) {
+            return;
+        }
+        double[] point = geocode(service.getLocation());
+        if (point != null || estimated) {
+            service.setLatitude(point != null ? point[0] : null);
+            service.setLongitude(point != null ? point[1] : null);
+            service.setGeohash(Geohash.of(service.getLatitude(), service.getLongitude()));
+            service.setCoordinatesGeocoded(point != null);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (cache) {
+            stats.put("size", cache.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        long lookups = hits.get() + misses.get();
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits.get() / lookups);
+        stats.put("evictions", evictions.get());
+        return stats;
+    }
+
+    private double[] lookup(List<String> parts) {
+        List<String> names = new ArrayList<>(parts);
+        names.add(String.join(" ", parts)); // "Karol Bagh Delhi" without the comma
+        Place city = null;
+        List<Place> candidates = new ArrayList<>();
+        for (String name : names) {
+            if (city == null) {
+                city = citiesByAlias.get(name);
+            }
+            candidates.addAll(localitiesByAlias.getOrDefault(name, List.of()));
+        }
+        for (Place candidate : candidates) {
+            if (city == null || city.city.equals(candidate.city)) {
+                return new double[] {candidate.lat, candidate.lng};
+            }
+        }
+        return city != null ? new double[] {city.lat, city.lng} : null;
+    }
+
+    private static final class Place {
+        final String city;
+        final double lat;
+        final double lng;
+
+        Place(String city, double lat, double lng) {
+            this.city = city;
+            this.lat = lat;
+            this.lng = lng;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.model.City;
+import com.fixitnow.model.Locality;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.CityRepository;
+import com.fixitnow.repository.LocalityRepository;
+import com.fixitnow.repository.ServiceFilter;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Resolves free-text locations ("CP, New Delhi", "Koramangala, Bangalore") to a city and
+ * locality id through an in-memory alias map loaded from the cities / localities tables.
+ *
+ * Writes store the resolved ids on the row so location filters become indexed equality
+ * lookups; text that is not in the dictionary keeps the substring match as a fallback.
+ */
+@Component
+public class LocalityDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalityDictionary.class);
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private LocalityRepository localityRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Normalized name or alias -> ids; a locality name can exist in several cities
+    private volatile Map<String, Long> cityByAlias = Map.of();
+    private volatile Map<String, List<Locality>> localitiesByAlias = Map.of();
+
+    // Runs before the catalog rebuild on ApplicationReadyEvent, so the indexes see backfilled ids
+    @PostConstruct
+    public void init() {
+        load();
+        backfill();
+    }
+
+    public void load() {
+        Map<String, Long> cities = new HashMap<>();
+        for (City city : cityRepository.findAll()) {
+            for (String name : names(city.getName(), city.getAliases())) {
+                cities.putIfAbsent(name, city.getId());
+            }
+        }
+        Map<String, List<Locality>> localities = new HashMap<>();
+        List<Locality> all = localityRepository.findAll();
+        for (Locality locality : all) {
+            for (String name : names(locality.getName(), locality.getAliases())) {
+                localities.computeIfAbsent(name, n -> new ArrayList<>()).add(locality);
+            }
+        }
+        cityByAlias = cities;
+        localitiesByAlias = localities;
+        logger.info("Locality dictionary loaded {} aliases for {} localities", cities.size() + localities.size(), all.size());
+    }
+
+    /**
+     * Resolves comma separated location text. Every part is looked up as a city and as a
+     * locality; a locality found in the named city wins. When the parts leave the city or the
+     * locality unknown, runs of words inside them are tried as well ("Karol Bagh Delhi").
+     * Returns null when nothing matches.
+     */
+    public Match resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        for (String part : location.split(",")) {
+            String normalized = normalize(part);
+            if (!normalized.isEmpty()) {
+                parts.add(normalized);
+            }
+        }
+        List<String> names = new ArrayList<>(parts);
+        Long cityId = null;
+        List<Locality> candidates = new ArrayList<>();
+        for (int pass = 0; pass < 2; pass++) {
+            for (String name : names) {
+                if (cityId == null) {
+                    cityId = cityByAlias.get(name);
+                }
+                candidates.addAll(localitiesByAlias.getOrDefault(name, List.of()));
+            }
+            if (cityId != null && !candidates.isEmpty()) {
+                break;
+            }
+            names = new ArrayList<>();
+            for (String part : parts) {
+                names.addAll(wordRuns(part));
+            }
+        }
+
+        Locality locality = null;
+        for (Locality candidate : candidates) {
+            if (cityId == null || cityId.equals(candidate.getCityId())) {
+                locality = candidate;
+                break;
+            }
+        }
+        if (locality != null) {
+            return new Match(locality.getCityId(), locality.getId());
+        }
+        return cityId != null ? new Match(cityId, null) : null;
+    }
+
+    // Stores the resolved area on the entity; call before every save that may change the location
+    public void applyTo(Service service) {
+        Match match = resolve(service.getLocation());
+        service.setCityId(match != null ? match.getCityId() : null);
+        service.setLocalityId(match != null ? match.getLocalityId() : null);
+    }
+
+    public void applyTo(User user) {
+        Match match = resolve(user.getLocation());
+        user.setCityId(match != null ? match.getCityId() : null);
+        user.setLocalityId(match != null ? match.getLocalityId() : null);
+    }
+
+    // Turns the filter's location text into id equality when the dictionary knows it
+    public ServiceFilter narrow(ServiceFilter filter) {
+        Match match = resolve(filter.getLocation());
+        if (match != null) {
+            filter.setCityId(match.getCityId());
+            filter.setLocalityId(match.getLocalityId());
+            filter.setLocation(null);
+        }
+        return filter;
+    }
+
+    // Resolves rows saved before the dictionary existed, one UPDATE per distinct location string
+    private void backfill() {
+        int services = 0;
+        for (String location : serviceRepository.findUnresolvedLocations()) {
+            Match match = resolve(location);
+            if (match != null) {
+                services += serviceRepository.assignArea(location, match.getCityId(), match.getLocalityId());
+            }
+        }
+        int users = 0;
+        for (String location : userRepository.findUnresolvedLocations()) {
+            Match match = resolve(location);
+            if (match != null) {
+                users += userRepository.assignArea(location, match.getCityId(), match.getLocalityId());
+            }
+        }
+        if (services > 0 || users > 0) {
+            logger.info("Locality backfill resolved {} services and {} users", services, users);
+        }
+    }
+
+    private static List<String> names(String name, String aliases) {
+        List<String> names = new ArrayList<>();
+        names.add(normalize(name));
+        if (aliases != null) {
+            for (String alias : aliases.split(",")) {
+                String normalized = normalize(alias);
+                if (!normalized.isEmpty()) {
+                    names.add(normalized);
+                }
+            }
+        }
+        return names;
+    }
+
+    // Shorter runs of consecutive words, longest first: "a b c" -> "a b", "b c", "a", "b", "c"
+    private static List<String> wordRuns(String part) {
+        String[] words = part.split(" ");
+        List<String> runs = new ArrayList<>();
+        for (int length = words.length - 1; length > 0; length--) {
+            for (int start = 0; start + length <= words.length; start++) {
+                runs.add(String.join(" ", Arrays.copyOfRange(words, start, start + length)));
+            }
+        }
+        return runs;
+    }
+
+    // "Hi-Tec City." -> "hi tec city"
+    static String normalize(String text) {
+        return Tokenizer.normalize(text).replaceAll("[^a-z0-9]+", " ").trim();
+    }
+
+    public static final class Match {
+        private final Long cityId;
+        private final Long localityId; // null when only the city is known
+
+        Match(Long cityId, Long localityId) {
+            this.cityId = cityId;
+            this.localityId = localityId;
+        }
+
+        public Long getCityId() { return cityId; }
+        public Long getLocalityId() { return localityId; }
+    }
+}
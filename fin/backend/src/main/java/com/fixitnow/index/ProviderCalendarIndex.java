@@ -0,0 +1,218 @@
+package com.fixitnow.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.BookingSlotDTO;
+import com.fixitnow.model.AvailabilitySlots;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.BookingSlotCellRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Free/busy calendar of every provider, as half-hour day bitmaps.
+ *
+ * The free side is the weekly availability of the provider's active services, kept in step
+ * by the catalog. The busy side is one mask per provider and date, built from the booking slot
+ * cells and updated by SlotReservationService on create, status change and cancel. A day's
+ * free one-hour starts are then the template's starts that miss the busy mask, with no query.
+ *
+ * Only this node's reservations reach the busy masks; the slot cells stay the authority and
+ * a slot booked elsewhere is still refused with alternatives.
+ */
+@Component
+public class ProviderCalendarIndex implements CatalogListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderCalendarIndex.class);
+
+    @Autowired
+    private BookingSlotCellRepository bookingSlotCellRepository;
+
+    // Weekly masks of active services, by provider and service
+    private final Map<Long, Map<Long, long[]>> weeksByProvider = new HashMap<>();
+    private final Map<Long, Long> providerByService = new HashMap<>();
+
+    // Busy half hours by provider and date, from today on
+    private final Map<Long, TreeMap<LocalDate, Long>> busyByProvider = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Bookings do not go through the catalog, so their cells are loaded once here
+    @PostConstruct
+    public void init() {
+        List<Object[]> rows = bookingSlotCellRepository.findCellsFrom(LocalDate.now());
+        for (Object[] row : rows) {
+            hold((Long) row[0], (LocalDate) row[1], 1L << (Integer) row[2]);
+        }
+        logger.info("Provider calendar loaded {} upcoming booked half hours", rows.size());
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            weeksByProvider.clear();
+            providerByService.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        AvailabilitySlots slots = service.getAvailabilitySlots() != null
+            ? service.getAvailabilitySlots() : AvailabilitySlots.compile(service.getAvailability());
+        long[] week = slots.toArray();
+
+        lock.writeLock().lock();
+        try {
+            removeWeek(service.getId());
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())
+                    && service.getProvider() != null) {
+                Long providerId = service.getProvider().getId();
+                providerByService.put(service.getId(), providerId);
+                weeksByProvider.computeIfAbsent(providerId, id -> new HashMap<>()).put(service.getId(), week);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeWeek(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A live booking now holds the half hours of the mask
+    public void hold(Long providerId, LocalDate date, long cells) {
+        if (cells == 0 || date.isBefore(LocalDate.now())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            busyByProvider.computeIfAbsent(providerId, id -> new TreeMap<>()).merge(date, cells, (a, b) -> a | b);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The booking holding the half hours of the mask was cancelled
+    public void release(Long providerId, LocalDate date, long cells) {
+        lock.writeLock().lock();
+        try {
+            TreeMap<LocalDate, Long> days = busyByProvider.get(providerId);
+            Long busy = days != null ? days.get(date) : null;
+            if (busy == null) {
+                return;
+            }
+            // Cells are held by one booking at a time, so clearing them frees only this booking's
+            if ((busy & ~cells) == 0) {
+                days.remove(date);
+                if (days.isEmpty()) {
+                    busyByProvider.remove(providerId);
+                }
+            } else {
+                days.put(date, busy & ~cells);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Weekly template of the provider: one service's availability, or the union over all of
+     * their active services when serviceId is null. Null when there is no such active service.
+     */
+    public long[] week(Long providerId, Long serviceId) {
+        lock.readLock().lock();
+        try {
+            Map<Long, long[]> weeks = weeksByProvider.get(providerId);
+            if (weeks == null) {
+                return null;
+            }
+            if (serviceId != null) {
+                return weeks.get(serviceId);
+            }
+            long[] union = new long[7];
+            for (long[] week : weeks.values()) {
+                for (int d = 0; d < 7; d++) {
+                    union[d] |= week[d];
+                }
+            }
+            return union;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One-hour starts of the weekly template from..to that overlap no booking and have not passed
+    public List<BookingSlotDTO> freeSlots(Long providerId, long[] week, LocalDate from, LocalDate to) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingSlotDTO> slots = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            TreeMap<LocalDate, Long> days = busyByProvider.get(providerId);
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                Long busy = days != null ? days.get(date) : null;
+                for (LocalTime start : AvailabilitySlots.starts(week[date.getDayOfWeek().getValue() - 1], AvailabilitySlots.SLOTS_PER_BOOKING)) {
+                    if ((busy == null || (AvailabilitySlots.booking(start) & busy) == 0) && date.atTime(start).isAfter(now)) {
+                        slots.add(new BookingSlotDTO(date, start.toString()));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return slots;
+    }
+
+    // Days that have passed can no longer be booked
+    @Scheduled(cron = "0 5 0 * * *")
+    public void dropPastDays() {
+        LocalDate today = LocalDate.now();
+        lock.writeLock().lock();
+        try {
+            Iterator<TreeMap<LocalDate, Long>> providers = busyByProvider.values().iterator();
+            while (providers.hasNext()) {
+                TreeMap<LocalDate, Long> days = providers.next();
+                days.headMap(today).clear();
+                if (days.isEmpty()) {
+                    providers.remove();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeWeek(Long serviceId) {
+        Long providerId = providerByService.remove(serviceId);
+        if (providerId != null) {
+            Map<Long, long[]> weeks = weeksByProvider.get(providerId);
+            weeks.remove(serviceId);
+            if (weeks.isEmpty()) {
+                weeksByProvider.remove(providerId);
+            }
+        }
+    }
+}
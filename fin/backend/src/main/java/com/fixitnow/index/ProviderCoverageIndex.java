@@ -0,0 +1,258 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.geo.GeoMath;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.ServiceArea;
+import com.fixitnow.repository.ServiceAreaRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reverse lookup from a point to the providers whose service areas cover it.
+ *
+ * Every area is registered in the cells of a fixed 0.25 degree grid that its bounding box
+ * touches, so a lookup reads one cell's candidates and runs the exact circle or polygon test
+ * on those only. Categories come from the catalog: a provider matches a category while it
+ * has an active service in it.
+ */
+@Component
+public class ProviderCoverageIndex implements CatalogListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderCoverageIndex.class);
+
+    private static final double CELL_DEGREES = 0.25; // ~28 km; a 100 km circle spans ~8 x 8 cells
+    private static final int COLUMNS = (int) (360 / CELL_DEGREES);
+    private static final int ROWS = (int) (180 / CELL_DEGREES);
+
+    @Autowired
+    private ServiceAreaRepository serviceAreaRepository;
+
+    private final Map<Integer, List<Area>> cells = new HashMap<>();
+    private final Map<Long, List<Area>> areasByProvider = new HashMap<>();
+
+    // Category counts of each provider's active services, kept in step by the catalog
+    private final Map<Long, Offer> offers = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> categoriesByProvider = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Areas do not live in the services table, so they are loaded once here and then
+    // replaced per provider through setAreas
+    @PostConstruct
+    public void init() {
+        Map<Long, List<ServiceArea>> byProvider = new HashMap<>();
+        for (ServiceArea area : serviceAreaRepository.findAll()) {
+            byProvider.computeIfAbsent(area.getProviderId(), id -> new ArrayList<>()).add(area);
+        }
+        byProvider.forEach(this::setAreas);
+        logger.info("Provider coverage index loaded areas of {} providers", byProvider.size());
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            offers.clear();
+            categoriesByProvider.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            removeOffer(service.getId());
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())
+                    && service.getProvider() != null && service.getCategory() != null) {
+                Offer offer = new Offer(service.getProvider().getId(), service.getCategory().trim());
+                offers.put(service.getId(), offer);
+                categoriesByProvider.computeIfAbsent(offer.providerId, id -> new HashMap<>())
+                    .merge(offer.category, 1, Integer::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            removeOffer(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces every area of the provider; an empty list removes the provider from the index
+    public void setAreas(Long providerId, List<ServiceArea> areas) {
+        List<Area> compiled = new ArrayList<>(areas.size());
+        for (ServiceArea area : areas) {
+            compiled.add(new Area(providerId, area));
+        }
+        lock.writeLock().lock();
+        try {
+            List<Area> previous = areasByProvider.remove(providerId);
+            if (previous != null) {
+                for (Area area : previous) {
+                    forEachCell(area, key -> {
+                        List<Area> cell = cells.get(key);
+                        cell.remove(area);
+                        if (cell.isEmpty()) {
+                            cells.remove(key);
+                        }
+                    });
+                }
+            }
+            if (!compiled.isEmpty()) {
+                areasByProvider.put(providerId, compiled);
+                for (Area area : compiled) {
+                    forEachCell(area, key -> cells.computeIfAbsent(key, k -> new ArrayList<>()).add(area));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Providers with an area covering the point, optionally only those offering the category,
+     * ordered by the distance from the point to the center of their nearest covering area.
+     */
+    public List<Long> covering(double lat, double lng, String category) {
+        String wanted = category == null || category.isBlank() ? null : category.trim();
+        Map<Long, Double> distances = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            List<Area> candidates = cells.get(cellKey(row(lat), column(lng)));
+            if (candidates == null) {
+                return new ArrayList<>();
+            }
+            for (Area area : candidates) {
+                if (wanted != null && !offers(area.providerId, wanted)) {
+                    continue;
+                }
+                if (area.contains(lat, lng)) {
+                    distances.merge(area.providerId,
+                        GeoMath.distanceKm(lat, lng, area.centerLat, area.centerLng), Math::min);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> providerIds = new ArrayList<>(distances.keySet());
+        providerIds.sort(Comparator.comparingDouble((Long id) -> distances.get(id)).thenComparing(id -> id));
+        return providerIds;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return areasByProvider.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean offers(Long providerId, String category) {
+        Map<String, Integer> categories = categoriesByProvider.get(providerId);
+        return categories != null && categories.containsKey(category);
+    }
+
+    private void removeOffer(Long serviceId) {
+        Offer previous = offers.remove(serviceId);
+        if (previous != null) {
+            Map<String, Integer> categories = categoriesByProvider.get(previous.providerId);
+            if (categories.merge(previous.category, -1, Integer::sum) <= 0) {
+                categories.remove(previous.category);
+            }
+            if (categories.isEmpty()) {
+                categoriesByProvider.remove(previous.providerId);
+            }
+        }
+    }
+
+    // Cells under the area's bounding box; boxes with minLng > maxLng wrap the antimeridian
+    private static void forEachCell(Area area, IntConsumer action) {
+        int left = column(area.minLng);
+        int right = column(area.maxLng);
+        int columns = left <= right ? right - left + 1 : COLUMNS - left + right + 1;
+        for (int n = 0, x = left; n < columns; n++, x = (x + 1) % COLUMNS) {
+            for (int y = row(area.minLat); y <= row(area.maxLat); y++) {
+                action.accept(cellKey(y, x));
+            }
+        }
+    }
+
+    private static int cellKey(int row, int column) {
+        return row * COLUMNS + column;
+    }
+
+    private static int row(double lat) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((lat + 90) / CELL_DEGREES)));
+    }
+
+    private static int column(double lng) {
+        return Math.max(0, Math.min(COLUMNS - 1, (int) Math.floor((lng + 180) / CELL_DEGREES)));
+    }
+
+    // Geometry copied out of the entity so the test needs no parsing
+    private static final class Area {
+        final long providerId;
+        final boolean circle;
+        final double centerLat;
+        final double centerLng;
+        final double radiusKm;
+        final double[] vertices;
+        final double minLat;
+        final double maxLat;
+        final double minLng;
+        final double maxLng;
+
+        Area(long providerId, ServiceArea area) {
+            this.providerId = providerId;
+            this.circle = area.getShape() == ServiceArea.Shape.CIRCLE;
+            double[] center = area.center();
+            this.centerLat = center[0];
+            this.centerLng = center[1];
+            this.radiusKm = circle ? area.getRadiusKm() : 0;
+            this.vertices = area.vertexArray();
+            double[] bounds = area.bounds();
+            this.minLat = bounds[0];
+            this.maxLat = bounds[1];
+            this.minLng = bounds[2];
+            this.maxLng = bounds[3];
+        }
+
+        boolean contains(double lat, double lng) {
+            return circle
+                ? GeoMath.distanceKm(centerLat, centerLng, lat, lng) <= radiusKm
+                : GeoMath.inPolygon(lat, lng, vertices);
+        }
+    }
+
+    private static final class Offer {
+        final long providerId;
+        final String category;
+
+        Offer(long providerId, String category) {
+            this.providerId = providerId;
+            this.category = category;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.fixitnow.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.model.AvailabilitySlots;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.AvailabilityQuery;
+import com.fixitnow.repository.ServiceRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Weekly availability bitmaps of active services, seven longs per service in one flat array
+ * indexed by a dense slot. An "available at" filter is a scan of AND/compare operations over
+ * that array, with no JSON parsing and no query.
+ */
+@Component
+public class ServiceAvailabilityIndex implements CatalogListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceAvailabilityIndex.class);
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    // Slot s holds its week in bits[s * 7 .. s * 7 + 6]; ids[s] is 0 for a free slot
+    private long[] bits = new long[INITIAL_CAPACITY * 7];
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private final Map<Long, Integer> slotByService = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Runs before the catalog rebuild, so every row reaching the index is already compiled
+    @PostConstruct
+    public void init() {
+        List<Object[]> rows = serviceRepository.findUncompiledAvailability();
+        for (Object[] row : rows) {
+            long[] week = AvailabilitySlots.compile((String) row[1]).toArray();
+            serviceRepository.assignAvailabilitySlots((Long) row[0],
+                week[0], week[1], week[2], week[3], week[4], week[5], week[6]);
+        }
+        if (!rows.isEmpty()) {
+            logger.info("Availability backfill compiled {} services", rows.size());
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bits = new long[INITIAL_CAPACITY * 7];
+            ids = new long[INITIAL_CAPACITY];
+            slotByService.clear();
+            freeSlots.clear();
+            nextSlot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        // Rows inserted outside JPA may arrive without the compiled columns
+        AvailabilitySlots slots = service.getAvailabilitySlots() != null
+            ? service.getAvailabilitySlots() : AvailabilitySlots.compile(service.getAvailability());
+        long[] week = slots.toArray();
+
+        lock.writeLock().lock();
+        try {
+            if (!Boolean.TRUE.equals(service.getIsActive()) || Boolean.TRUE.equals(service.getIsDeleted())) {
+                release(service.getId());
+                return;
+            }
+            int slot = slotByService.computeIfAbsent(service.getId(), id -> allocate());
+            ids[slot] = service.getId();
+            System.arraycopy(week, 0, bits, slot * 7, 7);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            release(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of active services whose week satisfies the query, or null once more than limit match
+    public List<Long> matching(AvailabilityQuery query, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>();
+            for (int slot = 0; slot < nextSlot; slot++) {
+                if (ids[slot] != 0 && query.matches(bits, slot * 7)) {
+                    if (result.size() == limit) {
+                        return null;
+                    }
+                    result.add(ids[slot]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (nextSlot == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            bits = Arrays.copyOf(bits, ids.length * 7);
+        }
+        return nextSlot++;
+    }
+
+    private void release(Long serviceId) {
+        Integer slot = slotByService.remove(serviceId);
+        if (slot == null) {
+            return;
+        }
+        ids[slot] = 0;
+        Arrays.fill(bits, slot * 7, slot * 7 + 7, 0L);
+        freeSlots.push(slot);
+    }
+}
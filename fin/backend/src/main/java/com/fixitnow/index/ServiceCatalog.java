@@ -0,0 +1,167 @@
+package com.fixitnow.index;
+
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.ServiceRepository;
+
+/**
+ * Single entry point for keeping the in-memory service indexes in sync with the database.
+ * Every code path that writes a service row must report it here after the save/delete.
+ * Reported inside a transaction, the change reaches the indexes once the transaction has
+ * committed, and not at all if it rolls back.
+ */
+@Component
+public class ServiceCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceCatalog.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private List<CatalogListener> listeners;
+
+    private volatile boolean ready = false;
+
+    // Bumped on every catalog write; caches compare against it to know when to reload
+    private final AtomicLong version = new AtomicLong();
+
+    // Bumped when provider data embedded in service responses changes (profile, verification, rating)
+    private final AtomicLong providerVersion = new AtomicLong();
+
+    // Identifies this process in the ETags: the counters above restart at 0 on every boot and differ
+    // between instances, so a tag issued by another process must never match by accident
+    private final String epoch = Long.toHexString(new SecureRandom().nextLong());
+
+    // Service.version of every indexed row, so conditional GETs are answered without a query
+    private final Map<Long, Long> serviceVersions = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Reload every index from the database in fixed-size pages
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        listeners.forEach(CatalogListener::clear);
+        serviceVersions.clear();
+
+        int loaded = 0;
+        Page<Service> page = serviceRepository.findAll(
+            PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by(Sort.Direction.ASC, "id")));
+        while (true) {
+            for (Service service : page.getContent()) {
+                listeners.forEach(listener -> listener.onServiceSaved(service));
+                serviceVersions.put(service.getId(), versionOf(service));
+            }
+            loaded += page.getNumberOfElements();
+            if (!page.hasNext()) {
+                break;
+            }
+            page = serviceRepository.findAll(page.nextPageable());
+        }
+
+        version.incrementAndGet();
+        ready = true;
+        logger.info("Service catalog indexed {} services in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    public void serviceSaved(Service service) {
+        if (service == null || service.getId() == null) {
+            return;
+        }
+        afterCommit(() -> saved(service));
+    }
+
+    public void serviceRemoved(Long serviceId) {
+        if (serviceId == null) {
+            return;
+        }
+        afterCommit(() -> removed(serviceId));
+    }
+
+    private synchronized void saved(Service service) {
+        listeners.forEach(listener -> listener.onServiceSaved(service));
+        serviceVersions.put(service.getId(), versionOf(service));
+        version.incrementAndGet();
+    }
+
+    private synchronized void removed(Long serviceId) {
+        listeners.forEach(listener -> listener.onServiceRemoved(serviceId));
+        serviceVersions.remove(serviceId);
+        version.incrementAndGet();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    // A provider's profile, verification or rating changed: cards and detail pages embed them
+    public void providerChanged() {
+        providerVersion.incrementAndGet();
+        version.incrementAndGet();
+    }
+
+    // False until the startup rebuild has finished; callers fall back to the database meanwhile
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // ETag of the catalog reads (listings, map, facets, histogram)
+    public String getCatalogEtag() {
+        return "catalog-" + epoch + "-" + version.get();
+    }
+
+    // ETag of GET /services/{id} from the indexed version; null when the service is not indexed
+    public String getServiceEtag(Long serviceId) {
+        Long serviceVersion = serviceVersions.get(serviceId);
+        return serviceVersion == null ? null : serviceEtag(serviceId, serviceVersion);
+    }
+
+    // ETag of a service just loaded from the database
+    public String getServiceEtag(Service service) {
+        return serviceEtag(service.getId(), versionOf(service));
+    }
+
+    private String serviceEtag(Long serviceId, long serviceVersion) {
+        return "service-" + serviceId + "-" + serviceVersion + "-" + epoch + "-" + providerVersion.get();
+    }
+
+    private static long versionOf(Service service) {
+        return service.getVersion() == null ? 0 : service.getVersion();
+    }
+}
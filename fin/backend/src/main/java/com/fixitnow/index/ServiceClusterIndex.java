@@ -0,0 +1,219 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.MapClusterDTO;
+import com.fixitnow.geo.GeoMath;
+import com.fixitnow.model.Service;
+
+/**
+ * Map marker clusters for every zoom level, kept as running aggregates per grid cell.
+ *
+ * Level z is a Web Mercator grid of 2^(z + 2) x 2^(z + 2) cells, i.e. 64 px squares of the
+ * 256 px map tiles at that zoom. Each active geocoded service counts in exactly one cell per
+ * level, so a write touches one cell per level and a viewport query reads at most the cells
+ * that fit on screen, however many services the catalog holds.
+ */
+@Component
+public class ServiceClusterIndex implements CatalogListener {
+
+    public static final int MAX_ZOOM = 16; // deeper zooms reuse level 16 (~150 m cells)
+    private static final int CELLS_PER_TILE_BITS = 2;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, Cell>[] levels = new Map[MAX_ZOOM + 1];
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ServiceClusterIndex() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels[zoom] = new HashMap<>();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (Map<Long, Cell> level : levels) {
+                level.clear();
+            }
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            remove(service.getId());
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())
+                    && GeoMath.isValid(service.getLatitude(), service.getLongitude())) {
+                Entry entry = new Entry(service.getId(), service.getLatitude(), service.getLongitude(),
+                    service.getCategory() == null ? "" : service.getCategory().trim());
+                entries.put(service.getId(), entry);
+                for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                    add(levels[zoom], zoom, entry, 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Clusters of the level for this zoom whose cells overlap the box; minLng > maxLng wraps
+    public List<MapClusterDTO> clusters(double minLat, double maxLat, double minLng, double maxLng, int zoom) {
+        int level = level(zoom);
+        long size = 1L << (level + CELLS_PER_TILE_BITS);
+        long top = row(maxLat, size);
+        long bottom = row(minLat, size);
+        long left = column(minLng, size);
+        long right = column(maxLng, size);
+        boolean wraps = minLng > maxLng;
+        long columns = wraps ? size - left + right + 1 : right - left + 1;
+
+        List<MapClusterDTO> clusters = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Cell> cells = levels[level];
+            if (columns * (bottom - top + 1) <= cells.size()) {
+                // Viewport smaller than the populated grid: look up each visible cell
+                for (long x = left, n = 0; n < columns; x = (x + 1) % size, n++) {
+                    for (long y = top; y <= bottom; y++) {
+                        Cell cell = cells.get(x * size + y);
+                        if (cell != null) {
+                            clusters.add(cell.toDTO());
+                        }
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, Cell> cell : cells.entrySet()) {
+                    long x = cell.getKey() / size;
+                    long y = cell.getKey() % size;
+                    boolean inColumns = wraps ? x >= left || x <= right : x >= left && x <= right;
+                    if (inColumns && y >= top && y <= bottom) {
+                        clusters.add(cell.getValue().toDTO());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return clusters;
+    }
+
+    // Same aggregation over services loaded from the database, used while the index warms up
+    public static List<MapClusterDTO> clusterAll(List<Service> services, int zoom) {
+        int level = level(zoom);
+        Map<Long, Cell> cells = new HashMap<>();
+        for (Service service : services) {
+            if (GeoMath.isValid(service.getLatitude(), service.getLongitude())) {
+                add(cells, level, new Entry(service.getId(), service.getLatitude(), service.getLongitude(),
+                    service.getCategory() == null ? "" : service.getCategory().trim()), 1);
+            }
+        }
+        List<MapClusterDTO> clusters = new ArrayList<>(cells.size());
+        for (Cell cell : cells.values()) {
+            clusters.add(cell.toDTO());
+        }
+        return clusters;
+    }
+
+    private void remove(Long serviceId) {
+        Entry previous = entries.remove(serviceId);
+        if (previous != null) {
+            for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+                add(levels[zoom], zoom, previous, -1);
+            }
+        }
+    }
+
+    // Adds (sign 1) or subtracts (sign -1) a service from its cell at the level
+    private static void add(Map<Long, Cell> cells, int level, Entry entry, int sign) {
+        long size = 1L << (level + CELLS_PER_TILE_BITS);
+        long key = column(entry.lng, size) * size + row(entry.lat, size);
+        Cell cell = cells.computeIfAbsent(key, k -> new Cell());
+        cell.count += sign;
+        cell.latSum += sign * entry.lat;
+        cell.lngSum += sign * entry.lng;
+        cell.idSum += sign * entry.id;
+        cell.categories.merge(entry.category, sign, Integer::sum);
+        if (cell.categories.get(entry.category) <= 0) {
+            cell.categories.remove(entry.category);
+        }
+        if (cell.count <= 0) {
+            cells.remove(key);
+        }
+    }
+
+    private static int level(int zoom) {
+        return Math.max(0, Math.min(MAX_ZOOM, zoom));
+    }
+
+    private static long column(double lng, long size) {
+        return Math.max(0, Math.min(size - 1, (long) Math.floor((lng + 180) / 360 * size)));
+    }
+
+    // Web Mercator row, 0 at the top
+    private static long row(double lat, long size) {
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double sin = Math.sin(Math.toRadians(clamped));
+        double y = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+        return Math.max(0, Math.min(size - 1, (long) Math.floor(y * size)));
+    }
+
+    private static final class Entry {
+        final long id;
+        final double lat;
+        final double lng;
+        final String category;
+
+        Entry(long id, double lat, double lng, String category) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.category = category;
+        }
+    }
+
+    private static final class Cell {
+        int count;
+        double latSum;
+        double lngSum;
+        long idSum; // equals the service id while the cell holds a single service
+        final Map<String, Integer> categories = new HashMap<>();
+
+        MapClusterDTO toDTO() {
+            String top = null;
+            int topCount = 0;
+            for (Map.Entry<String, Integer> category : categories.entrySet()) {
+                if (category.getValue() > topCount
+                        || (category.getValue() == topCount && category.getKey().compareTo(top) < 0)) {
+                    top = category.getKey();
+                    topCount = category.getValue();
+                }
+            }
+            return new MapClusterDTO(latSum / count, lngSum / count, count, top, count == 1 ? idSum : null);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.ServiceFacetsDTO;
+import com.fixitnow.dto.ServiceFacetsDTO.CategoryFacet;
+import com.fixitnow.dto.ServiceFacetsDTO.FacetCount;
+import com.fixitnow.model.Service;
+
+/**
+ * Facet counts (category -> subcategory, location bucket) over active services.
+ *
+ * Unfiltered counts are maintained incrementally on every write; filtered counts are
+ * computed in a single pass over the in-memory entries.
+ */
+@Component
+public class ServiceFacetIndex implements CatalogListener {
+
+    @Autowired
+    private LocalityDictionary localityDictionary;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Tally totals = new Tally();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            totals.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            remove(service.getId());
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())) {
+                Entry entry = new Entry(service.getCategory(), service.getSubcategory(), service.getLocation(),
+                    service.getCityId(), service.getLocalityId());
+                entries.put(service.getId(), entry);
+                totals.add(entry, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Facets for the services matching the filter. {@code ids} restricts to search results
+     * (null means no keyword search).
+     */
+    public ServiceFacetsDTO facets(String category, String subcategory, String location, Set<Long> ids) {
+        lock.readLock().lock();
+        try {
+            if (isBlank(category) && isBlank(subcategory) && isBlank(location) && ids == null) {
+                return totals.toDTO();
+            }
+            // Same resolution as the listing filter: area ids when known, substring otherwise
+            LocalityDictionary.Match area = localityDictionary.resolve(location);
+            String locationNeedle = isBlank(location) || area != null ? null : location.toLowerCase(Locale.ROOT);
+            Tally tally = new Tally();
+            if (ids != null) {
+                for (Long id : ids) {
+                    Entry entry = entries.get(id);
+                    if (entry != null && entry.matches(category, subcategory, area, locationNeedle)) {
+                        tally.add(entry, 1);
+                    }
+                }
+            } else {
+                for (Entry entry : entries.values()) {
+                    if (entry.matches(category, subcategory, area, locationNeedle)) {
+                        tally.add(entry, 1);
+                    }
+                }
+            }
+            return tally.toDTO();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Facets from (category, subcategory, location, count) rows, used while the index is warming up
+    public static ServiceFacetsDTO fromGroupedCounts(List<Object[]> rows) {
+        Tally tally = new Tally();
+        for (Object[] row : rows) {
+            tally.add(new Entry((String) row[0], (String) row[1], (String) row[2], null, null), ((Number) row[3]).longValue());
+        }
+        return tally.toDTO();
+    }
+
+    // "Connaught Place, Delhi" -> "Delhi": the last comma-separated part is the city
+    public static String locationBucket(String location) {
+        if (isBlank(location)) {
+            return null;
+        }
+        String[] parts = location.split(",");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            if (!parts[i].trim().isEmpty()) {
+                return parts[i].trim();
+            }
+        }
+        return null;
+    }
+
+    private void remove(Long serviceId) {
+        Entry previous = entries.remove(serviceId);
+        if (previous != null) {
+            totals.add(previous, -1);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static final class Entry {
+        final String category;
+        final String subcategory;
+        final String locationLower;
+        final String locationBucket;
+        final Long cityId;
+        final Long localityId;
+
+        Entry(String category, String subcategory, String location, Long cityId, Long localityId) {
+            this.category = category;
+            this.subcategory = subcategory;
+            this.cityId = cityId;
+            this.localityId = localityId;
+            this.locationLower = location == null ? "" : location.toLowerCase(Locale.ROOT);
+            this.locationBucket = locationBucket(location);
+        }
+
+        // Same semantics as the ServiceFilter predicates in ServiceRepositoryImpl
+        boolean matches(String category, String subcategory, LocalityDictionary.Match area, String locationNeedle) {
+            return (isBlank(category) || category.equals(this.category))
+                && (isBlank(subcategory) || subcategory.equals(this.subcategory))
+                && (area == null || (area.getCityId().equals(cityId)
+                    && (area.getLocalityId() == null || area.getLocalityId().equals(localityId))))
+                && (locationNeedle == null || locationLower.contains(locationNeedle));
+        }
+    }
+
+    private static final class Tally {
+        long total;
+        final Map<String, Long> categories = new TreeMap<>();
+        final Map<String, Map<String, Long>> subcategories = new TreeMap<>();
+        final Map<String, Long> locations = new TreeMap<>();
+
+        void clear() {
+            total = 0;
+            categories.clear();
+            subcategories.clear();
+            locations.clear();
+        }
+
+        void add(Entry entry, long delta) {
+            total += delta;
+            String category = entry.category == null ? "" : entry.category;
+            adjust(categories, category, delta);
+            if (entry.subcategory != null) {
+                Map<String, Long> subs = subcategories.computeIfAbsent(category, c -> new TreeMap<>());
+                adjust(subs, entry.subcategory, delta);
+                if (subs.isEmpty()) {
+                    subcategories.remove(category);
+                }
+            }
+            if (entry.locationBucket != null) {
+                adjust(locations, entry.locationBucket, delta);
+            }
+        }
+
+        private static void adjust(Map<String, Long> counts, String key, long delta) {
+            long updated = counts.getOrDefault(key, 0L) + delta;
+            if (updated <= 0) {
+                counts.remove(key);
+            } else {
+                counts.put(key, updated);
+            }
+        }
+
+        ServiceFacetsDTO toDTO() {
+            List<CategoryFacet> categoryFacets = new ArrayList<>();
+            categories.forEach((category, count) -> {
+                List<FacetCount> subs = new ArrayList<>();
+                subcategories.getOrDefault(category, Map.of())
+                    .forEach((subcategory, subCount) -> subs.add(new FacetCount(subcategory, subCount)));
+                categoryFacets.add(new CategoryFacet(category, count, subs));
+            });
+            List<FacetCount> locationFacets = new ArrayList<>();
+            locations.forEach((bucket, count) -> locationFacets.add(new FacetCount(bucket, count)));
+            return new ServiceFacetsDTO(total, categoryFacets, locationFacets);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.fixitnow.index;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.ServiceCardDTO;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.ServiceFilter;
+import com.fixitnow.repository.ServiceRepository;
+
+/**
+ * Caches the id lists of filtered service card pages, keyed on the normalized
+ * (category, subcategory, area, sort, page, size) tuple. Locations are keyed by their
+ * resolved city/locality, so "CP" and "Connaught Place, Delhi" share an entry.
+ *
+ * Bounded by entry count (LRU) and TTL. A service write only evicts entries for its old and
+ * new category plus the all-categories entries. A hit costs one primary-key lookup instead of
+ * the filter query and its COUNT.
+ */
+@Component
+public class ServiceFilterCache implements CatalogListener {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private LocalityDictionary localityDictionary;
+
+    @Value("${app.cache.service-filter.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.cache.service-filter.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<Key, CachedPage> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, String> categoryByService = new HashMap<>();
+    private long writes = 0; // guarded by entries
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public Page<ServiceCardDTO> findByFilterCriteria(String category, String subcategory, String location, Pageable pageable) {
+        ServiceFilter filter = localityDictionary.narrow(
+            ServiceFilter.publicListing(normalize(category), normalize(subcategory), normalize(location)));
+        Key key = new Key(filter, pageable.getSort().toString(), pageable.getPageNumber(), pageable.getPageSize());
+
+        CachedPage cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return new PageImpl<>(serviceRepository.findCardsByIds(cached.ids), pageable, cached.total);
+        }
+
+        misses.incrementAndGet();
+        long writesBefore = currentWrites();
+        Page<ServiceCardDTO> page = serviceRepository.findCards(filter, pageable);
+        List<Long> ids = page.getContent().stream().map(ServiceCardDTO::getId).collect(Collectors.toList());
+        store(key, new CachedPage(ids, page.getTotalElements()), writesBefore);
+        return page;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        long lookups = hits.get() + misses.get();
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits.get() / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            categoryByService.clear();
+            writes++;
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        synchronized (entries) {
+            String previous = categoryByService.put(service.getId(), normalize(service.getCategory()));
+            invalidate(previous);
+            invalidate(normalize(service.getCategory()));
+            writes++;
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        synchronized (entries) {
+            invalidate(categoryByService.remove(serviceId));
+            writes++;
+        }
+    }
+
+    private CachedPage lookup(Key key) {
+        synchronized (entries) {
+            CachedPage cached = entries.get(key);
+            if (cached != null && System.nanoTime() - cached.storedAt > ttlSeconds * 1_000_000_000L) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private long currentWrites() {
+        synchronized (entries) {
+            return writes;
+        }
+    }
+
+    private void store(Key key, CachedPage page, long writesBefore) {
+        synchronized (entries) {
+            // A write landed while we were querying; the result may already be stale
+            if (writes != writesBefore) {
+                return;
+            }
+            entries.put(key, page);
+            while (entries.size() > maxEntries) {
+                Iterator<Key> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // Drop entries filtered on this category and the unfiltered (all categories) entries. A
+    // case-insensitive store matches "plumbing" to a "Plumbing" row, so every case goes.
+    private void invalidate(String category) {
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            Key key = keys.next();
+            if (key.category == null || fold(key.category).equals(fold(category))) {
+                keys.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    private static String fold(String category) {
+        return category == null ? null : category.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Key {
+        final String category; // as queried: whether case matters is up to the store's collation
+        final String subcategory;
+        final String location; // only set when the dictionary could not resolve it
+        final Long cityId;
+        final Long localityId;
+        final String sort;
+        final int page;
+        final int size;
+
+        Key(ServiceFilter filter, String sort, int page, int size) {
+            this.category = filter.getCategory();
+            this.subcategory = filter.getSubcategory();
+            this.location = filter.getLocation();
+            this.cityId = filter.getCityId();
+            this.localityId = filter.getLocalityId();
+            this.sort = sort;
+            this.page = page;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return page == other.page && size == other.size
+                && Objects.equals(category, other.category)
+                && Objects.equals(subcategory, other.subcategory)
+                && Objects.equals(location, other.location)
+                && Objects.equals(cityId, other.cityId)
+                && Objects.equals(localityId, other.localityId)
+                && Objects.equals(sort, other.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, subcategory, location, cityId, localityId, sort, page, size);
+        }
+    }
+
+    private static final class CachedPage {
+        final List<Long> ids;
+        final long total;
+        final long storedAt = System.nanoTime();
+
+        CachedPage(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.fixitnow.index;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.PriceHistogramDTO;
+import com.fixitnow.model.Service;
+
+/**
+ * Active service prices kept sorted per category (and across all categories), so a price
+ * range is two binary searches: counts, id lists and histogram buckets need no query.
+ *
+ * Prices are stored as whole paise in parallel primitive arrays sorted by (price, id).
+ */
+@Component
+public class ServicePriceIndex implements CatalogListener {
+
+    public static final int MAX_BUCKETS = 50;
+
+    private final PriceList all = new PriceList();
+    private final Map<String, PriceList> byCategory = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            byCategory.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            remove(service.getId());
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())
+                    && service.getPrice() != null) {
+                Entry entry = new Entry(categoryKey(service.getCategory()), toPaise(service.getPrice()));
+                entries.put(service.getId(), entry);
+                all.insert(entry.paise, service.getId());
+                byCategory.computeIfAbsent(entry.category, c -> new PriceList()).insert(entry.paise, service.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Active services in the category (null for all) priced within [min, max]; null bounds are open
+    public int count(String category, BigDecimal min, BigDecimal max) {
+        lock.readLock().lock();
+        try {
+            PriceList prices = prices(category);
+            return prices == null ? 0 : Math.max(0, prices.upperBound(max) - prices.lowerBound(min));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the same range, cheapest first
+    public List<Long> ids(String category, BigDecimal min, BigDecimal max) {
+        lock.readLock().lock();
+        try {
+            PriceList prices = prices(category);
+            if (prices == null) {
+                return List.of();
+            }
+            int from = prices.lowerBound(min);
+            int to = prices.upperBound(max);
+            List<Long> ids = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                ids.add(prices.ids[i]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PriceHistogramDTO histogram(String category, BigDecimal min, BigDecimal max, int buckets) {
+        lock.readLock().lock();
+        try {
+            PriceList prices = prices(category);
+            if (prices == null) {
+                return new PriceHistogramDTO(0, null, null, List.of());
+            }
+            return histogram(prices.paise, prices.lowerBound(min), prices.upperBound(max), buckets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Histogram from prices already sorted ascending, used while the index is warming up
+    public static PriceHistogramDTO fromSortedPrices(List<BigDecimal> prices, int buckets) {
+        long[] paise = new long[prices.size()];
+        for (int i = 0; i < paise.length; i++) {
+            paise[i] = toPaise(prices.get(i));
+        }
+        return histogram(paise, 0, paise.length, buckets);
+    }
+
+    // Equal-width buckets over the sorted slice [from, to); each count is one binary search.
+    // The width is rounded up to 1, 2 or 5 x 10^n paise so boundaries read like 0-500, 500-1000.
+    private static PriceHistogramDTO histogram(long[] paise, int from, int to, int buckets) {
+        if (to <= from) {
+            return new PriceHistogramDTO(0, null, null, List.of());
+        }
+        buckets = Math.max(1, Math.min(MAX_BUCKETS, buckets));
+        long low = paise[from];
+        long high = paise[to - 1];
+        long width = niceWidth((high - low + buckets) / buckets); // at least ceil((high - low + 1) / buckets)
+        long bucketFrom = low / width * width;
+
+        List<PriceHistogramDTO.Bucket> result = new ArrayList<>(buckets + 1);
+        int start = from;
+        while (start < to) {
+            long bucketTo = bucketFrom + width;
+            int end = lowerBound(paise, start, to, bucketTo);
+            result.add(new PriceHistogramDTO.Bucket(fromPaise(bucketFrom), fromPaise(bucketTo), end - start));
+            start = end;
+            bucketFrom = bucketTo;
+        }
+        return new PriceHistogramDTO(to - from, fromPaise(low), fromPaise(high), result);
+    }
+
+    private static long niceWidth(long raw) {
+        long magnitude = 1;
+        while (true) {
+            for (long step : new long[] {1, 2, 5}) {
+                if (step * magnitude >= raw) {
+                    return step * magnitude;
+                }
+            }
+            magnitude *= 10;
+        }
+    }
+
+    private PriceList prices(String category) {
+        return category == null || category.trim().isEmpty() ? all : byCategory.get(categoryKey(category));
+    }
+
+    private void remove(Long serviceId) {
+        Entry previous = entries.remove(serviceId);
+        if (previous == null) {
+            return;
+        }
+        all.remove(previous.paise, serviceId);
+        PriceList prices = byCategory.get(previous.category);
+        if (prices != null) {
+            prices.remove(previous.paise, serviceId);
+            if (prices.size == 0) {
+                byCategory.remove(previous.category);
+            }
+        }
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim();
+    }
+
+    // Price columns are DECIMAL(10,2), so paise are exact
+    private static long toPaise(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromPaise(long paise) {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    // First index in [from, to) whose price is >= paise
+    private static int lowerBound(long[] paise, int from, int to, long value) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (paise[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Entry {
+        final String category;
+        final long paise;
+
+        Entry(String category, long paise) {
+            this.category = category;
+            this.paise = paise;
+        }
+    }
+
+    // Parallel arrays sorted by (paise, id); writes shift the tail with System.arraycopy
+    private static final class PriceList {
+        long[] paise = new long[16];
+        long[] ids = new long[16];
+        int size = 0;
+
+        void clear() {
+            paise = new long[16];
+            ids = new long[16];
+            size = 0;
+        }
+
+        void insert(long price, long id) {
+            if (size == paise.length) {
+                paise = Arrays.copyOf(paise, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            int at = position(price, id);
+            System.arraycopy(paise, at, paise, at + 1, size - at);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            paise[at] = price;
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(long price, long id) {
+            int at = position(price, id);
+            if (at < size && paise[at] == price && ids[at] == id) {
+                System.arraycopy(paise, at + 1, paise, at, size - at - 1);
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // Index of the first (price, id) pair >= the given one
+        int position(long price, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (paise[mid] < price || (paise[mid] == price && ids[mid] < id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int lowerBound(BigDecimal min) {
+            return min == null ? 0 : ServicePriceIndex.lowerBound(paise, 0, size, toPaise(min));
+        }
+
+        // One past the last index priced <= max
+        int upperBound(BigDecimal max) {
+            return max == null ? size : ServicePriceIndex.lowerBound(paise, 0, size, toPaise(max) + 1);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.model.Service;
+
+/**
+ * Inverted index (term -> service id -> weighted term frequency) over title, description,
+ * category and subcategory of every active service.
+ *
+ * Query terms are matched as prefixes of indexed terms, so "plumb" finds "plumbing".
+ * {@link #rank} orders matches by BM25, with title and category hits counting more than
+ * description hits, scaled by the precomputed {@link ServiceSignals} boost.
+ */
+@Component
+public class ServiceSearchIndex implements CatalogListener {
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Term frequency weight per field
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    @Autowired
+    private ServiceSignals serviceSignals;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByService = new HashMap<>();
+    private final Map<Long, Integer> lengthByService = new HashMap<>();
+    private long totalLength = 0;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByService.clear();
+            lengthByService.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            unindex(service.getId());
+            if (!isSearchable(service)) {
+                return;
+            }
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = countTerms(frequencies, service.getTitle(), TITLE_WEIGHT)
+                + countTerms(frequencies, service.getCategory(), CATEGORY_WEIGHT)
+                + countTerms(frequencies, service.getSubcategory(), CATEGORY_WEIGHT)
+                + countTerms(frequencies, service.getDescription(), DESCRIPTION_WEIGHT);
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new HashMap<>()).put(service.getId(), entry.getValue());
+            }
+            termsByService.put(service.getId(), new HashSet<>(frequencies.keySet()));
+            lengthByService.put(service.getId(), length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            unindex(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of active services matching every term of the query.
+     * Returns null when the query has no indexable terms and the caller should use the database.
+     */
+    public Set<Long> search(String query) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+                Set<Long> matches = new HashSet<>();
+                for (Map<Long, Integer> docs : prefixRange(queryTerm).values()) {
+                    if (result == null) {
+                        matches.addAll(docs.keySet());
+                    } else {
+                        // Only keep ids that survived the previous terms
+                        for (Long id : docs.keySet()) {
+                            if (result.contains(id)) {
+                                matches.add(id);
+                            }
+                        }
+                    }
+                }
+                result = matches;
+                if (result.isEmpty()) {
+                    return Collections.emptySet();
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of active services matching every query term, best match first.
+     * Returns null when the query has no indexable terms and the caller should use the database.
+     */
+    public List<Long> rank(String query) {
+        Map<Long, Double> scores = score(query);
+        if (scores == null) {
+            return null;
+        }
+        serviceSignals.applyBoosts(scores, System.currentTimeMillis() / 1000);
+        List<Long> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparing((Long id) -> scores.get(id)).reversed()
+            .thenComparing(Comparator.reverseOrder()));
+        return ranked;
+    }
+
+    // BM25 text score of every service matching all query terms
+    private Map<Long, Double> score(String query) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            int documents = lengthByService.size();
+            double averageLength = documents == 0 ? 1 : (double) totalLength / documents;
+            Map<Long, Double> scores = null;
+            for (String queryTerm : new LinkedHashSet<>(queryTerms)) {
+                // A prefix can expand to several indexed terms; a service keeps its best one
+                Map<Long, Double> termScores = new HashMap<>();
+                for (Map<Long, Integer> docs : prefixRange(queryTerm).values()) {
+                    double idf = Math.log(1 + (documents - docs.size() + 0.5) / (docs.size() + 0.5));
+                    for (Map.Entry<Long, Integer> doc : docs.entrySet()) {
+                        if (scores != null && !scores.containsKey(doc.getKey())) {
+                            continue;
+                        }
+                        double tf = doc.getValue();
+                        double norm = 1 - B + B * lengthByService.get(doc.getKey()) / averageLength;
+                        double termScore = idf * tf * (K1 + 1) / (tf + K1 * norm);
+                        termScores.merge(doc.getKey(), termScore, Math::max);
+                    }
+                }
+                if (scores != null) {
+                    Map<Long, Double> previous = scores;
+                    termScores.replaceAll((id, termScore) -> termScore + previous.get(id));
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    return scores;
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<String, Map<Long, Integer>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static int countTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void unindex(Long serviceId) {
+        Set<String> terms = termsByService.remove(serviceId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(serviceId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = lengthByService.remove(serviceId);
+        if (length != null) {
+            totalLength -= length;
+        }
+    }
+
+    private boolean isSearchable(Service service) {
+        return Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted());
+    }
+}
@@ -0,0 +1,231 @@
+package com.fixitnow.index;
+
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.ReviewRepository;
+
+/**
+ * Per-service quality signals used to boost search relevance: the provider's average rating,
+ * the service's completed bookings and its age. Values live in parallel primitive arrays
+ * indexed by a dense slot per active service, so ranking reads them without any query.
+ *
+ * Loaded once on catalog rebuild, then kept current from review and booking writes.
+ */
+@Component
+public class ServiceSignals implements CatalogListener {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    // Boost weights on top of the text score (a service with every signal maxed scores 1.7x)
+    private static final double RATING_WEIGHT = 0.3;
+    private static final double BOOKINGS_WEIGHT = 0.2;
+    private static final double RECENCY_WEIGHT = 0.2;
+    private static final double BOOKINGS_SATURATION = Math.log1p(50);
+    private static final double RECENCY_HALF_LIFE_DAYS = 60;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // Slot-indexed signal arrays
+    private float[] rating = new float[INITIAL_CAPACITY];
+    private int[] completed = new int[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY]; // epoch seconds, 0 when unknown
+
+    private final Map<Long, Integer> slotByService = new HashMap<>();
+    private final Map<Long, Long> providerByService = new HashMap<>();
+    private final Map<Long, Set<Integer>> slotsByProvider = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot = 0;
+
+    // Running totals the arrays are derived from; they also cover inactive services
+    private final Map<Long, long[]> ratingTotals = new HashMap<>(); // provider -> {sum, count}
+    private final Map<Long, Integer> completedByService = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            rating = new float[INITIAL_CAPACITY];
+            completed = new int[INITIAL_CAPACITY];
+            createdAt = new long[INITIAL_CAPACITY];
+            slotByService.clear();
+            providerByService.clear();
+            slotsByProvider.clear();
+            freeSlots.clear();
+            nextSlot = 0;
+
+            ratingTotals.clear();
+            for (Object[] row : reviewRepository.sumRatingsByProvider()) {
+                ratingTotals.put((Long) row[0], new long[] {((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+            }
+            completedByService.clear();
+            for (Object[] row : bookingRepository.countBookingsByServiceAndStatus(Booking.BookingStatus.COMPLETED)) {
+                completedByService.put((Long) row[0], ((Number) row[1]).intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            if (!Boolean.TRUE.equals(service.getIsActive()) || Boolean.TRUE.equals(service.getIsDeleted())) {
+                release(service.getId());
+                return;
+            }
+            Long providerId = service.getProvider() != null ? service.getProvider().getId() : null;
+            Long previousProvider = providerByService.get(service.getId());
+            if (previousProvider != null && !previousProvider.equals(providerId)) {
+                release(service.getId());
+            }
+
+            int slot = slotByService.computeIfAbsent(service.getId(), id -> allocate());
+            providerByService.put(service.getId(), providerId);
+            slotsByProvider.computeIfAbsent(providerId, p -> new HashSet<>()).add(slot);
+            rating[slot] = averageRating(providerId);
+            completed[slot] = completedByService.getOrDefault(service.getId(), 0);
+            createdAt[slot] = service.getCreatedAt() != null
+                ? service.getCreatedAt().atZone(ZoneId.systemDefault()).toEpochSecond() : 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            release(serviceId);
+            completedByService.remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A review was added, edited or deleted. Pass null for the side that does not exist
+     * (previous rating of a new review, new rating of a deleted one).
+     */
+    public void reviewChanged(Long providerId, Integer previousRating, Integer newRating) {
+        lock.writeLock().lock();
+        try {
+            long[] totals = ratingTotals.computeIfAbsent(providerId, p -> new long[2]);
+            if (previousRating != null) {
+                totals[0] -= previousRating;
+                totals[1]--;
+            }
+            if (newRating != null) {
+                totals[0] += newRating;
+                totals[1]++;
+            }
+            float average = averageRating(providerId);
+            for (int slot : slotsByProvider.getOrDefault(providerId, Set.of())) {
+                rating[slot] = average;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Keeps the completed-bookings count in step with a booking status change
+    public void bookingStatusChanged(Long serviceId, Booking.BookingStatus from, Booking.BookingStatus to) {
+        int delta = (to == Booking.BookingStatus.COMPLETED ? 1 : 0) - (from == Booking.BookingStatus.COMPLETED ? 1 : 0);
+        if (delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int count = Math.max(0, completedByService.getOrDefault(serviceId, 0) + delta);
+            completedByService.put(serviceId, count);
+            Integer slot = slotByService.get(serviceId);
+            if (slot != null) {
+                completed[slot] = count;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Multiplies each text score by the service's quality boost, in place
+    public void applyBoosts(Map<Long, Double> scores, long nowEpochSeconds) {
+        lock.readLock().lock();
+        try {
+            scores.replaceAll((serviceId, score) -> {
+                Integer slot = slotByService.get(serviceId);
+                return slot == null ? score : score * boost(slot, nowEpochSeconds);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double boost(int slot, long now) {
+        double ratingSignal = rating[slot] / 5.0;
+        double bookingsSignal = Math.min(1.0, Math.log1p(completed[slot]) / BOOKINGS_SATURATION);
+        double recencySignal = 0;
+        if (createdAt[slot] > 0) {
+            double ageDays = Math.max(0, now - createdAt[slot]) / 86400.0;
+            recencySignal = Math.pow(0.5, ageDays / RECENCY_HALF_LIFE_DAYS);
+        }
+        return 1.0 + RATING_WEIGHT * ratingSignal + BOOKINGS_WEIGHT * bookingsSignal + RECENCY_WEIGHT * recencySignal;
+    }
+
+    private float averageRating(Long providerId) {
+        long[] totals = ratingTotals.get(providerId);
+        return totals == null || totals[1] <= 0 ? 0f : (float) totals[0] / totals[1];
+    }
+
+    private int allocate() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (nextSlot == rating.length) {
+            int capacity = rating.length * 2;
+            rating = Arrays.copyOf(rating, capacity);
+            completed = Arrays.copyOf(completed, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+        }
+        return nextSlot++;
+    }
+
+    private void release(Long serviceId) {
+        Integer slot = slotByService.remove(serviceId);
+        Long providerId = providerByService.remove(serviceId);
+        if (slot == null) {
+            return;
+        }
+        Set<Integer> providerSlots = slotsByProvider.get(providerId);
+        if (providerSlots != null) {
+            providerSlots.remove(slot);
+            if (providerSlots.isEmpty()) {
+                slotsByProvider.remove(providerId);
+            }
+        }
+        rating[slot] = 0;
+        completed[slot] = 0;
+        createdAt[slot] = 0;
+        freeSlots.push(slot);
+    }
+}
@@ -0,0 +1,401 @@
+package com.fixitnow.index;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.MarkerFeed;
+import com.fixitnow.geo.GeoMath;
+import com.fixitnow.geo.Geohash;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.ServiceRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Coordinates of active services in a bucket quadtree over the whole globe. A bounds query
+ * only visits quadrants that overlap the box, and a radius query runs haversine on the points
+ * inside the radius' bounding box only.
+ *
+ * Leaves split into four quadrants when they fill up. Emptied quadrants are not merged back;
+ * the next catalog rebuild starts from a fresh tree.
+ */
+@Component
+public class ServiceSpatialIndex implements CatalogListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceSpatialIndex.class);
+
+    private static final int LEAF_CAPACITY = 32;
+    private static final int MAX_DEPTH = 24; // ~1 m quadrants; deeper leaves just grow
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private Node root = newRoot();
+    private final Map<Long, Point> positions = new HashMap<>();
+
+    // Category ordinals for the binary marker feed; append-only so ordinals stay stable
+    private final Map<String, Integer> categoryOrdinals = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Hashes rows geocoded before the geohash column existed, so the warm-up queries see them
+    @PostConstruct
+    public void init() {
+        List<Object[]> rows = serviceRepository.findUnhashedCoordinates();
+        int hashed = 0;
+        for (Object[] row : rows) {
+            String geohash = Geohash.of((Double) row[1], (Double) row[2]);
+            if (geohash != null) {
+                hashed += serviceRepository.assignGeohash((Long) row[0], geohash);
+            }
+        }
+        if (hashed > 0) {
+            logger.info("Geohash backfill hashed {} services", hashed);
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = newRoot();
+            positions.clear();
+            categoryOrdinals.clear();
+            categories.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            remove(service.getId());
+            if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())
+                    && GeoMath.isValid(service.getLatitude(), service.getLongitude())) {
+                double lat = service.getLatitude();
+                double lng = service.getLongitude();
+                String category = service.getCategory() == null ? "" : service.getCategory().trim();
+                int ordinal = categoryOrdinals.computeIfAbsent(category, c -> {
+                    categories.add(c);
+                    return categories.size() - 1;
+                });
+                long paise = service.getPrice() == null ? 0
+                    : service.getPrice().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+                positions.put(service.getId(), new Point(lat, lng, ordinal, paise));
+                root.insert(service.getId(), lat, lng);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids inside the box; a box with minLng > maxLng crosses the antimeridian
+    public List<Long> within(double minLat, double maxLat, double minLng, double maxLng) {
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            visit(minLat, maxLat, minLng, maxLng, (id, lat, lng) -> ids.add(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    // Ids within radiusKm of the point, nearest first
+    public List<Long> nearby(double lat, double lng, double radiusKm) {
+        List<double[]> hits = new ArrayList<>(); // {distance, id}
+        double[] box = GeoMath.radiusBounds(lat, lng, radiusKm);
+        lock.readLock().lock();
+        try {
+            visit(box[0], box[1], box[2], box[3], (id, pointLat, pointLng) -> {
+                double distance = GeoMath.distanceKm(lat, lng, pointLat, pointLng);
+                if (distance <= radiusKm) {
+                    hits.add(new double[] {distance, id});
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(hit -> hit[0]));
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (double[] hit : hits) {
+            ids.add((long) hit[1]);
+        }
+        return ids;
+    }
+
+    /**
+     * The k services nearest to the point, nearest first, optionally only of one category.
+     * Best-first search: quadrants are visited in order of their distance lower bound and the
+     * search stops once the next quadrant cannot beat the k-th best hit, which is kept in a
+     * bounded max-heap. Returns fewer than k only when fewer services match.
+     */
+    public List<Long> nearest(double lat, double lng, int k, String category) {
+        List<Long> ids = new ArrayList<>();
+        if (k <= 0) {
+            return ids;
+        }
+        lock.readLock().lock();
+        try {
+            Integer ordinal = null;
+            if (category != null && !category.isBlank()) {
+                ordinal = categoryOrdinals.get(category.trim());
+                if (ordinal == null) {
+                    return ids;
+                }
+            }
+
+            PriorityQueue<Candidate> frontier = new PriorityQueue<>(Comparator.comparingDouble(c -> c.boundKm));
+            PriorityQueue<double[]> best = new PriorityQueue<>(k, (a, b) -> Double.compare(b[0], a[0])); // {distance, id}
+            frontier.add(new Candidate(root, 0));
+            while (!frontier.isEmpty()) {
+                Candidate next = frontier.poll();
+                if (best.size() == k && next.boundKm > best.peek()[0]) {
+                    break; // nothing left can be closer than the current k-th hit
+                }
+                Node node = next.node;
+                if (node.children != null) {
+                    for (Node child : node.children) {
+                        frontier.add(new Candidate(child, child.minDistanceKm(lat, lng)));
+                    }
+                    continue;
+                }
+                for (int i = 0; i < node.size; i++) {
+                    if (ordinal != null && positions.get(node.ids[i]).category != ordinal) {
+                        continue;
+                    }
+                    double distance = GeoMath.distanceKm(lat, lng, node.lats[i], node.lngs[i]);
+                    if (best.size() < k) {
+                        best.add(new double[] {distance, node.ids[i]});
+                    } else if (distance < best.peek()[0]) {
+                        best.poll();
+                        best.add(new double[] {distance, node.ids[i]});
+                    }
+                }
+            }
+
+            double[][] hits = best.toArray(new double[0][]);
+            Arrays.sort(hits, Comparator.comparingDouble(hit -> hit[0]));
+            for (double[] hit : hits) {
+                ids.add((long) hit[1]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marker fields of the services inside the box, copied into primitive arrays under the read
+     * lock so the caller can encode them without holding it. Quadtree order keeps neighbours
+     * together, which keeps coordinate deltas small.
+     */
+    public MarkerFeed markers(double minLat, double maxLat, double minLng, double maxLng) {
+        MarkerFeed.Builder feed = new MarkerFeed.Builder();
+        lock.readLock().lock();
+        try {
+            visit(minLat, maxLat, minLng, maxLng, (id, lat, lng) -> {
+                Point point = positions.get(id);
+                feed.add(id, lat, lng, point.category, point.paise);
+            });
+            return feed.build(new ArrayList<>(categories));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void visit(double minLat, double maxLat, double minLng, double maxLng, PointVisitor visitor) {
+        if (minLng <= maxLng) {
+            root.visit(minLat, maxLat, minLng, maxLng, visitor);
+        } else {
+            root.visit(minLat, maxLat, minLng, 180, visitor);
+            root.visit(minLat, maxLat, -180, maxLng, visitor);
+        }
+    }
+
+    private void remove(Long serviceId) {
+        Point previous = positions.remove(serviceId);
+        if (previous != null) {
+            root.remove(serviceId, previous.lat, previous.lng);
+        }
+    }
+
+    private static Node newRoot() {
+        return new Node(-90, 90, -180, 180, 0);
+    }
+
+    private static final class Point {
+        final double lat;
+        final double lng;
+        final int category;
+        final long paise;
+
+        Point(double lat, double lng, int category, long paise) {
+            this.lat = lat;
+            this.lng = lng;
+            this.category = category;
+            this.paise = paise;
+        }
+    }
+
+    // Quadrant waiting in the k-nearest search, keyed by its distance lower bound
+    private static final class Candidate {
+        final Node node;
+        final double boundKm;
+
+        Candidate(Node node, double boundKm) {
+            this.node = node;
+            this.boundKm = boundKm;
+        }
+    }
+
+    private interface PointVisitor {
+        void visit(long id, double lat, double lng);
+    }
+
+    private static final class Node {
+        final double minLat, maxLat, minLng, maxLng;
+        final int depth;
+        Node[] children; // SW, SE, NW, NE once split
+
+        long[] ids = new long[LEAF_CAPACITY];
+        double[] lats = new double[LEAF_CAPACITY];
+        double[] lngs = new double[LEAF_CAPACITY];
+        int size = 0;
+
+        Node(double minLat, double maxLat, double minLng, double maxLng, int depth) {
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLng = minLng;
+            this.maxLng = maxLng;
+            this.depth = depth;
+        }
+
+        void insert(long id, double lat, double lng) {
+            if (children != null) {
+                child(lat, lng).insert(id, lat, lng);
+                return;
+            }
+            if (size == ids.length) {
+                if (depth < MAX_DEPTH) {
+                    split();
+                    child(lat, lng).insert(id, lat, lng);
+                    return;
+                }
+                ids = Arrays.copyOf(ids, size * 2);
+                lats = Arrays.copyOf(lats, size * 2);
+                lngs = Arrays.copyOf(lngs, size * 2);
+            }
+            ids[size] = id;
+            lats[size] = lat;
+            lngs[size] = lng;
+            size++;
+        }
+
+        void remove(long id, double lat, double lng) {
+            if (children != null) {
+                child(lat, lng).remove(id, lat, lng);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    lats[i] = lats[size];
+                    lngs[i] = lngs[size];
+                    return;
+                }
+            }
+        }
+
+        void visit(double qMinLat, double qMaxLat, double qMinLng, double qMaxLng, PointVisitor visitor) {
+            if (qMinLat > maxLat || qMaxLat < minLat || qMinLng > maxLng || qMaxLng < minLng) {
+                return;
+            }
+            if (children != null) {
+                for (Node child : children) {
+                    child.visit(qMinLat, qMaxLat, qMinLng, qMaxLng, visitor);
+                }
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (lats[i] >= qMinLat && lats[i] <= qMaxLat && lngs[i] >= qMinLng && lngs[i] <= qMaxLng) {
+                    visitor.visit(ids[i], lats[i], lngs[i]);
+                }
+            }
+        }
+
+        // Lower bound of the distance from the point to anything in this quadrant: the larger of
+        // the latitude gap and the cross-track distance to the nearest bounding meridian
+        double minDistanceKm(double lat, double lng) {
+            double latGap = lat < minLat ? minLat - lat : lat > maxLat ? lat - maxLat : 0;
+            double lngGap = 0;
+            if (lng < minLng || lng > maxLng) {
+                double toMin = Math.abs(lng - minLng);
+                double toMax = Math.abs(lng - maxLng);
+                lngGap = Math.min(Math.min(toMin, 360 - toMin), Math.min(toMax, 360 - toMax));
+            }
+            double crossTrack = Math.asin(Math.min(1, Math.cos(Math.toRadians(lat))
+                * Math.sin(Math.toRadians(Math.min(90, lngGap))))) * GeoMath.EARTH_RADIUS_KM;
+            return Math.max(latGap * GeoMath.KM_PER_DEGREE, crossTrack);
+        }
+
+        private void split() {
+            double midLat = (minLat + maxLat) / 2;
+            double midLng = (minLng + maxLng) / 2;
+            children = new Node[] {
+                new Node(minLat, midLat, minLng, midLng, depth + 1),
+                new Node(minLat, midLat, midLng, maxLng, depth + 1),
+                new Node(midLat, maxLat, minLng, midLng, depth + 1),
+                new Node(midLat, maxLat, midLng, maxLng, depth + 1)
+            };
+            for (int i = 0; i < size; i++) {
+                child(lats[i], lngs[i]).insert(ids[i], lats[i], lngs[i]);
+            }
+            ids = null;
+            lats = null;
+            lngs = null;
+            size = 0;
+        }
+
+        private Node child(double lat, double lng) {
+            double midLat = (minLat + maxLat) / 2;
+            double midLng = (minLng + maxLng) / 2;
+            return children[(lat >= midLat ? 2 : 0) + (lng >= midLng ? 1 : 0)];
+        }
+    }
+}
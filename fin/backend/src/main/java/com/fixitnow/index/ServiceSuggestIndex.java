@@ -0,0 +1,270 @@
+package com.fixitnow.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.ServiceSuggestionDTO;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.BookingRepository;
+
+/**
+ * Prefix trie over service titles, categories and subcategories for search-box autocomplete.
+ *
+ * Every word start of a phrase is a trie key, so "rep" suggests "Plumbing Repair". Each node
+ * caches its best {@value #TOP_K} phrases, recomputed along the affected paths on write, so a
+ * lookup is a walk down the trie with no database access. Phrases are weighted by how many
+ * active services carry them plus the bookings those services have received.
+ */
+@Component
+public class ServiceSuggestIndex implements CatalogListener {
+
+    private static final int TOP_K = 10;
+    private static final int MAX_PHRASE_LENGTH = 100;
+
+    private static final Comparator<Suggestion> BY_SCORE = Comparator
+        .comparingLong((Suggestion s) -> s.weight).reversed()
+        .thenComparing(s -> s.text);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Node root = new Node();
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Map<Long, List<Suggestion>> phrasesByService = new HashMap<>();
+    private final Map<Long, Long> bookingCounts = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            suggestions.clear();
+            phrasesByService.clear();
+            bookingCounts.clear();
+            for (Object[] row : bookingRepository.countBookingsByService()) {
+                bookingCounts.put((Long) row[0], ((Number) row[1]).longValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceSaved(Service service) {
+        lock.writeLock().lock();
+        try {
+            remove(service.getId());
+            if (!Boolean.TRUE.equals(service.getIsActive()) || Boolean.TRUE.equals(service.getIsDeleted())) {
+                return;
+            }
+            long weight = serviceWeight(service.getId());
+            List<Suggestion> phrases = new ArrayList<>();
+            addPhrase(phrases, service.getTitle(), "TITLE", weight);
+            addPhrase(phrases, service.getCategory(), "CATEGORY", weight);
+            addPhrase(phrases, service.getSubcategory(), "SUBCATEGORY", weight);
+            phrasesByService.put(service.getId(), phrases);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onServiceRemoved(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            remove(serviceId);
+            bookingCounts.remove(serviceId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A new booking makes every phrase of that service rank a little higher
+    public void recordBooking(Long serviceId) {
+        lock.writeLock().lock();
+        try {
+            bookingCounts.merge(serviceId, 1L, Long::sum);
+            for (Suggestion suggestion : phrasesByService.getOrDefault(serviceId, List.of())) {
+                suggestion.weight++;
+                updatePaths(suggestion, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ServiceSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalizePhrase(prefix);
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            List<ServiceSuggestionDTO> result = new ArrayList<>();
+            for (Suggestion suggestion : node.top) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(new ServiceSuggestionDTO(suggestion.text, suggestion.type, suggestion.weight));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Trie nodes including the root
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            List<Node> pending = new ArrayList<>(List.of(root));
+            while (!pending.isEmpty()) {
+                Node node = pending.remove(pending.size() - 1);
+                count++;
+                pending.addAll(node.children.values());
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long serviceWeight(Long serviceId) {
+        return 1 + bookingCounts.getOrDefault(serviceId, 0L);
+    }
+
+    private void addPhrase(List<Suggestion> phrases, String text, String type, long weight) {
+        String normalized = normalizePhrase(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = suggestions.get(type + "|" + normalized);
+        boolean created = suggestion == null;
+        if (created) {
+            suggestion = new Suggestion(text.trim(), type, normalized);
+            suggestions.put(type + "|" + normalized, suggestion);
+        }
+        suggestion.weight += weight;
+        suggestion.services++;
+        phrases.add(suggestion);
+        updatePaths(suggestion, created ? Boolean.TRUE : null);
+    }
+
+    private void remove(Long serviceId) {
+        List<Suggestion> phrases = phrasesByService.remove(serviceId);
+        if (phrases == null) {
+            return;
+        }
+        long weight = serviceWeight(serviceId);
+        for (Suggestion suggestion : phrases) {
+            suggestion.weight -= weight;
+            suggestion.services--;
+            if (suggestion.services == 0) {
+                suggestions.remove(suggestion.type + "|" + suggestion.normalized);
+                updatePaths(suggestion, Boolean.FALSE);
+            } else {
+                updatePaths(suggestion, null);
+            }
+        }
+    }
+
+    /**
+     * Walks every word-start key of the phrase, attaching (TRUE) or detaching (FALSE) it as a
+     * terminal, then refreshes the cached top lists bottom-up. Null only refreshes the ranking.
+     * Detaching unlinks the nodes left with no phrase ending at or below them.
+     */
+    private void updatePaths(Suggestion suggestion, Boolean attach) {
+        String phrase = suggestion.normalized;
+        for (int start = 0; start < phrase.length(); start++) {
+            if (start > 0 && phrase.charAt(start - 1) != ' ') {
+                continue;
+            }
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            for (int i = start; i < phrase.length() && node != null; i++) {
+                char c = phrase.charAt(i);
+                node = Boolean.TRUE.equals(attach)
+                    ? node.children.computeIfAbsent(c, k -> new Node())
+                    : node.children.get(c);
+                if (node != null) {
+                    path.add(node);
+                }
+            }
+            if (node == null) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(attach)) {
+                node.terminals.add(suggestion);
+            } else if (Boolean.FALSE.equals(attach)) {
+                node.terminals.remove(suggestion);
+            }
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node current = path.get(i);
+                if (Boolean.FALSE.equals(attach) && i > 0 && current.terminals.isEmpty() && current.children.isEmpty()) {
+                    path.get(i - 1).children.remove(phrase.charAt(start + i - 1));
+                    continue;
+                }
+                current.recomputeTop();
+            }
+        }
+    }
+
+    private static String normalizePhrase(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = String.join(" ", Tokenizer.tokenize(text));
+        return normalized.length() > MAX_PHRASE_LENGTH ? normalized.substring(0, MAX_PHRASE_LENGTH) : normalized;
+    }
+
+    private static final class Suggestion {
+        final String text;
+        final String type;
+        final String normalized;
+        long weight;
+        int services;
+
+        Suggestion(String text, String type, String normalized) {
+            this.text = text;
+            this.type = type;
+            this.normalized = normalized;
+        }
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final Set<Suggestion> terminals = new LinkedHashSet<>();
+        List<Suggestion> top = List.of();
+
+        void recomputeTop() {
+            Set<Suggestion> candidates = new LinkedHashSet<>(terminals);
+            for (Node child : children.values()) {
+                candidates.addAll(child.top);
+            }
+            List<Suggestion> ranked = new ArrayList<>(candidates);
+            ranked.sort(BY_SCORE);
+            top = ranked.size() > TOP_K ? List.copyOf(ranked.subList(0, TOP_K)) : List.copyOf(ranked);
+        }
+    }
+}
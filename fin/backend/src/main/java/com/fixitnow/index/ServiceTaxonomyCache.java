@@ -0,0 +1,109 @@
+package com.fixitnow.index;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.repository.ServiceRepository;
+
+/**
+ * Category/subcategory lists of active services, reloaded only when the catalog version moves.
+ * The ETag is a SHA-256 digest of the content, so it survives restarts and unrelated writes,
+ * and two different lists do not end up with the same tag.
+ */
+@Component
+public class ServiceTaxonomyCache {
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    private volatile Taxonomy taxonomy;
+
+    public Taxonomy current() {
+        long version = serviceCatalog.getVersion();
+        Taxonomy cached = taxonomy;
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = taxonomy;
+            if (cached == null || cached.version != version) {
+                cached = load(version);
+                taxonomy = cached;
+            }
+            return cached;
+        }
+    }
+
+    private Taxonomy load(long version) {
+        Map<String, List<String>> subcategories = new TreeMap<>();
+        for (Object[] row : serviceRepository.findDistinctCategoryPairs()) {
+            List<String> subs = subcategories.computeIfAbsent((String) row[0], c -> new ArrayList<>());
+            if (row[1] != null) {
+                subs.add((String) row[1]);
+            }
+        }
+        subcategories.replaceAll((category, subs) -> Collections.unmodifiableList(subs));
+        return new Taxonomy(version, Collections.unmodifiableMap(subcategories));
+    }
+
+    public static final class Taxonomy {
+        private final long version;
+        private final List<String> categories;
+        private final Map<String, List<String>> subcategories;
+        private final String etag;
+
+        Taxonomy(long version, Map<String, List<String>> subcategories) {
+            this.version = version;
+            this.categories = List.copyOf(subcategories.keySet());
+            this.subcategories = subcategories;
+            this.etag = "\"taxonomy-" + digest(subcategories) + "\"";
+        }
+
+        // First 128 bits of SHA-256 over the lists, each name length-prefixed so no two lists
+        // serialize alike
+        private static String digest(Map<String, List<String>> subcategories) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                for (Map.Entry<String, List<String>> entry : subcategories.entrySet()) {
+                    update(sha256, entry.getKey());
+                    update(sha256, Integer.toString(entry.getValue().size()));
+                    for (String subcategory : entry.getValue()) {
+                        update(sha256, subcategory);
+                    }
+                }
+                return HexFormat.of().formatHex(Arrays.copyOf(sha256.digest(), 16));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        private static void update(MessageDigest digest, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+            digest.update((byte) ':');
+            digest.update(bytes);
+        }
+
+        public List<String> getCategories() { return categories; }
+
+        public List<String> getSubcategories(String category) {
+            return subcategories.getOrDefault(category, List.of());
+        }
+
+        public String getEtag() { return etag; }
+    }
+}
@@ -0,0 +1,220 @@
+package com.fixitnow.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * A service's weekly availability compiled to one 48-bit mask per weekday: bit n is set when
+ * the half hour starting at n * 30 minutes is bookable. Compiled from the availability JSON
+ * on every write, so "available on Saturday at 10:00" is a bit test instead of a JSON parse.
+ *
+ * The JSON is the shape the provider dashboard saves:
+ * {"monday": {"start": "09:00", "end": "17:00", "available": true}, ...}; a day may also hold
+ * a list of such ranges. A range whose end is not after its start runs past midnight.
+ */
+@Embeddable
+public class AvailabilitySlots {
+
+    public static final int SLOTS_PER_DAY = 48;
+    public static final int SLOT_MINUTES = 30;
+    public static final long FULL_DAY = (1L << SLOTS_PER_DAY) - 1;
+    public static final int SLOTS_PER_BOOKING = 2; // bookings start on a one-hour grid and last whole hours
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Missing or unreadable availability: the booking page offers 09:00-18:00 every day
+    private static final long DEFAULT_DAY = range(9 * 60, 18 * 60);
+
+    @Column(name = "avail_mon")
+    private Long monday;
+
+    @Column(name = "avail_tue")
+    private Long tuesday;
+
+    @Column(name = "avail_wed")
+    private Long wednesday;
+
+    @Column(name = "avail_thu")
+    private Long thursday;
+
+    @Column(name = "avail_fri")
+    private Long friday;
+
+    @Column(name = "avail_sat")
+    private Long saturday;
+
+    @Column(name = "avail_sun")
+    private Long sunday;
+
+    // Constructors
+    public AvailabilitySlots() {}
+
+    public AvailabilitySlots(long[] days) {
+        monday = days[0];
+        tuesday = days[1];
+        wednesday = days[2];
+        thursday = days[3];
+        friday = days[4];
+        saturday = days[5];
+        sunday = days[6];
+    }
+
+    public static AvailabilitySlots compile(String json) {
+        long[] days = new long[7];
+        JsonNode root = null;
+        if (json != null && !json.isBlank()) {
+            try {
+                root = MAPPER.readTree(json);
+            } catch (JsonProcessingException e) {
+                root = null;
+            }
+        }
+        if (root == null || !root.isObject()) {
+            Arrays.fill(days, DEFAULT_DAY);
+            return new AvailabilitySlots(days);
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> fields = root.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            DayOfWeek day;
+            try {
+                day = DayOfWeek.valueOf(field.getKey().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                continue; // not a weekday key
+            }
+            if (field.getValue().isArray()) {
+                for (JsonNode range : field.getValue()) {
+                    addRange(days, day, range);
+                }
+            } else {
+                addRange(days, day, field.getValue());
+            }
+        }
+        return new AvailabilitySlots(days);
+    }
+
+    private static void addRange(long[] days, DayOfWeek day, JsonNode range) {
+        if (!range.isObject() || !range.path("available").asBoolean(true)) {
+            return;
+        }
+        Integer start = minutes(range.path("start").asText(null));
+        Integer end = minutes(range.path("end").asText(null));
+        if (start == null || end == null) {
+            return;
+        }
+        int index = day.getValue() - 1;
+        if (end > start) {
+            days[index] |= range(start, end);
+        } else {
+            // Overnight: the rest of this day and the start of the next
+            days[index] |= range(start, 24 * 60);
+            days[(index + 1) % 7] |= range(0, end);
+        }
+    }
+
+    // Slots overlapping [start, end) minutes of the day
+    public static long range(int start, int end) {
+        int from = start / SLOT_MINUTES;
+        int to = Math.min(SLOTS_PER_DAY, (end + SLOT_MINUTES - 1) / SLOT_MINUTES);
+        return to <= from ? 0L : (FULL_DAY >>> (SLOTS_PER_DAY - (to - from))) << from;
+    }
+
+    // Slots a one-hour booking starting at the time covers, cut at the end of the day
+    public static long booking(LocalTime start) {
+        return booking(start, 1);
+    }
+
+    // Slots a booking of the given hours starting at the time covers, cut at the end of the day
+    public static long booking(LocalTime start, int hours) {
+        int minute = start.getHour() * 60 + start.getMinute();
+        return range(minute, minute + hours * SLOTS_PER_BOOKING * SLOT_MINUTES);
+    }
+
+    public static int slot(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    // Starts of back-to-back bookings of the given number of slots inside each run of set bits,
+    // from the run's first half hour
+    public static List<LocalTime> starts(long day, int length) {
+        List<LocalTime> starts = new ArrayList<>();
+        int slot = 0;
+        while (slot < SLOTS_PER_DAY) {
+            if ((day & (1L << slot)) == 0) {
+                slot++;
+                continue;
+            }
+            int end = slot;
+            while (end < SLOTS_PER_DAY && (day & (1L << end)) != 0) {
+                end++;
+            }
+            for (int start = slot; start + length <= end; start += length) {
+                starts.add(LocalTime.ofSecondOfDay(start * SLOT_MINUTES * 60L));
+            }
+            slot = end;
+        }
+        return starts;
+    }
+
+    // "09:30" -> 570; "24:00" is accepted as the end of the day
+    private static Integer minutes(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        if (text.trim().equals("24:00")) {
+            return 24 * 60;
+        }
+        try {
+            LocalTime time = LocalTime.parse(text.trim());
+            return time.getHour() * 60 + time.getMinute();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Masks indexed by DayOfWeek.getValue() - 1 (Monday first)
+    public long[] toArray() {
+        return new long[] {bits(monday), bits(tuesday), bits(wednesday), bits(thursday),
+                           bits(friday), bits(saturday), bits(sunday)};
+    }
+
+    private static long bits(Long day) {
+        return day == null ? 0L : day;
+    }
+
+    // Getters and Setters
+    public Long getMonday() { return monday; }
+    public void setMonday(Long monday) { this.monday = monday; }
+
+    public Long getTuesday() { return tuesday; }
+    public void setTuesday(Long tuesday) { this.tuesday = tuesday; }
+
+    public Long getWednesday() { return wednesday; }
+    public void setWednesday(Long wednesday) { this.wednesday = wednesday; }
+
+    public Long getThursday() { return thursday; }
+    public void setThursday(Long thursday) { this.thursday = thursday; }
+
+    public Long getFriday() { return friday; }
+    public void setFriday(Long friday) { this.friday = friday; }
+
+    public Long getSaturday() { return saturday; }
+    public void setSaturday(Long saturday) { this.saturday = saturday; }
+
+    public Long getSunday() { return sunday; }
+    public void setSunday(Long sunday) { this.sunday = sunday; }
+}
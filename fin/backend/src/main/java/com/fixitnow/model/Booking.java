@@ -60,6 +60,11 @@ public class Booking {
     @Column(name = "urgency_level")
     private String urgencyLevel;
 
+    // Whole hours from the time slot; the provider's calendar is held for all of them
+    @NotNull
+    @Column(name = "duration_hours")
+    private Integer durationHours = 1;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -111,6 +116,9 @@ public class Booking {
     public String getUrgencyLevel() { return urgencyLevel; }
     public void setUrgencyLevel(String urgencyLevel) { this.urgencyLevel = urgencyLevel; }
 
+    public Integer getDurationHours() { return durationHours; }
+    public void setDurationHours(Integer durationHours) { this.durationHours = durationHours; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,56 @@
+package com.fixitnow.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// One half-hour cell of a provider's day held by a live booking (see SlotReservationService)
+@Entity
+@Table(name = "booking_slot_cells")
+public class BookingSlotCell {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Column(name = "booking_date", nullable = false)
+    private LocalDate bookingDate;
+
+    // Index of the half hour in the day, 0 = 00:00-00:30 (AvailabilitySlots)
+    @Column(nullable = false)
+    private Integer cell;
+
+    public BookingSlotCell() {}
+
+    public BookingSlotCell(Long bookingId, Long providerId, LocalDate bookingDate, int cell) {
+        this.bookingId = bookingId;
+        this.providerId = providerId;
+        this.bookingDate = bookingDate;
+        this.cell = cell;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public LocalDate getBookingDate() { return bookingDate; }
+    public void setBookingDate(LocalDate bookingDate) { this.bookingDate = bookingDate; }
+
+    public Integer getCell() { return cell; }
+    public void setCell(Integer cell) { this.cell = cell; }
+}
@@ -9,9 +9,11 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fixitnow.geo.Geohash;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -20,7 +22,10 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -59,14 +64,35 @@ public class Service {
     @Column(columnDefinition = "JSON")
     private String availability; // JSON string for time slots
 
+    // Weekly half-hour bitmap compiled from availability on every write
+    @Embedded
+    @JsonIgnore
+    private AvailabilitySlots availabilitySlots;
+
     private String location;
 
+    // Area the location text resolved to in the locality dictionary (null when unknown)
+    @Column(name = "city_id")
+    private Long cityId;
+
+    @Column(name = "locality_id")
+    private Long localityId;
+
     @Column(name = "latitude")
     private Double latitude;
 
     @Column(name = "longitude")
     private Double longitude;
 
+    // Full-precision geohash of the coordinates, kept in step on every write
+    @Column(length = Geohash.MAX_PRECISION)
+    @JsonIgnore
+    private String geohash;
+
+    // Coordinates are a gazetteer estimate from the location text, not the provider's own
+    @Column(name = "coordinates_geocoded", columnDefinition = "boolean default false")
+    private Boolean coordinatesGeocoded = false;
+
     private String serviceImages; // Comma separated image URLs
 
     @Column(columnDefinition = "boolean default true")
@@ -76,6 +102,11 @@ public class Service {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Bumped by Hibernate on every update; drives the ETag of GET /services/{id}
+    @Version
+    @Column(nullable = false)
+    private Long version = 0L;
+
     // Soft delete fields
     @Column(columnDefinition = "boolean default false")
     private Boolean isDeleted = false;
@@ -100,6 +131,14 @@ public class Service {
         this.location = location;
     }
 
+    // Columns derived from other fields, recomputed on every insert and update
+    @PrePersist
+    @PreUpdate
+    void computeDerivedColumns() {
+        availabilitySlots = AvailabilitySlots.compile(availability);
+        geohash = Geohash.of(latitude, longitude);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -125,15 +164,30 @@ public class Service {
     public String getAvailability() { return availability; }
     public void setAvailability(String availability) { this.availability = availability; }
 
+    public AvailabilitySlots getAvailabilitySlots() { return availabilitySlots; }
+    public void setAvailabilitySlots(AvailabilitySlots availabilitySlots) { this.availabilitySlots = availabilitySlots; }
+
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Long getCityId() { return cityId; }
+    public void setCityId(Long cityId) { this.cityId = cityId; }
+
+    public Long getLocalityId() { return localityId; }
+    public void setLocalityId(Long localityId) { this.localityId = localityId; }
+
     public Double getLatitude() { return latitude; }
     public void setLatitude(Double latitude) { this.latitude = latitude; }
 
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
+    public String getGeohash() { return geohash; }
+    public void setGeohash(String geohash) { this.geohash = geohash; }
+
+    public Boolean getCoordinatesGeocoded() { return coordinatesGeocoded; }
+    public void setCoordinatesGeocoded(Boolean coordinatesGeocoded) { this.coordinatesGeocoded = coordinatesGeocoded; }
+
     public String getServiceImages() { return serviceImages; }
     public void setServiceImages(String serviceImages) { this.serviceImages = serviceImages; }
 
@@ -150,6 +204,9 @@ public class Service {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public Boolean getIsDeleted() { return isDeleted; }
     public void setIsDeleted(Boolean isDeleted) { this.isDeleted = isDeleted; }
 
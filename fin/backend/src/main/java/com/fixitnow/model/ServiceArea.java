@@ -0,0 +1,186 @@
+package com.fixitnow.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fixitnow.geo.GeoMath;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+// Area a provider travels to: a circle around a base or a simple polygon drawn on the map
+@Entity
+@Table(name = "service_areas")
+public class ServiceArea {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Shape shape;
+
+    // Circle center and radius
+    @Column(name = "center_lat")
+    private Double centerLat;
+
+    @Column(name = "center_lng")
+    private Double centerLng;
+
+    @Column(name = "radius_km")
+    private Double radiusKm;
+
+    // Polygon corners as "lat,lng" pairs separated by ";"
+    @Column(columnDefinition = "TEXT")
+    private String vertices;
+
+    // Bounding box, recomputed on every write
+    @Column(name = "min_lat", nullable = false)
+    @JsonIgnore
+    private Double minLat;
+
+    @Column(name = "max_lat", nullable = false)
+    @JsonIgnore
+    private Double maxLat;
+
+    @Column(name = "min_lng", nullable = false)
+    @JsonIgnore
+    private Double minLng;
+
+    @Column(name = "max_lng", nullable = false)
+    @JsonIgnore
+    private Double maxLng;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public enum Shape {
+        CIRCLE, POLYGON
+    }
+
+    // Constructors
+    public ServiceArea() {}
+
+    @PrePersist
+    @PreUpdate
+    void computeBounds() {
+        double[] bounds = bounds();
+        minLat = bounds[0];
+        maxLat = bounds[1];
+        minLng = bounds[2];
+        maxLng = bounds[3];
+    }
+
+    // {minLat, maxLat, minLng, maxLng}; minLng > maxLng when a circle wraps the antimeridian
+    public double[] bounds() {
+        if (shape == Shape.CIRCLE) {
+            return GeoMath.radiusBounds(centerLat, centerLng, radiusKm);
+        }
+        double[] points = vertexArray();
+        double[] bounds = {90, -90, 180, -180};
+        for (int i = 0; i < points.length; i += 2) {
+            bounds[0] = Math.min(bounds[0], points[i]);
+            bounds[1] = Math.max(bounds[1], points[i]);
+            bounds[2] = Math.min(bounds[2], points[i + 1]);
+            bounds[3] = Math.max(bounds[3], points[i + 1]);
+        }
+        return bounds;
+    }
+
+    // Exact test behind the bounding box and grid lookups
+    public boolean contains(double lat, double lng) {
+        if (shape == Shape.CIRCLE) {
+            return GeoMath.distanceKm(centerLat, centerLng, lat, lng) <= radiusKm;
+        }
+        return GeoMath.inPolygon(lat, lng, vertexArray());
+    }
+
+    // Circle center or polygon vertex centroid, used to rank providers by how close their base is
+    public double[] center() {
+        if (shape == Shape.CIRCLE) {
+            return new double[] {centerLat, centerLng};
+        }
+        double[] points = vertexArray();
+        double lat = 0, lng = 0;
+        for (int i = 0; i < points.length; i += 2) {
+            lat += points[i];
+            lng += points[i + 1];
+        }
+        int n = points.length / 2;
+        return new double[] {lat / n, lng / n};
+    }
+
+    // Polygon corners flattened to {lat0, lng0, lat1, lng1, ...}; empty for circles
+    public double[] vertexArray() {
+        if (vertices == null || vertices.isBlank()) {
+            return new double[0];
+        }
+        String[] pairs = vertices.split(";");
+        double[] points = new double[pairs.length * 2];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] pair = pairs[i].split(",");
+            points[2 * i] = Double.parseDouble(pair[0].trim());
+            points[2 * i + 1] = Double.parseDouble(pair[1].trim());
+        }
+        return points;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public Shape getShape() { return shape; }
+    public void setShape(Shape shape) { this.shape = shape; }
+
+    public Double getCenterLat() { return centerLat; }
+    public void setCenterLat(Double centerLat) { this.centerLat = centerLat; }
+
+    public Double getCenterLng() { return centerLng; }
+    public void setCenterLng(Double centerLng) { this.centerLng = centerLng; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+
+    @JsonIgnore
+    public String getVertexText() { return vertices; }
+    public void setVertexText(String vertices) { this.vertices = vertices; }
+
+    // Polygon corners as [lat, lng] pairs in responses
+    @JsonProperty("vertices")
+    public List<double[]> getVertexPairs() {
+        double[] points = vertexArray();
+        List<double[]> pairs = new ArrayList<>(points.length / 2);
+        for (int i = 0; i < points.length; i += 2) {
+            pairs.add(new double[] {points[i], points[i + 1]});
+        }
+        return pairs;
+    }
+
+    public Double getMinLat() { return minLat; }
+    public Double getMaxLat() { return maxLat; }
+    public Double getMinLng() { return minLng; }
+    public Double getMaxLng() { return maxLng; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,6 +14,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@BatchSize(size = 50) // Eager providers of native-query services load in batches, not one by one
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +41,13 @@ public class User {
 
     private String location;
 
+    // Area the location text resolved to in the locality dictionary (null when unknown)
+    @Column(name = "city_id")
+    private Long cityId;
+
+    @Column(name = "locality_id")
+    private Long localityId;
+
     private String phone;
 
     private String profileImage;
@@ -117,6 +126,12 @@ public class User {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Long getCityId() { return cityId; }
+    public void setCityId(Long cityId) { this.cityId = cityId; }
+
+    public Long getLocalityId() { return localityId; }
+    public void setLocalityId(Long localityId) { this.localityId = localityId; }
+
     public String getPhone() { return phone; }
     public void setPhone(String phone) { this.phone = phone; }
 
@@ -0,0 +1,98 @@
+package com.fixitnow.repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+import com.fixitnow.model.AvailabilitySlots;
+
+/**
+ * The availableOn / availableAt listing filter as per-weekday slot masks.
+ *
+ * availableOn is a weekday name or an ISO date; availableAt is a time ("10:00") or a range
+ * ("09:00-12:00") that must be free in full. With both, the service must be free at that time
+ * on that day; with only availableOn, at any time that day; with only availableAt, at that time
+ * on any day.
+ */
+public class AvailabilityQuery {
+
+    // Mask per weekday (Monday first); 0 when the day is not asked for
+    private final long[] masks;
+    private final boolean requireAll; // every masked slot, or any of them
+
+    private AvailabilityQuery(long[] masks, boolean requireAll) {
+        this.masks = masks;
+        this.requireAll = requireAll;
+    }
+
+    // Null when neither parameter is given
+    public static AvailabilityQuery parse(String availableOn, String availableAt) {
+        boolean hasDay = availableOn != null && !availableOn.isBlank();
+        boolean hasTime = availableAt != null && !availableAt.isBlank();
+        if (!hasDay && !hasTime) {
+            return null;
+        }
+        long time = hasTime ? timeMask(availableAt.trim()) : AvailabilitySlots.FULL_DAY;
+        long[] masks = new long[7];
+        if (hasDay) {
+            masks[day(availableOn.trim()).getValue() - 1] = time;
+        } else {
+            Arrays.fill(masks, time);
+        }
+        return new AvailabilityQuery(masks, hasTime);
+    }
+
+    // True when the week stored at bits[offset .. offset + 6] (Monday first) satisfies one asked day
+    public boolean matches(long[] bits, int offset) {
+        for (int day = 0; day < 7; day++) {
+            long mask = masks[day];
+            long week = bits[offset + day];
+            if (mask != 0 && (requireAll ? (week & mask) == mask : (week & mask) != 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static DayOfWeek day(String text) {
+        try {
+            return DayOfWeek.valueOf(text.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // not a day name, try a date
+        }
+        try {
+            return LocalDate.parse(text).getDayOfWeek();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("availableOn must be a weekday or a yyyy-MM-dd date");
+        }
+    }
+
+    private static long timeMask(String text) {
+        try {
+            int dash = text.indexOf('-');
+            if (dash < 0) {
+                return 1L << AvailabilitySlots.slot(LocalTime.parse(text));
+            }
+            LocalTime from = LocalTime.parse(text.substring(0, dash).trim());
+            String endText = text.substring(dash + 1).trim();
+            int to = endText.equals("24:00") ? 24 * 60 : minutes(LocalTime.parse(endText));
+            long mask = AvailabilitySlots.range(minutes(from), to);
+            if (mask == 0) {
+                throw new IllegalArgumentException("availableAt range must end after it starts");
+            }
+            return mask;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("availableAt must be HH:mm or HH:mm-HH:mm");
+        }
+    }
+
+    private static int minutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // Getters
+    public long[] getMasks() { return masks; }
+    public boolean isRequireAll() { return requireAll; }
+}
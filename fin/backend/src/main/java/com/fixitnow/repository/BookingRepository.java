@@ -41,9 +41,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.customer.id = :customerId AND b.status = :status")
     Long countByCustomerIdAndStatus(@Param("customerId") Long customerId, @Param("status") Booking.BookingStatus status);
     
+    // Dashboard: (status, count, sum of service prices) in one pass over idx_bookings_provider_status
+    @Query("SELECT b.status, COUNT(b), SUM(s.price) FROM Booking b JOIN b.service s " +
+           "WHERE b.provider.id = :providerId GROUP BY b.status")
+    List<Object[]> summarizeByProvider(@Param("providerId") Long providerId);
+
+    @Query("SELECT b.status, COUNT(b) FROM Booking b WHERE b.customer.id = :customerId GROUP BY b.status")
+    List<Object[]> summarizeByCustomer(@Param("customerId") Long customerId);
+
+    @Query("SELECT b.service.id, COUNT(b) FROM Booking b GROUP BY b.service.id")
+    List<Object[]> countBookingsByService();
+    
+    @Query("SELECT b.service.id, COUNT(b) FROM Booking b WHERE b.status = :status GROUP BY b.service.id")
+    List<Object[]> countBookingsByServiceAndStatus(@Param("status") Booking.BookingStatus status);
+    
     @Query("SELECT b FROM Booking b WHERE b.provider.id = :providerId AND b.bookingDate = :date")
     List<Booking> findByProviderAndDate(@Param("providerId") Long providerId, @Param("date") LocalDate date);
     
+    // Live bookings from the date on that hold no calendar cells yet, earliest first
+    @Query("SELECT b FROM Booking b WHERE b.bookingDate >= :from " +
+           "AND (b.status IS NULL OR b.status <> com.fixitnow.model.Booking$BookingStatus.CANCELLED) " +
+           "AND NOT EXISTS (SELECT c FROM BookingSlotCell c WHERE c.bookingId = b.id) ORDER BY b.id")
+    List<Booking> findLiveWithoutCells(@Param("from") LocalDate from);
+
     @Query("SELECT b FROM Booking b WHERE b.customer.id = :customerId ORDER BY b.createdAt DESC")
     List<Booking> findByCustomerOrderByCreatedAtDesc(@Param("customerId") Long customerId);
     
@@ -0,0 +1,39 @@
+package com.fixitnow.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fixitnow.model.BookingSlotCell;
+
+@Repository
+public interface BookingSlotCellRepository extends JpaRepository<BookingSlotCell, Long> {
+
+    // Any of the cells already held on the provider's day (uk_booking_slot_cells)
+    @Query("SELECT COUNT(c) > 0 FROM BookingSlotCell c WHERE c.providerId = :providerId " +
+           "AND c.bookingDate = :date AND c.cell IN :cells")
+    boolean existsCell(@Param("providerId") Long providerId,
+                       @Param("date") LocalDate date,
+                       @Param("cells") Collection<Integer> cells);
+
+    // (bookingDate, cell) held from..to
+    @Query("SELECT c.bookingDate, c.cell FROM BookingSlotCell c WHERE c.providerId = :providerId " +
+           "AND c.bookingDate BETWEEN :from AND :to")
+    List<Object[]> findCells(@Param("providerId") Long providerId,
+                             @Param("from") LocalDate from,
+                             @Param("to") LocalDate to);
+
+    // (providerId, bookingDate, cell) of every provider from the date on
+    @Query("SELECT c.providerId, c.bookingDate, c.cell FROM BookingSlotCell c WHERE c.bookingDate >= :from")
+    List<Object[]> findCellsFrom(@Param("from") LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM BookingSlotCell c WHERE c.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+}
@@ -0,0 +1,9 @@
+package com.fixitnow.repository;
+
+import com.fixitnow.model.Locality;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LocalityRepository extends JpaRepository<Locality, Long> {
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -25,6 +26,9 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.provider.id = :providerId")
     Double findAverageRatingByProviderId(@Param("providerId") Long providerId);
     
+    @Query("SELECT r.provider.id, SUM(r.rating), COUNT(r) FROM Review r GROUP BY r.provider.id")
+    List<Object[]> sumRatingsByProvider();
+    
     @Query("SELECT COUNT(r) FROM Review r WHERE r.provider.id = :providerId")
     Long countByProviderId(@Param("providerId") Long providerId);
     
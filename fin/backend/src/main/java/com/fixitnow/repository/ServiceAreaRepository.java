@@ -0,0 +1,29 @@
+package com.fixitnow.repository;
+
+import com.fixitnow.model.ServiceArea;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ServiceAreaRepository extends JpaRepository<ServiceArea, Long> {
+
+    List<ServiceArea> findByProviderIdOrderByIdAsc(Long providerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ServiceArea a WHERE a.providerId = :providerId")
+    int deleteByProviderId(@Param("providerId") Long providerId);
+
+    // Coverage candidates while the in-memory index warms up; callers run the exact test.
+    // A box with minLng > maxLng wraps the antimeridian.
+    @Query("SELECT a FROM ServiceArea a WHERE a.minLat <= :lat AND a.maxLat >= :lat AND " +
+           "((a.minLng <= a.maxLng AND a.minLng <= :lng AND a.maxLng >= :lng) OR " +
+           "(a.minLng > a.maxLng AND (a.minLng <= :lng OR a.maxLng >= :lng)))")
+    List<ServiceArea> findBoxesContaining(@Param("lat") double lat, @Param("lng") double lng);
+}
@@ -0,0 +1,119 @@
+package com.fixitnow.repository;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+
+import com.fixitnow.dto.ServiceCardDTO;
+import com.fixitnow.model.Service;
+
+/**
+ * Position in a keyset-paginated service listing: the sort key and id of the last row returned.
+ * Serialized as an opaque URL-safe token so clients just echo it back.
+ *
+ * Rows without a sort key (a title or created_at left empty) come last in either direction;
+ * the token marks such a key with a flag and leaves the key field empty.
+ */
+public class ServiceCursor {
+
+    public static final Set<String> SORTABLE_FIELDS = Set.of("createdAt", "price", "title", "id");
+
+    private static final String KEY = "k";
+    private static final String NULL_KEY = "n";
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final Comparable<?> lastKey;
+    private final Long lastId;
+
+    private ServiceCursor(String sortBy, Sort.Direction direction, Comparable<?> lastKey, Long lastId) {
+        this.sortBy = sortBy;
+        this.direction = direction;
+        this.lastKey = lastKey;
+        this.lastId = lastId;
+    }
+
+    // Cursor for the first page of a listing
+    public static ServiceCursor first(String sortBy, String sortDir) {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination supports sortBy " + SORTABLE_FIELDS);
+        }
+        return new ServiceCursor(sortBy, Sort.Direction.fromString(sortDir), null, null);
+    }
+
+    public static ServiceCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            String sortBy = parts[0];
+            if (!SORTABLE_FIELDS.contains(sortBy)) {
+                throw new IllegalArgumentException("Unknown sort field");
+            }
+            Comparable<?> lastKey;
+            if (NULL_KEY.equals(parts[3]) && parts[4].isEmpty()) {
+                lastKey = null;
+            } else if (KEY.equals(parts[3])) {
+                lastKey = parseKey(sortBy, parts[4]);
+            } else {
+                throw new IllegalArgumentException("Unknown key flag");
+            }
+            return new ServiceCursor(sortBy, Sort.Direction.valueOf(parts[1]), lastKey, Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // Cursor that continues after the given row
+    public ServiceCursor after(Service last) {
+        return new ServiceCursor(sortBy, direction,
+            keyOf(last.getId(), last.getCreatedAt(), last.getPrice(), last.getTitle()), last.getId());
+    }
+
+    public ServiceCursor after(ServiceCardDTO last) {
+        return new ServiceCursor(sortBy, direction,
+            keyOf(last.getId(), last.getCreatedAt(), last.getPrice(), last.getTitle()), last.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy + "|" + direction.name() + "|" + lastId + "|"
+            + (lastKey == null ? NULL_KEY + "|" : KEY + "|" + lastKey);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The last row had no sort key, so only rows without one remain
+    public boolean isAfterNullKey() {
+        return lastId != null && lastKey == null;
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    private Comparable<?> keyOf(Long id, LocalDateTime createdAt, BigDecimal price, String title) {
+        switch (sortBy) {
+            case "createdAt": return createdAt;
+            case "price": return price;
+            case "title": return title;
+            default: return id;
+        }
+    }
+
+    private static Comparable<?> parseKey(String sortBy, String value) {
+        switch (sortBy) {
+            case "createdAt": return LocalDateTime.parse(value);
+            case "price": return new BigDecimal(value);
+            case "title": return value;
+            default: return Long.valueOf(value);
+        }
+    }
+
+    // Getters
+    public String getSortBy() { return sortBy; }
+    public Sort.Direction getDirection() { return direction; }
+    public Comparable<?> getLastKey() { return lastKey; }
+    public Long getLastId() { return lastId; }
+}
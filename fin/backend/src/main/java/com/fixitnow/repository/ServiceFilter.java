@@ -0,0 +1,140 @@
+package com.fixitnow.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Listing filters shared by the dynamic service queries in {@link ServiceRepositoryCustom}.
+ * Null or blank fields are ignored.
+ */
+public class ServiceFilter {
+    private String category;
+    private String subcategory;
+    private String location; // LIKE fallback for text the locality dictionary does not know
+    private Long cityId;
+    private Long localityId;
+    private BigDecimal minPrice; // inclusive
+    private BigDecimal maxPrice; // inclusive
+    private AvailabilityQuery availability; // Slot-bit test on the compiled availability columns
+    private String search; // LIKE fallback when the search index cannot answer
+    private Collection<Long> ids; // Restrict to ids already resolved in memory
+    private Long providerId;
+    private boolean activeOnly = true;
+    private boolean excludeDeleted = false;
+    private boolean withCoordinates = false;
+
+    public ServiceFilter() {}
+
+    // Public listing: active services that are not soft-deleted (the leading columns of idx_services_listing)
+    public static ServiceFilter publicListing(String category, String subcategory, String location) {
+        ServiceFilter filter = new ServiceFilter();
+        filter.setExcludeDeleted(true);
+        filter.setCategory(category);
+        filter.setSubcategory(subcategory);
+        filter.setLocation(location);
+        return filter;
+    }
+
+    // Provider's own services: active and inactive, but not soft-deleted
+    public static ServiceFilter providerListing(Long providerId) {
+        ServiceFilter filter = new ServiceFilter();
+        filter.setProviderId(providerId);
+        filter.setActiveOnly(false);
+        filter.setExcludeDeleted(true);
+        return filter;
+    }
+
+    // Map markers: live services that have been geocoded
+    public static ServiceFilter mapListing() {
+        ServiceFilter filter = new ServiceFilter();
+        filter.setExcludeDeleted(true);
+        filter.setWithCoordinates(true);
+        return filter;
+    }
+
+    // Admin list: everything that is not soft-deleted
+    public static ServiceFilter adminListing() {
+        ServiceFilter filter = new ServiceFilter();
+        filter.setActiveOnly(false);
+        filter.setExcludeDeleted(true);
+        return filter;
+    }
+
+    // Exact rows by id, whatever their state
+    public static ServiceFilter byIds(Collection<Long> ids) {
+        ServiceFilter filter = new ServiceFilter();
+        filter.setIds(ids);
+        filter.setActiveOnly(false);
+        return filter;
+    }
+
+    // True when category, subcategory, location, price, availability or an id restriction narrows the listing
+    public boolean hasListingFilters() {
+        return hasText(category) || hasText(subcategory) || hasText(location) || cityId != null || hasPriceRange()
+            || availability != null || ids != null;
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    // Narrows the id restriction; successive calls keep only ids present in both
+    public void restrictIds(Collection<Long> ids) {
+        if (this.ids == null) {
+            this.ids = ids;
+            return;
+        }
+        Set<Long> current = new HashSet<>(this.ids);
+        this.ids = ids.stream().filter(current::contains).collect(Collectors.toList());
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    // Getters and Setters
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getSubcategory() { return subcategory; }
+    public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Long getCityId() { return cityId; }
+    public void setCityId(Long cityId) { this.cityId = cityId; }
+
+    public Long getLocalityId() { return localityId; }
+    public void setLocalityId(Long localityId) { this.localityId = localityId; }
+
+    public BigDecimal getMinPrice() { return minPrice; }
+    public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
+    public AvailabilityQuery getAvailability() { return availability; }
+    public void setAvailability(AvailabilityQuery availability) { this.availability = availability; }
+
+    public String getSearch() { return search; }
+    public void setSearch(String search) { this.search = search; }
+
+    public Collection<Long> getIds() { return ids; }
+    public void setIds(Collection<Long> ids) { this.ids = ids; }
+
+    public Long getProviderId() { return providerId; }
+    public void setProviderId(Long providerId) { this.providerId = providerId; }
+
+    public boolean isActiveOnly() { return activeOnly; }
+    public void setActiveOnly(boolean activeOnly) { this.activeOnly = activeOnly; }
+
+    public boolean isExcludeDeleted() { return excludeDeleted; }
+    public void setExcludeDeleted(boolean excludeDeleted) { this.excludeDeleted = excludeDeleted; }
+
+    public boolean isWithCoordinates() { return withCoordinates; }
+    public void setWithCoordinates(boolean withCoordinates) { this.withCoordinates = withCoordinates; }
+}
@@ -1,49 +1,83 @@
 package com.fixitnow.repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.fixitnow.model.Service;
 import com.fixitnow.model.User;
 
 @Repository
-public interface ServiceRepository extends JpaRepository<Service, Long> {
+public interface ServiceRepository extends JpaRepository<Service, Long>, ServiceRepositoryCustom {
+
+    // Entity reads join the provider up front instead of one secondary select per provider
+    @Override
+    @EntityGraph(attributePaths = "provider")
+    List<Service> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "provider")
+    Page<Service> findAll(Pageable pageable);
+
     List<Service> findByProvider(User provider);
     
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByCategoryAndIsActive(String category, Boolean isActive);
     
+    @EntityGraph(attributePaths = "provider")
     List<Service> findBySubcategoryAndIsActive(String subcategory, Boolean isActive);
     
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByIsDeletedFalse();
     
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByIsDeletedTrue();
     
+    @EntityGraph(attributePaths = "provider")
     List<Service> findByIsActiveTrueAndIsDeletedFalse();
     
+    @EntityGraph(attributePaths = "provider")
     Optional<Service> findByIdAndIsActiveTrue(Long id);
     
+    @EntityGraph(attributePaths = "provider")
     Page<Service> findByProviderIdAndIsActiveTrue(Long providerId, Pageable pageable);
     
+    @EntityGraph(attributePaths = "provider")
     Page<Service> findByProviderId(Long providerId, Pageable pageable);
     
+    @EntityGraph(attributePaths = "provider")
     Page<Service> findByProviderIdAndIsDeletedFalse(Long providerId, Pageable pageable);
     
-    @Query("SELECT s FROM Service s WHERE s.category = :category AND s.location LIKE %:location% AND s.isActive = true")
-    List<Service> findByCategoryAndLocation(@Param("category") String category, @Param("location") String location);
-    
-    @Query("SELECT s FROM Service s WHERE s.location LIKE %:location% AND s.isActive = true")
-    List<Service> findByLocationContaining(@Param("location") String location);
-    
+    // Area ids come from LocalityDictionary.resolve; pass a null localityId for the whole city
+    @EntityGraph(attributePaths = "provider")
+    @Query("SELECT s FROM Service s WHERE s.cityId = :cityId AND " +
+           "(:localityId IS NULL OR s.localityId = :localityId) AND " +
+           "s.category = :category AND s.isActive = true")
+    List<Service> findByCategoryInArea(@Param("category") String category,
+                                       @Param("cityId") Long cityId,
+                                       @Param("localityId") Long localityId);
+    
+    @EntityGraph(attributePaths = "provider")
+    @Query("SELECT s FROM Service s WHERE s.cityId = :cityId AND " +
+           "(:localityId IS NULL OR s.localityId = :localityId) AND s.isActive = true")
+    List<Service> findInArea(@Param("cityId") Long cityId, @Param("localityId") Long localityId);
+    
+    @EntityGraph(attributePaths = "provider")
     @Query("SELECT s FROM Service s WHERE (s.title LIKE %:keyword% OR s.category LIKE %:keyword% OR s.subcategory LIKE %:keyword% OR s.description LIKE %:keyword%) AND s.isActive = true")
     List<Service> searchServices(@Param("keyword") String keyword);
     
+    @EntityGraph(attributePaths = "provider")
     @Query("SELECT s FROM Service s WHERE s.provider.id = :providerId AND s.isActive = true")
     List<Service> findActiveServicesByProvider(@Param("providerId") Long providerId);
     
@@ -53,55 +87,101 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     @Query("SELECT DISTINCT s.subcategory FROM Service s WHERE s.category = :category AND s.isActive = true ORDER BY s.subcategory")
     List<String> findDistinctSubcategoriesByCategory(@Param("category") String category);
     
-    @Query("SELECT s FROM Service s WHERE " +
-           "(:search IS NULL OR :search = '' OR " +
-           " s.title LIKE %:search% OR s.description LIKE %:search% OR " +
-           " s.category LIKE %:search% OR s.subcategory LIKE %:search%) AND " +
+    @Query("SELECT DISTINCT s.category, s.subcategory FROM Service s WHERE s.isActive = true ORDER BY s.category, s.subcategory")
+    List<Object[]> findDistinctCategoryPairs();
+    
+    @Query("SELECT s.category, s.subcategory, s.location, COUNT(s) FROM Service s WHERE " +
            "(:category IS NULL OR :category = '' OR s.category = :category) AND " +
            "(:subcategory IS NULL OR :subcategory = '' OR s.subcategory = :subcategory) AND " +
+           "(:cityId IS NULL OR s.cityId = :cityId) AND " +
+           "(:localityId IS NULL OR s.localityId = :localityId) AND " +
            "(:location IS NULL OR :location = '' OR s.location LIKE %:location%) AND " +
-           "s.isActive = true")
-    Page<Service> findBySearchCriteria(@Param("search") String search,
-                                     @Param("category") String category,
-                                     @Param("subcategory") String subcategory,
-                                     @Param("location") String location,
-                                     Pageable pageable);
-    
-    @Query("SELECT s FROM Service s WHERE " +
+           "s.isActive = true AND s.isDeleted = false " +
+           "GROUP BY s.category, s.subcategory, s.location")
+    List<Object[]> countByFacetCriteria(@Param("category") String category,
+                                        @Param("subcategory") String subcategory,
+                                        @Param("cityId") Long cityId,
+                                        @Param("localityId") Long localityId,
+                                        @Param("location") String location);
+
+    // Price histogram while the price index is warming up
+    @Query("SELECT s.price FROM Service s WHERE " +
            "(:category IS NULL OR :category = '' OR s.category = :category) AND " +
-           "(:subcategory IS NULL OR :subcategory = '' OR s.subcategory = :subcategory) AND " +
-           "(:location IS NULL OR :location = '' OR s.location LIKE %:location%) AND " +
-           "s.isActive = true")
-    Page<Service> findByFilterCriteria(@Param("category") String category,
-                                     @Param("subcategory") String subcategory,
-                                     @Param("location") String location,
-                                     Pageable pageable);
+           "(:minPrice IS NULL OR s.price >= :minPrice) AND (:maxPrice IS NULL OR s.price <= :maxPrice) AND " +
+           "s.isActive = true AND s.isDeleted = false ORDER BY s.price")
+    List<BigDecimal> findActivePrices(@Param("category") String category,
+                                      @Param("minPrice") BigDecimal minPrice,
+                                      @Param("maxPrice") BigDecimal maxPrice);
+
+    // Locality backfill; VERSIONED bumps Service.version so cached copies are revalidated
+    @Query("SELECT DISTINCT s.location FROM Service s WHERE s.cityId IS NULL AND s.location IS NOT NULL")
+    List<String> findUnresolvedLocations();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE VERSIONED Service s SET s.cityId = :cityId, s.localityId = :localityId " +
+           "WHERE s.location = :location AND s.cityId IS NULL")
+    int assignArea(@Param("location") String location,
+                   @Param("cityId") Long cityId,
+                   @Param("localityId") Long localityId);
+
+    // Availability backfill for rows written before the slot columns existed
+    @Query("SELECT s.id, s.availability FROM Service s WHERE s.availabilitySlots.monday IS NULL")
+    List<Object[]> findUncompiledAvailability();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE VERSIONED Service s SET s.availabilitySlots.monday = :mon, s.availabilitySlots.tuesday = :tue, " +
+           "s.availabilitySlots.wednesday = :wed, s.availabilitySlots.thursday = :thu, s.availabilitySlots.friday = :fri, " +
+           "s.availabilitySlots.saturday = :sat, s.availabilitySlots.sunday = :sun WHERE s.id = :id")
+    int assignAvailabilitySlots(@Param("id") Long id, @Param("mon") Long mon, @Param("tue") Long tue,
+                                @Param("wed") Long wed, @Param("thu") Long thu, @Param("fri") Long fri,
+                                @Param("sat") Long sat, @Param("sun") Long sun);
 
     // Location-based queries for map search
+    @EntityGraph(attributePaths = "provider")
     @Query("SELECT s FROM Service s WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL AND s.isActive = true AND s.isDeleted = false")
     List<Service> findAllWithCoordinates();
 
-    @Query("SELECT s FROM Service s WHERE " +
-           "s.latitude BETWEEN :minLat AND :maxLat AND " +
-           "s.longitude BETWEEN :minLng AND :maxLng AND " +
-           "s.isActive = true AND s.isDeleted = false")
-    List<Service> findServicesInBounds(@Param("minLat") Double minLat,
-                                     @Param("maxLat") Double maxLat,
-                                     @Param("minLng") Double minLng,
-                                     @Param("maxLng") Double maxLng);
-
-    @Query(value = "SELECT *, " +
-           "(6371 * acos(cos(radians(:lat)) * cos(radians(latitude)) * " +
-           "cos(radians(longitude) - radians(:lng)) + sin(radians(:lat)) * " +
-           "sin(radians(latitude)))) AS distance " +
-           "FROM services " +
-           "WHERE latitude IS NOT NULL AND longitude IS NOT NULL AND is_active = true AND is_deleted = false " +
-           "HAVING distance <= :radiusKm " +
-           "ORDER BY distance",
-           nativeQuery = true)
-    List<Service> findServicesWithinRadius(@Param("lat") Double lat,
-                                         @Param("lng") Double lng,
-                                         @Param("radiusKm") Double radiusKm);
+    // Geohash backfill for rows written before the column existed
+    @Query("SELECT s.id, s.latitude, s.longitude FROM Service s WHERE s.geohash IS NULL " +
+           "AND s.latitude IS NOT NULL AND s.longitude IS NOT NULL")
+    List<Object[]> findUnhashedCoordinates();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE VERSIONED Service s SET s.geohash = :geohash WHERE s.id = :id")
+    int assignGeohash(@Param("id") Long id, @Param("geohash") String geohash);
+
+    // Gazetteer backfill: rows saved with location text but without coordinates
+    @Query("SELECT DISTINCT s.location FROM Service s WHERE s.location IS NOT NULL " +
+           "AND (s.latitude IS NULL OR s.longitude IS NULL)")
+    List<String> findUngeocodedLocations();
+
+    @Query("SELECT s.id FROM Service s WHERE s.location = :location AND (s.latitude IS NULL OR s.longitude IS NULL)")
+    List<Long> findUngeocodedIdsAt(@Param("location") String location);
+
+    // Skips rows that got coordinates of their own since they were selected
+    @Modifying
+    @Transactional
+    @Query("UPDATE VERSIONED Service s SET s.latitude = :latitude, s.longitude = :longitude, " +
+           "s.geohash = :geohash, s.coordinatesGeocoded = true " +
+           "WHERE s.id IN :ids AND (s.latitude IS NULL OR s.longitude IS NULL)")
+    int assignGeocodedCoordinates(@Param("ids") Collection<Long> ids,
+                                  @Param("latitude") double latitude,
+                                  @Param("longitude") double longitude,
+                                  @Param("geohash") String geohash);
+
+    // Map rows for ids resolved by the spatial index, provider fetched in the same statement
+    @EntityGraph(attributePaths = "provider")
+    @Query("SELECT s FROM Service s WHERE s.id IN :ids")
+    List<Service> findWithProviderByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Providers among the candidates with a live service in the category (coverage warm-up path)
+    @Query("SELECT DISTINCT s.provider.id FROM Service s WHERE s.provider.id IN :providerIds AND " +
+           "s.category = :category AND s.isActive = true AND s.isDeleted = false")
+    List<Long> findProvidersOffering(@Param("providerIds") Collection<Long> providerIds,
+                                     @Param("category") String category);
     
     Long countByProviderIdAndIsActiveTrue(Long providerId);
 }
\ No newline at end of file
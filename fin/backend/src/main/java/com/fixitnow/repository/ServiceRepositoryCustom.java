@@ -0,0 +1,49 @@
+package com.fixitnow.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.fixitnow.dto.ServiceCardDTO;
+import com.fixitnow.model.Service;
+
+// Service queries that need predicates built at runtime
+public interface ServiceRepositoryCustom {
+
+    /**
+     * Keyset page: up to {@code limit} services ordered by the cursor's sort key and id,
+     * strictly after the cursor position. Issues no OFFSET and no COUNT query.
+     */
+    List<Service> findPageAfter(ServiceFilter filter, ServiceCursor cursor, int limit);
+
+    // Same as findPageAfter, projected to list-view cards
+    List<ServiceCardDTO> findCardPageAfter(ServiceFilter filter, ServiceCursor cursor, int limit);
+
+    /**
+     * Offset page of list-view cards. The COUNT query is skipped when the first page
+     * is not full; an unpaged request returns every match in the requested sort.
+     */
+    Page<ServiceCardDTO> findCards(ServiceFilter filter, Pageable pageable);
+
+    // Cards for the given ids, in the order of the ids; ids that no longer exist are skipped
+    List<ServiceCardDTO> findCardsByIds(List<Long> ids);
+
+    // Ids of every service matching the filter, unordered
+    List<Long> findIds(ServiceFilter filter);
+
+    /**
+     * Active services inside the box, provider fetched. The box becomes a few geohash ranges on
+     * idx_services_geohash, refined by the exact coordinates; minLng > maxLng wraps the antimeridian.
+     */
+    List<Service> findInBounds(double minLat, double maxLat, double minLng, double maxLng);
+
+    // Active services within radiusKm of the point, nearest first (geohash ranges, then haversine)
+    List<Service> findWithinRadius(double lat, double lng, double radiusKm);
+
+    /**
+     * The k active services nearest to the point, optionally of one category, nearest first.
+     * Doubles the search radius from a few kilometres until k services match.
+     */
+    List<Service> findNearest(double lat, double lng, int k, String category);
+}
@@ -0,0 +1,337 @@
+package com.fixitnow.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.fixitnow.dto.ServiceCardDTO;
+import com.fixitnow.geo.GeoMath;
+import com.fixitnow.geo.Geohash;
+import com.fixitnow.model.Review;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+public class ServiceRepositoryImpl implements ServiceRepositoryCustom {
+
+    // AvailabilitySlots attributes, Monday first like the query masks
+    private static final String[] AVAILABILITY_DAYS =
+        {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+
+    private static final double NEAREST_START_RADIUS_KM = 5;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Service> findPageAfter(ServiceFilter filter, ServiceCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Service> query = cb.createQuery(Service.class);
+        Root<Service> service = query.from(Service.class);
+        service.fetch("provider");
+
+        query.select(service);
+        return seek(cb, query, service, filter, cursor)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public List<ServiceCardDTO> findCardPageAfter(ServiceFilter filter, ServiceCursor cursor, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ServiceCardDTO> query = cb.createQuery(ServiceCardDTO.class);
+        Root<Service> service = query.from(Service.class);
+
+        query.select(cardSelection(cb, query, service));
+        return seek(cb, query, service, filter, cursor)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public Page<ServiceCardDTO> findCards(ServiceFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ServiceCardDTO> query = cb.createQuery(ServiceCardDTO.class);
+        Root<Service> service = query.from(Service.class);
+
+        query.select(cardSelection(cb, query, service))
+            .where(filterPredicates(cb, service, filter).toArray(new Predicate[0]))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), service, cb));
+
+        TypedQuery<ServiceCardDTO> typed = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            List<ServiceCardDTO> content = typed.getResultList();
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        List<ServiceCardDTO> content = typed
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        // Skip the COUNT when this page already shows where the result ends
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        return new PageImpl<>(content, pageable, count(cb, filter));
+    }
+
+    @Override
+    public List<ServiceCardDTO> findCardsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ServiceCardDTO> byId = new HashMap<>();
+        for (ServiceCardDTO card : findCards(ServiceFilter.byIds(ids), Pageable.unpaged())) {
+            byId.put(card.getId(), card);
+        }
+        List<ServiceCardDTO> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ServiceCardDTO card = byId.get(id);
+            if (card != null) {
+                ordered.add(card);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public List<Long> findIds(ServiceFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Service> service = query.from(Service.class);
+        query.select(service.get("id"))
+            .where(filterPredicates(cb, service, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Service> findInBounds(double minLat, double maxLat, double minLng, double maxLng) {
+        if (minLng > maxLng) {
+            List<Service> services = new ArrayList<>(findInBounds(minLat, maxLat, minLng, 180));
+            services.addAll(findInBounds(minLat, maxLat, -180, maxLng));
+            return services;
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Service> query = cb.createQuery(Service.class);
+        Root<Service> service = query.from(Service.class);
+        service.fetch("provider");
+
+        Expression<String> geohash = service.get("geohash");
+        List<Predicate> ranges = new ArrayList<>();
+        for (String[] range : Geohash.ranges(minLat, maxLat, minLng, maxLng)) {
+            Predicate from = cb.greaterThanOrEqualTo(geohash, range[0]);
+            ranges.add(range[1] == null ? from : cb.and(from, cb.lessThan(geohash, range[1])));
+        }
+        query.select(service).where(
+            cb.isTrue(service.get("isActive")),
+            cb.isFalse(service.get("isDeleted")),
+            cb.or(ranges.toArray(new Predicate[0])),
+            cb.between(service.get("latitude"), minLat, maxLat),
+            cb.between(service.get("longitude"), minLng, maxLng));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Service> findWithinRadius(double lat, double lng, double radiusKm) {
+        double[] box = GeoMath.radiusBounds(lat, lng, radiusKm);
+        Map<Service, Double> distances = new HashMap<>();
+        for (Service service : findInBounds(box[0], box[1], box[2], box[3])) {
+            double distance = GeoMath.distanceKm(lat, lng, service.getLatitude(), service.getLongitude());
+            if (distance <= radiusKm) {
+                distances.put(service, distance);
+            }
+        }
+        List<Service> services = new ArrayList<>(distances.keySet());
+        services.sort(Comparator.comparingDouble(distances::get));
+        return services;
+    }
+
+    @Override
+    public List<Service> findNearest(double lat, double lng, int k, String category) {
+        List<Service> matches = List.of();
+        for (double radiusKm = NEAREST_START_RADIUS_KM; ; radiusKm *= 2) {
+            matches = findWithinRadius(lat, lng, radiusKm);
+            if (hasText(category)) {
+                matches = matches.stream()
+                    .filter(service -> category.trim().equals(service.getCategory() == null ? null : service.getCategory().trim()))
+                    .collect(Collectors.toList());
+            }
+            // Half the equator covers every point on Earth
+            if (matches.size() >= k || radiusKm >= Math.PI * GeoMath.EARTH_RADIUS_KM) {
+                break;
+            }
+        }
+        return matches.size() > k ? matches.subList(0, k) : matches;
+    }
+
+    private long count(CriteriaBuilder cb, ServiceFilter filter) {
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Service> service = query.from(Service.class);
+        query.select(cb.count(service))
+            .where(filterPredicates(cb, service, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    // Applies the filter, the seek predicate and the (key, id) ordering of a keyset page
+    private <T> TypedQuery<T> seek(CriteriaBuilder cb, CriteriaQuery<T> query, Root<Service> service,
+                                   ServiceFilter filter, ServiceCursor cursor) {
+        List<Predicate> predicates = filterPredicates(cb, service, filter);
+        if (!cursor.isFirstPage()) {
+            predicates.add(seekPredicate(cb, service, cursor));
+        }
+
+        Expression<?> sortKey = service.get(cursor.getSortBy());
+        boolean ascending = cursor.getDirection() == Sort.Direction.ASC;
+        // Nulls last in both directions, whatever the database's default; seekPredicate relies on it
+        Order byKey = ((JpaOrder) (ascending ? cb.asc(sortKey) : cb.desc(sortKey))).nullPrecedence(NullPrecedence.LAST);
+        Order byId = ascending ? cb.asc(service.get("id")) : cb.desc(service.get("id"));
+        query.where(predicates.toArray(new Predicate[0])).orderBy(byKey, byId);
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Card columns only: no description body, availability JSON or provider profile fields.
+     * The provider is joined in the same statement and its rating is a correlated AVG, so a
+     * page of cards is a single query.
+     */
+    private CompoundSelection<ServiceCardDTO> cardSelection(CriteriaBuilder cb, CriteriaQuery<?> query,
+                                                            Root<Service> service) {
+        Join<Service, User> provider = service.join("provider");
+
+        Subquery<Double> rating = query.subquery(Double.class);
+        Root<Review> review = rating.from(Review.class);
+        rating.select(cb.avg(review.get("rating")))
+            .where(cb.equal(review.get("provider"), provider));
+
+        return cb.construct(ServiceCardDTO.class,
+            service.get("id"),
+            service.get("title"),
+            service.get("category"),
+            service.get("subcategory"),
+            cb.substring(service.get("description"), 1, ServiceCardDTO.DESCRIPTION_PREVIEW_LENGTH),
+            service.get("price"),
+            service.get("location"),
+            service.get("latitude"),
+            service.get("longitude"),
+            service.get("serviceImages"),
+            service.get("isActive"),
+            service.get("createdAt"),
+            provider.get("id"),
+            provider.get("name"),
+            provider.get("email"),
+            provider.get("profileImage"),
+            provider.get("isVerified"),
+            rating);
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Service> service, ServiceFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (hasText(filter.getCategory())) {
+            predicates.add(cb.equal(service.get("category"), filter.getCategory()));
+        }
+        if (hasText(filter.getSubcategory())) {
+            predicates.add(cb.equal(service.get("subcategory"), filter.getSubcategory()));
+        }
+        // City and locality together match the leading columns of idx_services_area
+        if (filter.getCityId() != null) {
+            predicates.add(cb.equal(service.get("cityId"), filter.getCityId()));
+        }
+        if (filter.getLocalityId() != null) {
+            predicates.add(cb.equal(service.get("localityId"), filter.getLocalityId()));
+        }
+        if (hasText(filter.getLocation())) {
+            predicates.add(cb.like(service.get("location"), "%" + filter.getLocation() + "%"));
+        }
+        if (filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(service.get("price"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(service.get("price"), filter.getMaxPrice()));
+        }
+        if (filter.getAvailability() != null) {
+            predicates.add(availabilityPredicate(cb, service, filter.getAvailability()));
+        }
+        if (hasText(filter.getSearch())) {
+            String pattern = "%" + filter.getSearch() + "%";
+            predicates.add(cb.or(
+                cb.like(service.get("title"), pattern),
+                cb.like(service.get("description"), pattern),
+                cb.like(service.get("category"), pattern),
+                cb.like(service.get("subcategory"), pattern)));
+        }
+        if (filter.getIds() != null) {
+            predicates.add(service.get("id").in(filter.getIds()));
+        }
+        if (filter.getProviderId() != null) {
+            predicates.add(cb.equal(service.get("provider").get("id"), filter.getProviderId()));
+        }
+        if (filter.isActiveOnly()) {
+            predicates.add(cb.isTrue(service.get("isActive")));
+        }
+        if (filter.isExcludeDeleted()) {
+            predicates.add(cb.isFalse(service.get("isDeleted")));
+        }
+        if (filter.isWithCoordinates()) {
+            predicates.add(cb.isNotNull(service.get("latitude")));
+            predicates.add(cb.isNotNull(service.get("longitude")));
+        }
+        return predicates;
+    }
+
+    // Same test as AvailabilityQuery.matches on the compiled columns: any asked day whose slot bits match
+    private Predicate availabilityPredicate(CriteriaBuilder cb, Root<Service> service, AvailabilityQuery query) {
+        List<Predicate> days = new ArrayList<>();
+        long[] masks = query.getMasks();
+        for (int day = 0; day < masks.length; day++) {
+            if (masks[day] == 0) {
+                continue;
+            }
+            Expression<Long> bits = cb.function("bitand", Long.class,
+                service.get("availabilitySlots").get(AVAILABILITY_DAYS[day]), cb.literal(masks[day]));
+            days.add(query.isRequireAll() ? cb.equal(bits, masks[day]) : cb.notEqual(bits, 0L));
+        }
+        return cb.or(days.toArray(new Predicate[0]));
+    }
+
+    // (key, id) strictly after the cursor in the listing order, where rows without a key come last
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate seekPredicate(CriteriaBuilder cb, Root<Service> service, ServiceCursor cursor) {
+        Expression key = service.get(cursor.getSortBy());
+        Expression<Long> id = service.get("id");
+        boolean ascending = cursor.getDirection() == Sort.Direction.ASC;
+        Predicate idAfter = ascending ? cb.greaterThan(id, cursor.getLastId()) : cb.lessThan(id, cursor.getLastId());
+        if (cursor.isAfterNullKey()) {
+            return cb.and(cb.isNull(key), idAfter);
+        }
+        Comparable lastKey = cursor.getLastKey();
+        Predicate keyAfter = ascending ? cb.greaterThan(key, lastKey) : cb.lessThan(key, lastKey);
+        return cb.or(keyAfter, cb.and(cb.equal(key, lastKey), idAfter), cb.isNull(key));
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -1,10 +1,14 @@
 package com.fixitnow.repository;
 
 import com.fixitnow.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,9 +28,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByIsDeletedTrue();
     
     List<User> findByRoleAndIsDeletedFalse(User.Role role);
-    
-    @Query("SELECT u FROM User u WHERE u.role = :role AND u.location LIKE %:location%")
-    List<User> findProvidersByLocation(@Param("role") User.Role role, @Param("location") String location);
+
+    // Serializes writers of rows hanging off one user, e.g. ServiceAreaService.replaceAreas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> lockById(@Param("id") Long id);
+    
+    // Area ids come from LocalityDictionary.resolve; pass a null localityId for the whole city
+    @Query("SELECT u FROM User u WHERE u.cityId = :cityId AND " +
+           "(:localityId IS NULL OR u.localityId = :localityId) AND u.role = :role")
+    List<User> findProvidersInArea(@Param("role") User.Role role,
+                                   @Param("cityId") Long cityId,
+                                   @Param("localityId") Long localityId);
+
+    // Locality backfill
+    @Query("SELECT DISTINCT u.location FROM User u WHERE u.cityId IS NULL AND u.location IS NOT NULL")
+    List<String> findUnresolvedLocations();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.cityId = :cityId, u.localityId = :localityId " +
+           "WHERE u.location = :location AND u.cityId IS NULL")
+    int assignArea(@Param("location") String location,
+                   @Param("cityId") Long cityId,
+                   @Param("localityId") Long localityId);
     
     @Query("SELECT u FROM User u WHERE u.role = 'PROVIDER' AND u.isActive = true AND u.isVerified = true")
     List<User> findActiveVerifiedProviders();
@@ -0,0 +1,161 @@
+package com.fixitnow.service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.dto.BookingStatsDTO;
+import com.fixitnow.model.Booking;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.ReviewRepository;
+import com.fixitnow.repository.ServiceRepository;
+
+/**
+ * Dashboard stats per user, computed from one GROUP BY status query (plus, for providers,
+ * the rating average and active service count) and kept for a short TTL.
+ *
+ * Booking writes invalidate both the customer's and the provider's entry. New reviews and
+ * service changes are only picked up when the entry expires.
+ */
+@Component
+public class DashboardStatsCache {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Value("${app.cache.dashboard-stats.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.cache.dashboard-stats.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<Long, CachedStats> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long writes = 0; // guarded by entries
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Customers see the bookings they made; providers (and admins) the bookings made with them
+    public BookingStatsDTO get(Long userId, boolean customer) {
+        synchronized (entries) {
+            CachedStats cached = entries.get(userId);
+            if (cached != null && System.nanoTime() - cached.storedAt > ttlSeconds * 1_000_000_000L) {
+                entries.remove(userId);
+                expirations.incrementAndGet();
+                cached = null;
+            }
+            if (cached != null && cached.customer == customer) {
+                hits.incrementAndGet();
+                return cached.stats;
+            }
+        }
+
+        misses.incrementAndGet();
+        long writesBefore = currentWrites();
+        BookingStatsDTO stats = customer ? customerStats(userId) : providerStats(userId);
+        synchronized (entries) {
+            // A booking changed while we were querying; the result may already be stale
+            if (writes == writesBefore) {
+                entries.put(userId, new CachedStats(stats, customer));
+                while (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return stats;
+    }
+
+    // A booking of this customer and provider was created or changed status
+    public void invalidate(Long customerId, Long providerId) {
+        synchronized (entries) {
+            if (entries.remove(customerId) != null) {
+                invalidations.incrementAndGet();
+            }
+            if (entries.remove(providerId) != null) {
+                invalidations.incrementAndGet();
+            }
+            writes++;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        long lookups = hits.get() + misses.get();
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits.get() / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private BookingStatsDTO customerStats(Long customerId) {
+        Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+        for (Object[] row : bookingRepository.summarizeByCustomer(customerId)) {
+            counts.put((Booking.BookingStatus) row[0], (Long) row[1]);
+        }
+        return stats(counts, 0.0, 0.0, 0L);
+    }
+
+    private BookingStatsDTO providerStats(Long providerId) {
+        Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+        double earnings = 0.0;
+        for (Object[] row : bookingRepository.summarizeByProvider(providerId)) {
+            counts.put((Booking.BookingStatus) row[0], (Long) row[1]);
+            if (row[0] == Booking.BookingStatus.COMPLETED && row[2] != null) {
+                earnings = ((Number) row[2]).doubleValue();
+            }
+        }
+        Double averageRating = reviewRepository.findAverageRatingByProviderId(providerId);
+        Long services = serviceRepository.countByProviderIdAndIsActiveTrue(providerId);
+        return stats(counts, earnings, averageRating != null ? averageRating : 0.0, services);
+    }
+
+    private static BookingStatsDTO stats(Map<Booking.BookingStatus, Long> counts, double earnings,
+                                         double avgRating, Long totalServices) {
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        long pending = counts.getOrDefault(Booking.BookingStatus.PENDING, 0L);
+        long confirmed = counts.getOrDefault(Booking.BookingStatus.CONFIRMED, 0L);
+        long completed = counts.getOrDefault(Booking.BookingStatus.COMPLETED, 0L);
+        return new BookingStatsDTO(total, pending, confirmed, completed, pending + confirmed,
+            earnings, avgRating, totalServices);
+    }
+
+    private long currentWrites() {
+        synchronized (entries) {
+            return writes;
+        }
+    }
+
+    private static final class CachedStats {
+        final BookingStatsDTO stats;
+        final boolean customer;
+        final long storedAt = System.nanoTime();
+
+        CachedStats(BookingStatsDTO stats, boolean customer) {
+            this.stats = stats;
+            this.customer = customer;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fixitnow.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fixitnow.geo.Geohash;
+import com.fixitnow.index.Gazetteer;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.ServiceRepository;
+
+/**
+ * Background job that gives services saved without coordinates the gazetteer position of
+ * their location text, so they show up on the map. Works one distinct location string at a
+ * time; text the gazetteer does not know is answered from its cache on later runs.
+ */
+@Component
+public class GeocodingBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodingBackfillService.class);
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @Scheduled(initialDelayString = "${app.geocoding.backfill-initial-delay-ms:30000}",
+               fixedDelayString = "${app.geocoding.backfill-interval-ms:600000}")
+    public void backfill() {
+        if (!serviceCatalog.isReady()) {
+            return; // the next run picks the rows up once the indexes can take the updates
+        }
+        int locations = 0;
+        int services = 0;
+        for (String location : serviceRepository.findUngeocodedLocations()) {
+            double[] point = gazetteer.geocode(location);
+            if (point == null) {
+                continue;
+            }
+            List<Long> ids = serviceRepository.findUngeocodedIdsAt(location);
+            for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE));
+                services += serviceRepository.assignGeocodedCoordinates(chunk, point[0], point[1],
+                    Geohash.of(point[0], point[1]));
+                for (Service service : serviceRepository.findWithProviderByIdIn(chunk)) {
+                    serviceCatalog.serviceSaved(service);
+                }
+            }
+            locations++;
+        }
+        if (services > 0) {
+            logger.info("Geocoding backfill placed {} services from {} locations", services, locations);
+        }
+    }
+}
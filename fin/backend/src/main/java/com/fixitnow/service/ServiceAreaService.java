@@ -0,0 +1,71 @@
+package com.fixitnow.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.index.ProviderCoverageIndex;
+import com.fixitnow.model.ServiceArea;
+import com.fixitnow.repository.ServiceAreaRepository;
+import com.fixitnow.repository.UserRepository;
+
+/**
+ * Writes a provider's service areas and keeps ProviderCoverageIndex in step with what was
+ * committed.
+ */
+@Component
+public class ServiceAreaService {
+
+    @Autowired
+    private ServiceAreaRepository serviceAreaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProviderCoverageIndex providerCoverageIndex;
+
+    private TransactionTemplate readTemplate;
+
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Replaces every area of the provider in one transaction. Concurrent replaces for the
+     * same provider queue on the provider row, so one set wins whole; the index is reloaded
+     * once the transaction has committed.
+     */
+    @Transactional
+    public List<ServiceArea> replaceAreas(Long providerId, List<ServiceArea> areas) {
+        userRepository.lockById(providerId)
+            .orElseThrow(() -> new IllegalArgumentException("provider " + providerId + " not found"));
+        serviceAreaRepository.deleteByProviderId(providerId);
+        List<ServiceArea> saved = serviceAreaRepository.saveAll(areas);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refresh(providerId);
+            }
+        });
+        return saved;
+    }
+
+    // Reads the committed areas, so a late callback from an older replace can't win
+    public synchronized void refresh(Long providerId) {
+        List<ServiceArea> committed = readTemplate.execute(
+            status -> serviceAreaRepository.findByProviderIdOrderByIdAsc(providerId));
+        providerCoverageIndex.setAreas(providerId, committed);
+    }
+}
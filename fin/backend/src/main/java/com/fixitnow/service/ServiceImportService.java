@@ -0,0 +1,337 @@
+package com.fixitnow.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fixitnow.dto.ServiceImportResult;
+import com.fixitnow.dto.ServiceImportRow;
+import com.fixitnow.geo.Geohash;
+import com.fixitnow.index.Gazetteer;
+import com.fixitnow.index.LocalityDictionary;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.model.AvailabilitySlots;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.UserRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk service import from NDJSON (one JSON object per line) or CSV (header row, then one
+ * service per line; quoted fields may not span lines).
+ *
+ * The input is read line by line and only one batch of rows is held at a time, so memory
+ * stays flat however many rows are sent. Rows are inserted with JDBC batch statements in one
+ * transaction per batch. A failing row is reported with its line number and does not stop
+ * the rest of the import.
+ */
+@Component
+public class ServiceImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceImportService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO services (provider_id, title, category, subcategory, "
+        + "description, price, availability, location, city_id, locality_id, latitude, longitude, "
+        + "geohash, coordinates_geocoded, service_images, is_active, is_deleted, created_at, "
+        + "avail_mon, avail_tue, avail_wed, avail_thu, avail_fri, avail_sat, avail_sun) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Value("${app.import.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LocalityDictionary localityDictionary;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    public ServiceImportResult importServices(BufferedReader reader, boolean csv, User caller) throws IOException {
+        long start = System.currentTimeMillis();
+        ServiceImportResult result = new ServiceImportResult();
+        Map<String, User> providers = new HashMap<>(); // each provider is looked up once per import
+        List<Service> batch = new ArrayList<>(batchSize);
+        List<Integer> batchLines = new ArrayList<>(batchSize);
+
+        String[] header = null;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = parseCsvLine(line);
+                continue;
+            }
+
+            result.rowRead();
+            try {
+                ServiceImportRow row = csv
+                    ? toRow(header, parseCsvLine(line))
+                    : objectMapper.readValue(line, ServiceImportRow.class);
+                batch.add(toService(row, caller, providers));
+                batchLines.add(lineNumber);
+            } catch (JsonProcessingException e) {
+                result.addError(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                result.addError(lineNumber, e.getMessage());
+            }
+
+            if (batch.size() >= batchSize) {
+                flush(batch, batchLines, result);
+            }
+        }
+        flush(batch, batchLines, result);
+
+        logger.info("Service import by user {}: {} rows, {} imported, {} failed in {} ms", caller.getId(),
+            result.getProcessed(), result.getImported(), result.getFailed(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private ServiceImportRow toRow(String[] header, String[] values) {
+        if (values.length > header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " columns but found " + values.length);
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (!values[i].isEmpty()) {
+                fields.put(header[i].trim(), values[i]);
+            }
+        }
+        try {
+            return objectMapper.convertValue(fields, ServiceImportRow.class);
+        } catch (IllegalArgumentException e) {
+            // Keep "Cannot deserialize ... from String "abc"" without the reference chain
+            throw e.getCause() instanceof JsonProcessingException
+                ? new IllegalArgumentException(((JsonProcessingException) e.getCause()).getOriginalMessage())
+                : e;
+        }
+    }
+
+    // Validates the row like POST /services does and builds the entity to insert
+    private Service toService(ServiceImportRow row, User caller, Map<String, User> providers) {
+        Set<ConstraintViolation<ServiceImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+        if (row.getAvailability() != null && !row.getAvailability().isBlank()) {
+            try {
+                objectMapper.readTree(row.getAvailability());
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("availability: must be a JSON document");
+            }
+        }
+
+        Service service = new Service();
+        service.setProvider(resolveProvider(row, caller, providers));
+        service.setTitle(row.getTitle());
+        service.setDescription(row.getDescription());
+        service.setCategory(row.getCategory());
+        service.setSubcategory(row.getSubcategory());
+        service.setPrice(row.getPrice());
+        service.setLocation(row.getLocation());
+        localityDictionary.applyTo(service);
+        service.setLatitude(row.getLatitude());
+        service.setLongitude(row.getLongitude());
+        service.setGeohash(Geohash.of(row.getLatitude(), row.getLongitude()));
+        gazetteer.applyTo(service);
+        service.setAvailability(row.getAvailability());
+        service.setAvailabilitySlots(AvailabilitySlots.compile(row.getAvailability()));
+        service.setServiceImages(row.getServiceImages());
+        service.setIsActive(true);
+        service.setIsDeleted(false);
+        service.setCreatedAt(LocalDateTime.now());
+        return service;
+    }
+
+    // Providers import their own services; admins name the provider on every row
+    private User resolveProvider(ServiceImportRow row, User caller, Map<String, User> providers) {
+        if (caller.getRole() != User.Role.ADMIN) {
+            boolean otherId = row.getProviderId() != null && !row.getProviderId().equals(caller.getId());
+            boolean otherEmail = row.getProviderEmail() != null && !row.getProviderEmail().equalsIgnoreCase(caller.getEmail());
+            if (otherId || otherEmail) {
+                throw new IllegalArgumentException("Providers can only import their own services");
+            }
+            return caller;
+        }
+
+        String key;
+        if (row.getProviderId() != null) {
+            key = "id:" + row.getProviderId();
+        } else if (row.getProviderEmail() != null && !row.getProviderEmail().isBlank()) {
+            key = "email:" + row.getProviderEmail().trim().toLowerCase();
+        } else {
+            throw new IllegalArgumentException("providerId or providerEmail is required");
+        }
+        if (!providers.containsKey(key)) {
+            User provider = row.getProviderId() != null
+                ? userRepository.findById(row.getProviderId()).orElse(null)
+                : userRepository.findByEmail(row.getProviderEmail().trim()).orElse(null);
+            boolean valid = provider != null && provider.getRole() == User.Role.PROVIDER
+                && !Boolean.TRUE.equals(provider.getIsDeleted());
+            providers.put(key, valid ? provider : null); // misses are remembered too
+        }
+        User provider = providers.get(key);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown provider " + key.substring(key.indexOf(':') + 1));
+        }
+        return provider;
+    }
+
+    private void flush(List<Service> batch, List<Integer> batchLines, ServiceImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> insert(batch));
+            saved(batch, ids, result);
+        } catch (DataAccessException e) {
+            // The batch was rolled back; retry row by row so only the offending rows are reported
+            for (int i = 0; i < batch.size(); i++) {
+                List<Service> single = List.of(batch.get(i));
+                try {
+                    saved(single, transactionTemplate.execute(status -> insert(single)), result);
+                } catch (DataAccessException rowError) {
+                    result.addError(batchLines.get(i), "Insert failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private List<Long> insert(List<Service> services) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> insert(connection, services));
+    }
+
+    private List<Long> insert(Connection connection, List<Service> services) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (Service service : services) {
+                statement.setLong(1, service.getProvider().getId());
+                statement.setString(2, service.getTitle());
+                statement.setString(3, service.getCategory());
+                statement.setString(4, service.getSubcategory());
+                statement.setString(5, service.getDescription());
+                statement.setBigDecimal(6, service.getPrice() != null ? service.getPrice() : BigDecimal.ZERO);
+                statement.setString(7, service.getAvailability());
+                statement.setString(8, service.getLocation());
+                statement.setObject(9, service.getCityId());
+                statement.setObject(10, service.getLocalityId());
+                statement.setObject(11, service.getLatitude());
+                statement.setObject(12, service.getLongitude());
+                statement.setString(13, service.getGeohash());
+                statement.setBoolean(14, Boolean.TRUE.equals(service.getCoordinatesGeocoded()));
+                statement.setString(15, service.getServiceImages());
+                statement.setBoolean(16, true);
+                statement.setBoolean(17, false);
+                statement.setTimestamp(18, Timestamp.valueOf(service.getCreatedAt()));
+                long[] week = service.getAvailabilitySlots().toArray();
+                for (int day = 0; day < week.length; day++) {
+                    statement.setLong(19 + day, week[day]);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+            List<Long> ids = new ArrayList<>(services.size());
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                while (keys.next()) {
+                    ids.add(keys.getLong(1));
+                }
+            }
+            if (ids.size() != services.size()) {
+                throw new IllegalStateException("Expected " + services.size() + " generated ids but got " + ids.size());
+            }
+            return ids;
+        }
+    }
+
+    // Committed rows get their ids and go to the in-memory indexes like single creates do
+    private void saved(List<Service> services, List<Long> ids, ServiceImportResult result) {
+        for (int i = 0; i < services.size(); i++) {
+            Service service = services.get(i);
+            service.setId(ids.get(i));
+            serviceCatalog.serviceSaved(service);
+        }
+        result.rowsImported(services.size());
+    }
+
+    // RFC 4180 fields on a single line: commas separate, double quotes wrap, "" escapes a quote
+    static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+}
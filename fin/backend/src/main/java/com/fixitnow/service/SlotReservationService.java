@@ -0,0 +1,281 @@
+package com.fixitnow.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fixitnow.dto.BookingSlotDTO;
+import com.fixitnow.index.ProviderCalendarIndex;
+import com.fixitnow.model.AvailabilitySlots;
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.BookingSlotCell;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.BookingRepository;
+import com.fixitnow.repository.BookingSlotCellRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Gives every half-hour cell of a provider's day to at most one live booking, so bookings of
+ * a provider never overlap, whatever service or start time they were made for.
+ *
+ * A new booking must start at one of its service's bookable starts (AvailabilitySlots.starts),
+ * fit inside the same available stretch for all of its hours, and holds one
+ * booking_slot_cells row per cell it covers. Within a node, bookings of one
+ * provider are serialized on a striped lock, so the check and the insert cannot interleave
+ * and a taken slot is reported without touching the unique key. Across nodes,
+ * uk_booking_slot_cells is the guarantee; losing that race surfaces as the same
+ * SlotTakenException.
+ */
+@Component
+public class SlotReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotReservationService.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int SUGGESTION_DAYS = 7;
+    private static final int MAX_SUGGESTIONS = 5;
+    private static final int MAX_BOOKING_HOURS = 8; // the longest the booking page offers
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSlotCellRepository bookingSlotCellRepository;
+
+    @Autowired
+    private ProviderCalendarIndex providerCalendarIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+
+    public SlotReservationService() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Gives cells to upcoming bookings made before the cells table existed, earliest booking
+     * first. A booking overlapping an earlier one keeps its status but holds nothing, so it
+     * must be sorted out with the customers by hand.
+     */
+    @PostConstruct
+    public void init() {
+        int held = 0;
+        int overlapping = 0;
+        for (Booking booking : bookingRepository.findLiveWithoutCells(LocalDate.now())) {
+            long cells = cellsOf(booking);
+            if (cells == 0) {
+                continue; // free text slots do not map onto the grid
+            }
+            Long providerId = booking.getProvider().getId();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (bookingSlotCellRepository.existsCell(providerId, booking.getBookingDate(), list(cells))) {
+                        throw new SlotTakenException(List.of());
+                    }
+                    insertCells(booking, cells);
+                });
+                providerCalendarIndex.hold(providerId, booking.getBookingDate(), cells);
+                held++;
+            } catch (SlotTakenException | DataIntegrityViolationException e) {
+                overlapping++;
+            }
+        }
+        if (held > 0 || overlapping > 0) {
+            logger.info("Booking slot backfill held {} bookings; {} overlap an earlier booking", held, overlapping);
+        }
+    }
+
+    // Saves a new booking holding its slot, or throws SlotTakenException with free alternatives.
+    // A time that is not one of the service's bookable starts is an IllegalArgumentException.
+    public Booking reserve(Booking booking) {
+        int hours = hours(booking);
+        if (hours < 1 || hours > MAX_BOOKING_HOURS) {
+            throw new IllegalArgumentException("A booking lasts 1 to " + MAX_BOOKING_HOURS + " hours");
+        }
+        booking.setDurationHours(hours);
+        LocalTime start = parse(booking.getTimeSlot());
+        long day = availability(booking.getService())[booking.getBookingDate().getDayOfWeek().getValue() - 1];
+        if (start == null || !bookable(day, start, hours)) {
+            throw new IllegalArgumentException("The service cannot be booked for " + hours + " hour(s) at "
+                + booking.getTimeSlot() + " on " + booking.getBookingDate());
+        }
+        return hold(booking, booking.getStatus());
+    }
+
+    // Status change; cancelling releases the slot and reviving a cancelled booking takes it again
+    public Booking updateStatus(Booking booking, Booking.BookingStatus status) {
+        Booking.BookingStatus previous = booking.getStatus();
+        booking.setStatus(status);
+        if (status == Booking.BookingStatus.CANCELLED) {
+            int released = transactionTemplate.execute(tx -> {
+                bookingRepository.save(booking);
+                return bookingSlotCellRepository.deleteByBookingId(booking.getId());
+            });
+            // A booking the backfill found overlapping holds no cells, so it has none to free
+            if (released > 0) {
+                providerCalendarIndex.release(booking.getProvider().getId(), booking.getBookingDate(),
+                    cellsOf(booking));
+            }
+            return booking;
+        }
+        return previous != Booking.BookingStatus.CANCELLED ? bookingRepository.save(booking) : hold(booking, previous);
+    }
+
+    private Booking hold(Booking booking, Booking.BookingStatus previous) {
+        Long providerId = booking.getProvider().getId();
+        LocalDate date = booking.getBookingDate();
+        long cells = cellsOf(booking);
+        ReentrantLock lock = stripes[Math.floorMod(Long.hashCode(providerId) * 31, LOCK_STRIPES)];
+        lock.lock();
+        try {
+            if (cells != 0 && bookingSlotCellRepository.existsCell(providerId, date, list(cells))) {
+                booking.setStatus(previous);
+                throw new SlotTakenException(alternatives(booking));
+            }
+            Booking saved;
+            try {
+                // The booking and its cells commit together, before the lock is released
+                saved = transactionTemplate.execute(tx -> {
+                    Booking row = bookingRepository.save(booking);
+                    insertCells(row, cells);
+                    return row;
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Another node committed an overlapping booking between our check and insert
+                booking.setStatus(previous);
+                throw new SlotTakenException(alternatives(booking));
+            }
+            providerCalendarIndex.hold(providerId, date, cells);
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void insertCells(Booking booking, long cells) {
+        List<BookingSlotCell> rows = new ArrayList<>();
+        for (int cell : list(cells)) {
+            rows.add(new BookingSlotCell(booking.getId(), booking.getProvider().getId(), booking.getBookingDate(), cell));
+        }
+        bookingSlotCellRepository.saveAllAndFlush(rows);
+    }
+
+    /**
+     * Free starts of the service's weekly availability for a booking as long as this one,
+     * nearest to the requested time on the requested day first, then the following days in
+     * time order.
+     */
+    private List<BookingSlotDTO> alternatives(Booking booking) {
+        LocalDate from = booking.getBookingDate();
+        LocalDate to = from.plusDays(SUGGESTION_DAYS - 1);
+        Map<LocalDate, Long> busy = new HashMap<>();
+        for (Object[] row : bookingSlotCellRepository.findCells(booking.getProvider().getId(), from, to)) {
+            busy.merge((LocalDate) row[0], 1L << (Integer) row[1], (a, b) -> a | b);
+        }
+
+        long[] week = availability(booking.getService());
+        LocalDateTime now = LocalDateTime.now();
+        LocalTime requested = parse(booking.getTimeSlot());
+        int hours = hours(booking);
+
+        List<BookingSlotDTO> suggestions = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to) && suggestions.size() < MAX_SUGGESTIONS; date = date.plusDays(1)) {
+            List<LocalTime> starts = new ArrayList<>();
+            long day = week[date.getDayOfWeek().getValue() - 1];
+            long taken = busy.getOrDefault(date, 0L);
+            for (LocalTime start : AvailabilitySlots.starts(day, AvailabilitySlots.SLOTS_PER_BOOKING)) {
+                if (bookable(day, start, hours) && (AvailabilitySlots.booking(start, hours) & taken) == 0
+                        && date.atTime(start).isAfter(now)) {
+                    starts.add(start);
+                }
+            }
+            if (date.equals(from) && requested != null) {
+                starts.sort((a, b) -> Integer.compare(Math.abs(a.toSecondOfDay() - requested.toSecondOfDay()),
+                                                      Math.abs(b.toSecondOfDay() - requested.toSecondOfDay())));
+            }
+            for (LocalTime start : starts) {
+                if (suggestions.size() == MAX_SUGGESTIONS) {
+                    break;
+                }
+                suggestions.add(new BookingSlotDTO(date, start.toString()));
+            }
+        }
+        return suggestions;
+    }
+
+    private static long[] availability(Service service) {
+        AvailabilitySlots availability = service.getAvailabilitySlots() != null
+            ? service.getAvailabilitySlots() : AvailabilitySlots.compile(service.getAvailability());
+        return availability.toArray();
+    }
+
+    // A start on the service's hourly grid whose hours all fall in the same available stretch
+    private static boolean bookable(long day, LocalTime start, int hours) {
+        long cells = AvailabilitySlots.booking(start, hours);
+        return Long.bitCount(cells) == hours * AvailabilitySlots.SLOTS_PER_BOOKING && (cells & ~day) == 0
+            && AvailabilitySlots.starts(day, AvailabilitySlots.SLOTS_PER_BOOKING).contains(start);
+    }
+
+    // Half hours held by the booking; none for a time slot that is not a time.
+    // "9:00" and "09:00 " are the same start.
+    private static long cellsOf(Booking booking) {
+        LocalTime start = parse(booking.getTimeSlot());
+        return start != null ? AvailabilitySlots.booking(start, hours(booking)) : 0L;
+    }
+
+    private static int hours(Booking booking) {
+        return booking.getDurationHours() != null ? booking.getDurationHours() : 1;
+    }
+
+    private static List<Integer> list(long cells) {
+        List<Integer> list = new ArrayList<>(Long.bitCount(cells));
+        for (int cell = 0; cell < AvailabilitySlots.SLOTS_PER_DAY; cell++) {
+            if ((cells & (1L << cell)) != 0) {
+                list.add(cell);
+            }
+        }
+        return list;
+    }
+
+    private static LocalTime parse(String timeSlot) {
+        if (timeSlot == null) {
+            return null;
+        }
+        try {
+            String text = timeSlot.trim();
+            return LocalTime.parse(text.length() == 4 ? "0" + text : text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // The requested slot is held by another live booking of the provider
+    public static class SlotTakenException extends RuntimeException {
+        private final List<BookingSlotDTO> alternatives;
+
+        public SlotTakenException(List<BookingSlotDTO> alternatives) {
+            super("This time slot is already booked");
+            this.alternatives = alternatives;
+        }
+
+        public List<BookingSlotDTO> getAlternatives() { return alternatives; }
+    }
+}
@@ -0,0 +1,5 @@
+-- Areas go with their provider: deleting a user row removes its service areas, which
+-- AdminController.deleteUser relies on.
+ALTER TABLE service_areas DROP CONSTRAINT fk_service_areas_provider;
+ALTER TABLE service_areas ADD CONSTRAINT fk_service_areas_provider
+    FOREIGN KEY (provider_id) REFERENCES users (id) ON DELETE CASCADE;
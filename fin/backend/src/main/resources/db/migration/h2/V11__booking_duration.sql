@@ -0,0 +1,3 @@
+-- How many hours a booking lasts. It holds booking_slot_cells for all of them; earlier
+-- bookings were one hour long.
+ALTER TABLE bookings ADD COLUMN duration_hours INT DEFAULT 1 NOT NULL;
@@ -0,0 +1,10 @@
+-- Weekly availability compiled from services.availability (JSON) on every write:
+-- one column per weekday, bit n set when the half hour starting at n * 30 minutes is bookable.
+-- Null until the row is compiled; ServiceAvailabilityIndex backfills existing rows at startup.
+ALTER TABLE services ADD COLUMN avail_mon BIGINT;
+ALTER TABLE services ADD COLUMN avail_tue BIGINT;
+ALTER TABLE services ADD COLUMN avail_wed BIGINT;
+ALTER TABLE services ADD COLUMN avail_thu BIGINT;
+ALTER TABLE services ADD COLUMN avail_fri BIGINT;
+ALTER TABLE services ADD COLUMN avail_sat BIGINT;
+ALTER TABLE services ADD COLUMN avail_sun BIGINT;
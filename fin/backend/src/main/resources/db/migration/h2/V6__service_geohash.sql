@@ -0,0 +1,5 @@
+-- Geohash of each service's coordinates (12 characters, computed by the application on write).
+-- Bounds and radius queries expand into a few prefix ranges on this index, so the database can
+-- answer map queries without the in-memory spatial index. Existing rows are hashed at startup.
+ALTER TABLE services ADD COLUMN geohash VARCHAR(12);
+CREATE INDEX idx_services_geohash ON services (is_active, is_deleted, geohash);
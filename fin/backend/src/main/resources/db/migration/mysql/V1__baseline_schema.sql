@@ -0,0 +1,146 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Databases created that way are baselined at this version and skip this script.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100),
+    email VARCHAR(100),
+    password VARCHAR(120),
+    role ENUM('ADMIN','CUSTOMER','PROVIDER'),
+    location VARCHAR(255),
+    phone VARCHAR(255),
+    profile_image VARCHAR(255),
+    document_type VARCHAR(255),
+    verification_document VARCHAR(255),
+    verification_rejection_reason TEXT,
+    is_active BOOLEAN DEFAULT TRUE,
+    is_verified BOOLEAN DEFAULT FALSE,
+    created_at DATETIME(6),
+    is_deleted BOOLEAN DEFAULT FALSE,
+    deleted_at DATETIME(6),
+    bio VARCHAR(255),
+    experience VARCHAR(255),
+    service_area VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE services (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    provider_id BIGINT NOT NULL,
+    title VARCHAR(100),
+    category VARCHAR(255),
+    subcategory VARCHAR(255),
+    description TEXT,
+    price DECIMAL(10,2) NOT NULL,
+    availability JSON,
+    location VARCHAR(255),
+    latitude FLOAT(53),
+    longitude FLOAT(53),
+    service_images VARCHAR(255),
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at DATETIME(6),
+    is_deleted BOOLEAN DEFAULT FALSE,
+    deleted_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKe0b0175l27ffcser90cjoots1 FOREIGN KEY (provider_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    service_id BIGINT NOT NULL,
+    booking_date DATE NOT NULL,
+    time_slot VARCHAR(255) NOT NULL,
+    status ENUM('CANCELLED','COMPLETED','CONFIRMED','PENDING'),
+    notes VARCHAR(255),
+    urgency_level VARCHAR(255),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKib6gjgj2e9binkktxmm175bmm FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT FKnuv5epx29ao9njgi1cosrcsjr FOREIGN KEY (provider_id) REFERENCES users (id),
+    CONSTRAINT FKjcwbou2jlblfwu14uoxs65b25 FOREIGN KEY (service_id) REFERENCES services (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reviews (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    rating INTEGER NOT NULL,
+    comment TEXT,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FK28an517hrxtt2bsg93uefugrm FOREIGN KEY (booking_id) REFERENCES bookings (id),
+    CONSTRAINT FKkquncb1glvrldaui8v52xfd5q FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT FK6v6isw4stf5vu1fktr1whlx06 FOREIGN KEY (provider_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE disputes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    reporter_id BIGINT NOT NULL,
+    description TEXT,
+    status ENUM('OPEN','REJECTED','RESOLVED'),
+    refund_amount DECIMAL(38,2),
+    admin_note TEXT,
+    created_at DATETIME(6),
+    resolved_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKmbmkglcru85cdq73ih2ko4m1k FOREIGN KEY (booking_id) REFERENCES bookings (id),
+    CONSTRAINT FKnmf697ewatlv7nwuj48a9icfo FOREIGN KEY (reporter_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sender_id BIGINT NOT NULL,
+    receiver_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    sent_at DATETIME(6),
+    is_read BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (id),
+    CONSTRAINT FK4ui4nnwntodh6wjvck53dbk9m FOREIGN KEY (sender_id) REFERENCES users (id),
+    CONSTRAINT FKt05r0b6n0iis8u7dfna4xdh73 FOREIGN KEY (receiver_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE chat_rooms (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    room_id VARCHAR(255) NOT NULL,
+    customer_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    booking_id BIGINT,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    is_active BOOLEAN DEFAULT TRUE,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_tmf6ectlc88brf0myju8ry0yt UNIQUE (room_id),
+    CONSTRAINT FK42l1eff8qlbln1331stm3ml2h FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT FKlh6hqe9gi639yde8g2xsfogee FOREIGN KEY (provider_id) REFERENCES users (id),
+    CONSTRAINT FK35o6bnt0ye3v1po75b4pm1o0 FOREIGN KEY (booking_id) REFERENCES bookings (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE chat_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    chat_room_id BIGINT NOT NULL,
+    sender_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    message_type ENUM('FILE','IMAGE','SYSTEM','TEXT'),
+    sent_at DATETIME(6),
+    is_read BOOLEAN DEFAULT FALSE,
+    PRIMARY KEY (id),
+    CONSTRAINT FKbcsxusjp1v4rd8879fhvq8ssb FOREIGN KEY (chat_room_id) REFERENCES chat_rooms (id),
+    CONSTRAINT FKgiqeap8ays4lf684x7m0r2729 FOREIGN KEY (sender_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE password_reset_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL,
+    expiry_time DATETIME(6) NOT NULL,
+    used BIT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UK_71lqwbwtklmljk3qlsugr1mig UNIQUE (token),
+    CONSTRAINT FKk3ndxg5xp6v7wd4gjyusp15gq FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,49 @@
+-- Composite indexes for the queries in com.fixitnow.repository.
+-- Leading columns follow the equality predicates; trailing columns cover the ORDER BY or the
+-- aggregated column so those queries can be answered from the index.
+
+-- ServiceRepository: listing filters, facets and taxonomy (is_active, is_deleted, category, subcategory)
+CREATE INDEX idx_services_listing ON services (is_active, is_deleted, category, subcategory);
+-- Default listing order and keyset cursor on (created_at, id)
+CREATE INDEX idx_services_active_created ON services (is_active, created_at, id);
+-- my-services, findByProviderId*, countByProviderIdAndIsActiveTrue
+CREATE INDEX idx_services_provider ON services (provider_id, is_deleted, created_at);
+-- findServicesInBounds, findAllWithCoordinates: equality flags first, then the latitude range
+CREATE INDEX idx_services_coordinates ON services (is_active, is_deleted, latitude, longitude);
+
+-- BookingRepository: per-user status filters and counts
+CREATE INDEX idx_bookings_provider_status ON bookings (provider_id, status);
+CREATE INDEX idx_bookings_customer_status ON bookings (customer_id, status);
+-- find*OrderByCreatedAtDesc
+CREATE INDEX idx_bookings_provider_created ON bookings (provider_id, created_at);
+CREATE INDEX idx_bookings_customer_created ON bookings (customer_id, created_at);
+-- findByProviderAndDate
+CREATE INDEX idx_bookings_provider_date ON bookings (provider_id, booking_date, time_slot);
+-- findByStatus
+CREATE INDEX idx_bookings_status ON bookings (status, created_at);
+
+-- ReviewRepository: AVG / COUNT by provider, optionally by rating
+CREATE INDEX idx_reviews_provider_rating ON reviews (provider_id, rating);
+
+-- MessageRepository: conversation reads and unread counters
+CREATE INDEX idx_messages_sender_receiver_read ON messages (sender_id, receiver_id, is_read);
+CREATE INDEX idx_messages_receiver_read ON messages (receiver_id, is_read);
+
+-- ChatMessageRepository: room history, last message and unread count
+CREATE INDEX idx_chat_messages_room_sent ON chat_messages (chat_room_id, sent_at);
+CREATE INDEX idx_chat_messages_room_read ON chat_messages (chat_room_id, is_read, sender_id);
+
+-- ChatRoomRepository: rooms per participant
+CREATE INDEX idx_chat_rooms_customer_provider ON chat_rooms (customer_id, provider_id, is_active);
+CREATE INDEX idx_chat_rooms_provider_active ON chat_rooms (provider_id, is_active, updated_at);
+
+-- UserRepository: provider lists
+CREATE INDEX idx_users_role_verified ON users (role, is_verified, is_active);
+CREATE INDEX idx_users_role_deleted ON users (role, is_deleted);
+
+-- PasswordResetTokenRepository
+CREATE INDEX idx_password_reset_tokens_user_used ON password_reset_tokens (user_id, used);
+CREATE INDEX idx_password_reset_tokens_expiry ON password_reset_tokens (expiry_time, used);
+
+-- DisputeRepository.findByStatus
+CREATE INDEX idx_disputes_status ON disputes (status);
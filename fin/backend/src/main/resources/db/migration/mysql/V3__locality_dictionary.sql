@@ -0,0 +1,152 @@
+-- Locality dictionary: cities and localities with their common alternate spellings.
+-- Free-text locations are resolved against it when a service or user is saved, and the
+-- resulting ids are stored on the row so location filters are indexed equality lookups.
+-- aliases is a comma separated list of lowercase alternate names.
+
+CREATE TABLE cities (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    state VARCHAR(100),
+    aliases VARCHAR(500),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cities_name UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE localities (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    city_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    aliases VARCHAR(500),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_localities_city_name UNIQUE (city_id, name),
+    CONSTRAINT fk_localities_city FOREIGN KEY (city_id) REFERENCES cities (id)
+) ENGINE=InnoDB;
+
+-- Resolved area of the free-text location; null when the text is not in the dictionary
+ALTER TABLE services ADD COLUMN city_id BIGINT;
+ALTER TABLE services ADD COLUMN locality_id BIGINT;
+ALTER TABLE users ADD COLUMN city_id BIGINT;
+ALTER TABLE users ADD COLUMN locality_id BIGINT;
+
+-- ServiceRepositoryImpl location filter, ServiceRepository.find*InArea
+CREATE INDEX idx_services_area ON services (city_id, locality_id, is_active, is_deleted);
+-- UserRepository.findProvidersInArea
+CREATE INDEX idx_users_area ON users (city_id, locality_id, role);
+
+INSERT INTO cities (name, state, aliases) VALUES
+    ('Delhi', 'Delhi', 'new delhi,ncr'),
+    ('Mumbai', 'Maharashtra', 'bombay'),
+    ('Bengaluru', 'Karnataka', 'bangalore,blr'),
+    ('Hyderabad', 'Telangana', 'hyd'),
+    ('Chennai', 'Tamil Nadu', 'madras'),
+    ('Kolkata', 'West Bengal', 'calcutta'),
+    ('Pune', 'Maharashtra', 'poona'),
+    ('Gurugram', 'Haryana', 'gurgaon'),
+    ('Noida', 'Uttar Pradesh', NULL),
+    ('Ahmedabad', 'Gujarat', 'amdavad'),
+    ('Jaipur', 'Rajasthan', 'pink city');
+
+-- Delhi
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Connaught Place', 'cp,connaught circus,rajiv chowk' FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'India Gate', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Khan Market', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Lajpat Nagar', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Karol Bagh', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Vasant Vihar', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'South Extension', 'south ex,south extension part 1,south extension part 2' FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Nehru Place', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Chandni Chowk', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Hauz Khas', 'hauz khas village,hkv' FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Saket', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Dwarka', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Rohini', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Greater Kailash', 'gk,gk 1,gk 2,greater kailash 1,greater kailash 2' FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Janakpuri', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Rajouri Garden', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Mayur Vihar', NULL FROM cities WHERE name = 'Delhi';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Pitampura', NULL FROM cities WHERE name = 'Delhi';
+
+-- Mumbai
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Andheri', 'andheri east,andheri west' FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Bandra', 'bandra west,bandra east' FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Powai', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Dadar', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Colaba', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Juhu', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Lower Parel', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Borivali', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Chembur', NULL FROM cities WHERE name = 'Mumbai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Goregaon', NULL FROM cities WHERE name = 'Mumbai';
+
+-- Bengaluru
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Koramangala', NULL FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Indiranagar', 'indira nagar' FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Whitefield', NULL FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'HSR Layout', 'hsr' FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Jayanagar', NULL FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Electronic City', 'e city,electronics city' FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Marathahalli', NULL FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Malleshwaram', 'malleswaram' FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'BTM Layout', 'btm' FROM cities WHERE name = 'Bengaluru';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'JP Nagar', 'j p nagar' FROM cities WHERE name = 'Bengaluru';
+
+-- Hyderabad
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Banjara Hills', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Jubilee Hills', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'HITEC City', 'hitech city,hi tech city,hi-tec city' FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Gachibowli', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Madhapur', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Kukatpally', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Secunderabad', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Ameerpet', NULL FROM cities WHERE name = 'Hyderabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Kondapur', NULL FROM cities WHERE name = 'Hyderabad';
+
+-- Chennai
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'T Nagar', 't. nagar,thyagaraya nagar' FROM cities WHERE name = 'Chennai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Adyar', NULL FROM cities WHERE name = 'Chennai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Velachery', NULL FROM cities WHERE name = 'Chennai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Anna Nagar', NULL FROM cities WHERE name = 'Chennai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Mylapore', NULL FROM cities WHERE name = 'Chennai';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'OMR', 'old mahabalipuram road' FROM cities WHERE name = 'Chennai';
+
+-- Kolkata
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Salt Lake', 'bidhannagar,salt lake city' FROM cities WHERE name = 'Kolkata';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Park Street', NULL FROM cities WHERE name = 'Kolkata';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'New Town', 'newtown,rajarhat' FROM cities WHERE name = 'Kolkata';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Ballygunge', NULL FROM cities WHERE name = 'Kolkata';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Howrah', NULL FROM cities WHERE name = 'Kolkata';
+
+-- Pune
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Kothrud', NULL FROM cities WHERE name = 'Pune';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Hinjewadi', 'hinjawadi' FROM cities WHERE name = 'Pune';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Baner', NULL FROM cities WHERE name = 'Pune';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Viman Nagar', NULL FROM cities WHERE name = 'Pune';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Koregaon Park', 'kp' FROM cities WHERE name = 'Pune';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Wakad', NULL FROM cities WHERE name = 'Pune';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Hadapsar', NULL FROM cities WHERE name = 'Pune';
+
+-- Gurugram
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'DLF Phase 1', 'dlf 1' FROM cities WHERE name = 'Gurugram';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'DLF Phase 2', 'dlf 2' FROM cities WHERE name = 'Gurugram';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'DLF Phase 3', 'dlf 3' FROM cities WHERE name = 'Gurugram';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Sohna Road', NULL FROM cities WHERE name = 'Gurugram';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Golf Course Road', NULL FROM cities WHERE name = 'Gurugram';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Sector 29', NULL FROM cities WHERE name = 'Gurugram';
+
+-- Noida
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Sector 18', NULL FROM cities WHERE name = 'Noida';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Sector 62', NULL FROM cities WHERE name = 'Noida';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Sector 137', NULL FROM cities WHERE name = 'Noida';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Greater Noida', NULL FROM cities WHERE name = 'Noida';
+
+-- Ahmedabad
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Navrangpura', NULL FROM cities WHERE name = 'Ahmedabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Satellite', NULL FROM cities WHERE name = 'Ahmedabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Bodakdev', NULL FROM cities WHERE name = 'Ahmedabad';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Maninagar', NULL FROM cities WHERE name = 'Ahmedabad';
+
+-- Jaipur
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Malviya Nagar', NULL FROM cities WHERE name = 'Jaipur';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Vaishali Nagar', NULL FROM cities WHERE name = 'Jaipur';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'C Scheme', NULL FROM cities WHERE name = 'Jaipur';
+INSERT INTO localities (city_id, name, aliases) SELECT id, 'Mansarovar', NULL FROM cities WHERE name = 'Jaipur';
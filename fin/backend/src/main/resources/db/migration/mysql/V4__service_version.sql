@@ -0,0 +1,3 @@
+-- Optimistic lock / revision stamp for services (Service.version), used for conditional GETs.
+-- Existing rows start at 0; Hibernate increments it on every update.
+ALTER TABLE services ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,24 @@
+-- Areas a provider serves: circles (center and radius) or simple polygons. vertices holds
+-- "lat,lng" pairs separated by ";" for polygons. The bounding box is computed by the
+-- application on write; coverage lookups read it while the in-memory index warms up.
+CREATE TABLE service_areas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    provider_id BIGINT NOT NULL,
+    shape VARCHAR(10) NOT NULL,
+    center_lat DOUBLE,
+    center_lng DOUBLE,
+    radius_km DOUBLE,
+    vertices TEXT,
+    min_lat DOUBLE NOT NULL,
+    max_lat DOUBLE NOT NULL,
+    min_lng DOUBLE NOT NULL,
+    max_lng DOUBLE NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_service_areas_provider FOREIGN KEY (provider_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+-- ServiceAreaRepository.findByProviderIdOrderByIdAsc
+CREATE INDEX idx_service_areas_provider ON service_areas (provider_id);
+-- ServiceAreaRepository.findBoxesContaining
+CREATE INDEX idx_service_areas_bounds ON service_areas (min_lat, max_lat, min_lng, max_lng);
@@ -0,0 +1,4 @@
+-- Marks coordinates filled in from the offline gazetteer rather than supplied by the provider.
+-- Such coordinates are the locality's center; they follow later location edits and are
+-- replaced as soon as real coordinates are saved. Existing rows are geocoded in the background.
+ALTER TABLE services ADD COLUMN coordinates_geocoded BOOLEAN DEFAULT FALSE;
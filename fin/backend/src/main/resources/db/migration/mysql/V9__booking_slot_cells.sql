@@ -0,0 +1,22 @@
+-- Half-hour cells of the provider's calendar held by live (not cancelled) bookings, one row per
+-- cell. A booking covers every cell from its start to its end, so the unique key below rejects
+-- a second booking that overlaps it in any cell, from any node, whatever its start time.
+-- Cancelling a booking deletes its rows.
+--
+-- Existing bookings are not copied here: SlotReservationService fills the table at startup,
+-- parsing time_slot the same way as new bookings ("9:00" and "09:00" are one start), and
+-- gives a contested cell to the earliest booking.
+CREATE TABLE booking_slot_cells (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    provider_id BIGINT NOT NULL,
+    booking_date DATE NOT NULL,
+    cell INT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_booking_slot_cells UNIQUE (provider_id, booking_date, cell),
+    CONSTRAINT fk_booking_slot_cells_booking FOREIGN KEY (booking_id) REFERENCES bookings (id) ON DELETE CASCADE,
+    CONSTRAINT fk_booking_slot_cells_provider FOREIGN KEY (provider_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+-- BookingSlotCellRepository.deleteByBookingId
+CREATE INDEX idx_booking_slot_cells_booking ON booking_slot_cells (booking_id);
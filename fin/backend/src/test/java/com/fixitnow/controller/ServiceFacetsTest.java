@@ -0,0 +1,67 @@
+package com.fixitnow.controller;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+
+/**
+ * Facets describe the same services the listing returns for a search.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceFacetsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    @BeforeAll
+    void seed() {
+        User owner = userRepository.save(new User("Facet Provider", "facet-provider@example.com", "secret", User.Role.PROVIDER));
+        Service service = new Service(owner, "Tutoring", "Programming", "Weekend C++ lessons",
+            BigDecimal.valueOf(250), "Koramangala, Bangalore");
+        service.setTitle("C++ tutor");
+        serviceRepository.save(service);
+        serviceCatalog.rebuild();
+    }
+
+    @Test
+    void searchWithoutIndexableTermsFacetsTheLikeMatches() throws Exception {
+        // "++" has no letters or digits, so the listing falls back to LIKE; facets must too
+        mockMvc.perform(get("/services").param("search", "++"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(1));
+        mockMvc.perform(get("/services/facets").param("search", "++"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(1))
+            .andExpect(jsonPath("$.categories[*].name", hasItem("Tutoring")));
+    }
+}
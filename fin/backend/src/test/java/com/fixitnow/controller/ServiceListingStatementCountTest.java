@@ -0,0 +1,165 @@
+package com.fixitnow.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fixitnow.dto.MarkerFeed;
+import com.fixitnow.index.ServiceCatalog;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+import com.fixitnow.security.UserPrincipal;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listing endpoints run a fixed number of statements however many providers are on the page.
+ * Every card used to load its provider separately; these counts catch that N+1 coming back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceListingStatementCountTest {
+
+    private static final int PROVIDERS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceCatalog serviceCatalog;
+
+    private Statistics statistics;
+    private User provider;
+    private User admin;
+    private Long serviceId;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Service> services = new ArrayList<>();
+        for (int p = 0; p < PROVIDERS; p++) {
+            User owner = userRepository.save(new User("Counted Provider " + p,
+                "counted-provider-" + p + "@example.com", "secret", User.Role.PROVIDER));
+            for (int s = 0; s < 2; s++) {
+                Service service = new Service(owner, "Counting", "Leaks", "Fixes leaking taps and pipes",
+                    BigDecimal.valueOf(40 + p), "Koramangala, Bangalore");
+                service.setTitle("Counted service " + p + "-" + s);
+                service.setLatitude(12.93 + p * 0.001);
+                service.setLongitude(77.62 + s * 0.001);
+                services.add(service);
+            }
+            provider = owner;
+        }
+        serviceId = serviceRepository.saveAll(services).get(0).getId();
+        admin = userRepository.save(new User("Counting Admin", "counting-admin@example.com", "secret", User.Role.ADMIN));
+        serviceCatalog.rebuild();
+    }
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics.clear();
+    }
+
+    @Test
+    void publicListingLoadsPageAndCountOnly() throws Exception {
+        assertThat(statements(get("/services").param("category", "Counting").param("size", "20"))).isEqualTo(2);
+    }
+
+    @Test
+    void searchListingLoadsPageAndCountOnly() throws Exception {
+        assertThat(statements(get("/services").param("search", "leaking").param("sortBy", "price"))).isEqualTo(2);
+    }
+
+    @Test
+    void rankedSearchLoadsOnlyThePage() throws Exception {
+        assertThat(statements(get("/services").param("search", "leaking taps"))).isEqualTo(1);
+    }
+
+    @Test
+    void cursorListingIsOneStatement() throws Exception {
+        assertThat(statements(get("/services").param("category", "Counting").param("cursor", ""))).isEqualTo(1);
+    }
+
+    @Test
+    void providerListingLoadsPageAndCountOnly() throws Exception {
+        assertThat(statements(get("/services/my-services").param("size", "1").with(user(UserPrincipal.create(provider))))).isEqualTo(2);
+    }
+
+    @Test
+    void serviceDetailIsOneStatement() throws Exception {
+        assertThat(statements(get("/services/" + serviceId))).isEqualTo(1);
+    }
+
+    @Test
+    void mapListingIsOneStatement() throws Exception {
+        assertThat(statements(get("/services/map"))).isEqualTo(1);
+    }
+
+    @Test
+    void boundsListingIsOneStatement() throws Exception {
+        assertThat(statements(boundsRequest())).isEqualTo(1);
+    }
+
+    @Test
+    void boundsMarkerFeedNeedsNoStatement() throws Exception {
+        assertThat(statements(boundsRequest().accept(MarkerFeed.MEDIA_TYPE))).isEqualTo(0);
+    }
+
+    @Test
+    void nearbyListingIsOneStatement() throws Exception {
+        assertThat(statements(get("/services/map/nearby")
+            .param("lat", "12.935").param("lng", "77.62").param("radiusKm", "5"))).isEqualTo(1);
+    }
+
+    @Test
+    void adminListingIsOneStatement() throws Exception {
+        assertThat(statements(get("/admin/services").with(user(UserPrincipal.create(admin))))).isEqualTo(1);
+    }
+
+    @Test
+    void adminFullListingJoinsProviders() throws Exception {
+        assertThat(statements(get("/admin/services/all").with(user(UserPrincipal.create(admin))))).isEqualTo(1);
+    }
+
+    private MockHttpServletRequestBuilder boundsRequest() {
+        return get("/services/map/bounds")
+            .param("minLat", "12.9").param("maxLat", "13.0").param("minLng", "77.6").param("maxLng", "77.7");
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,135 @@
+package com.fixitnow.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.fixitnow.model.Service;
+
+class MarkerFeedTest {
+
+    @Test
+    void roundTripsThroughTheDocumentedLayout() throws IOException {
+        Random random = new Random(19);
+        MarkerFeed.Builder builder = new MarkerFeed.Builder();
+        List<long[]> expected = new ArrayList<>(); // {id, lat e5, lng e5, ordinal, paise}
+        for (int i = 0; i < 500; i++) {
+            // Unordered ids and coordinates all over the globe make every delta sign appear
+            long id = 1 + random.nextInt(1_000_000);
+            double lat = -90 + random.nextDouble() * 180;
+            double lng = -180 + random.nextDouble() * 360;
+            int ordinal = random.nextInt(3);
+            long paise = random.nextInt(10_000_000);
+            builder.add(id, lat, lng, ordinal, paise);
+            expected.add(new long[] {id, Math.round(lat * 100_000), Math.round(lng * 100_000), ordinal, paise});
+        }
+        MarkerFeed feed = builder.build(List.of("Plumbing", "Électricité", ""));
+
+        Decoded decoded = decode(feed);
+
+        assertThat(feed.size()).isEqualTo(500);
+        assertThat(decoded.categories).containsExactly("Plumbing", "Électricité", "");
+        assertThat(decoded.markers).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(decoded.markers.get(i)).containsExactly(expected.get(i));
+        }
+    }
+
+    @Test
+    void extremeCoordinatesAndNegativePrices() throws IOException {
+        MarkerFeed.Builder builder = new MarkerFeed.Builder();
+        builder.add(Long.MAX_VALUE / 2, 90, 180, 0, -5);
+        builder.add(1, -90, -180, 0, 0);
+
+        Decoded decoded = decode(builder.build(List.of("Cleaning")));
+
+        assertThat(decoded.markers.get(0)).containsExactly(Long.MAX_VALUE / 2, 9_000_000, 18_000_000, 0, 0);
+        assertThat(decoded.markers.get(1)).containsExactly(1, -9_000_000, -18_000_000, 0, 0);
+    }
+
+    @Test
+    void ofAssignsOrdinalsAndRoundsPricesToPaise() throws IOException {
+        Decoded decoded = decode(MarkerFeed.of(List.of(
+            service(10L, " Plumbing ", new BigDecimal("499.995"), 12.97, 77.59),
+            service(11L, "Cleaning", null, 12.98, 77.60),
+            service(12L, "Plumbing", new BigDecimal("120"), 12.99, 77.61))));
+
+        assertThat(decoded.categories).containsExactly("Plumbing", "Cleaning");
+        assertThat(decoded.markers).extracting(m -> m[3]).containsExactly(0L, 1L, 0L);
+        assertThat(decoded.markers).extracting(m -> m[4]).containsExactly(50_000L, 0L, 12_000L);
+        assertThat(decoded.markers).extracting(m -> m[1]).containsExactly(1_297_000L, 1_298_000L, 1_299_000L);
+    }
+
+    @Test
+    void emptyFeedIsHeaderAndZeroCount() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new MarkerFeed.Builder().build(List.of()).writeTo(out);
+
+        assertThat(out.toByteArray()).containsExactly('F', 'X', 'M', 1, 0, 0);
+    }
+
+    // A reader written from the layout in MarkerFeed's doc comment
+    private static Decoded decode(MarkerFeed feed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        feed.writeTo(out);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertThat(in.readNBytes(4)).containsExactly('F', 'X', 'M', 1);
+
+        Decoded decoded = new Decoded();
+        long categories = varint(in);
+        for (int i = 0; i < categories; i++) {
+            decoded.categories.add(new String(in.readNBytes((int) varint(in)), StandardCharsets.UTF_8));
+        }
+        long count = varint(in);
+        long id = 0, lat = 0, lng = 0;
+        for (int i = 0; i < count; i++) {
+            id += svarint(in);
+            lat += svarint(in);
+            lng += svarint(in);
+            decoded.markers.add(new long[] {id, lat, lng, varint(in), varint(in)});
+        }
+        assertThat(in.available()).as("trailing bytes").isZero();
+        return decoded;
+    }
+
+    private static long varint(ByteArrayInputStream in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            assertThat(b).as("truncated varint").isNotNegative();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static long svarint(ByteArrayInputStream in) {
+        long value = varint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static Service service(Long id, String category, BigDecimal price, double lat, double lng) {
+        Service service = new Service();
+        service.setId(id);
+        service.setCategory(category);
+        service.setPrice(price);
+        service.setLatitude(lat);
+        service.setLongitude(lng);
+        return service;
+    }
+
+    private static class Decoded {
+        final List<String> categories = new ArrayList<>();
+        final List<long[]> markers = new ArrayList<>();
+    }
+}
@@ -0,0 +1,83 @@
+package com.fixitnow.geo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class GeohashTest {
+
+    @Test
+    void encodesKnownHashes() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(42.6, -5.6, 5)).isEqualTo("ezs42");
+        assertThat(Geohash.of(57.64911, 10.40744)).hasSize(Geohash.MAX_PRECISION).startsWith("u4pruydqqvj");
+        assertThat(Geohash.of(null, 10.0)).isNull();
+        assertThat(Geohash.of(91.0, 10.0)).isNull();
+    }
+
+    @Test
+    void shorterHashIsPrefixOfLonger() {
+        Random random = new Random(17);
+        for (int i = 0; i < 1000; i++) {
+            double lat = -90 + random.nextDouble() * 180;
+            double lng = -180 + random.nextDouble() * 360;
+            assertThat(Geohash.of(lat, lng)).startsWith(Geohash.encode(lat, lng, 1 + random.nextInt(11)));
+        }
+    }
+
+    @Test
+    void rangesCoverEveryPointInTheBox() {
+        Random random = new Random(17);
+        for (int box = 0; box < 300; box++) {
+            double size = Math.pow(10, -4 + random.nextInt(6)) * random.nextDouble(); // metres to a hemisphere
+            double minLat = Math.max(-90, -90 + random.nextDouble() * 180 - size);
+            double maxLat = Math.min(90, minLat + size);
+            double minLng = Math.max(-180, -180 + random.nextDouble() * 360 - size);
+            double maxLng = Math.min(180, minLng + size);
+            List<String[]> ranges = Geohash.ranges(minLat, maxLat, minLng, maxLng);
+
+            assertThat(ranges).isNotEmpty().hasSizeLessThanOrEqualTo(Geohash.MAX_COVER_CELLS);
+            for (int i = 1; i < ranges.size(); i++) {
+                // Sorted, disjoint and not touching, or they would have merged
+                assertThat(ranges.get(i)[0]).isGreaterThan(ranges.get(i - 1)[1]);
+            }
+            for (int i = 0; i < 50; i++) {
+                double lat = minLat + random.nextDouble() * (maxLat - minLat);
+                double lng = minLng + random.nextDouble() * (maxLng - minLng);
+                assertThat(covered(ranges, Geohash.of(lat, lng))).as("%f,%f in box %d", lat, lng, box).isTrue();
+            }
+            assertThat(covered(ranges, Geohash.of(minLat, minLng))).isTrue();
+            assertThat(covered(ranges, Geohash.of(maxLat, maxLng))).isTrue();
+        }
+    }
+
+    @Test
+    void adjacentCellsMergeIntoOneRange() {
+        // All 32 children of the "u4" cell (56.25-61.875, 0-11.25): one range over the prefix
+        List<String[]> ranges = Geohash.ranges(56.3, 61.8, 0.1, 11.2);
+
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0)).containsExactly("u40", "u5");
+    }
+
+    @Test
+    void wholeWorldIsOneOpenRange() {
+        List<String[]> ranges = Geohash.ranges(-90, 90, -180, 180);
+
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0)[0]).isEqualTo("0");
+        assertThat(ranges.get(0)[1]).isNull();
+    }
+
+    private static boolean covered(List<String[]> ranges, String hash) {
+        for (String[] range : ranges) {
+            if (hash.compareTo(range[0]) >= 0 && (range[1] == null || hash.compareTo(range[1]) < 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,152 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fixitnow.model.City;
+import com.fixitnow.model.Locality;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.CityRepository;
+import com.fixitnow.repository.LocalityRepository;
+import com.fixitnow.repository.ServiceFilter;
+
+@ExtendWith(MockitoExtension.class)
+class LocalityDictionaryTest {
+
+    private static final long DELHI = 1L;
+    private static final long BENGALURU = 2L;
+    private static final long NOIDA = 3L;
+    private static final long GURUGRAM = 4L;
+
+    private static final long CONNAUGHT_PLACE = 10L;
+    private static final long KAROL_BAGH = 11L;
+    private static final long KORAMANGALA = 20L;
+    private static final long NOIDA_SECTOR_18 = 30L;
+    private static final long GURUGRAM_SECTOR_18 = 40L;
+
+    @Mock
+    private CityRepository cityRepository;
+
+    @Mock
+    private LocalityRepository localityRepository;
+
+    @InjectMocks
+    private LocalityDictionary dictionary;
+
+    @BeforeEach
+    void loadDictionary() {
+        when(cityRepository.findAll()).thenReturn(List.of(
+            city(DELHI, "Delhi", "new delhi,ncr"),
+            city(BENGALURU, "Bengaluru", "bangalore,blr"),
+            city(NOIDA, "Noida", null),
+            city(GURUGRAM, "Gurugram", "gurgaon")));
+        when(localityRepository.findAll()).thenReturn(List.of(
+            locality(CONNAUGHT_PLACE, DELHI, "Connaught Place", "cp,rajiv chowk"),
+            locality(KAROL_BAGH, DELHI, "Karol Bagh", null),
+            locality(KORAMANGALA, BENGALURU, "Koramangala", null),
+            locality(NOIDA_SECTOR_18, NOIDA, "Sector 18", null),
+            locality(GURUGRAM_SECTOR_18, GURUGRAM, "Sector 18", null)));
+        dictionary.load();
+    }
+
+    @Test
+    void resolvesLocalityAndCityAliases() {
+        assertMatch(dictionary.resolve("CP, New Delhi"), DELHI, CONNAUGHT_PLACE);
+        assertMatch(dictionary.resolve("Koramangala, Bangalore"), BENGALURU, KORAMANGALA);
+    }
+
+    @Test
+    void ignoresCaseAndPunctuation() {
+        assertMatch(dictionary.resolve("  RAJIV-CHOWK ,  new delhi. "), DELHI, CONNAUGHT_PLACE);
+    }
+
+    @Test
+    void resolvesCityAlone() {
+        assertMatch(dictionary.resolve("Gurgaon"), GURUGRAM, null);
+    }
+
+    @Test
+    void prefersLocalityInTheNamedCity() {
+        assertMatch(dictionary.resolve("Sector 18, Gurugram"), GURUGRAM, GURUGRAM_SECTOR_18);
+        assertMatch(dictionary.resolve("Sector 18, Noida"), NOIDA, NOIDA_SECTOR_18);
+    }
+
+    @Test
+    void resolvesLocationWithoutCommas() {
+        assertMatch(dictionary.resolve("Karol Bagh Delhi"), DELHI, KAROL_BAGH);
+        assertMatch(dictionary.resolve("Near Koramangala Bangalore"), BENGALURU, KORAMANGALA);
+    }
+
+    @Test
+    void doesNotLetWordsOverrideANamedCity() {
+        assertMatch(dictionary.resolve("New Delhi Road, Bangalore"), BENGALURU, null);
+    }
+
+    @Test
+    void unknownTextDoesNotResolve() {
+        assertThat(dictionary.resolve("Somewhere else")).isNull();
+        assertThat(dictionary.resolve(" ")).isNull();
+        assertThat(dictionary.resolve(null)).isNull();
+    }
+
+    @Test
+    void narrowTurnsKnownLocationIntoIds() {
+        ServiceFilter filter = dictionary.narrow(ServiceFilter.publicListing(null, null, "CP, Delhi"));
+        assertThat(filter.getCityId()).isEqualTo(DELHI);
+        assertThat(filter.getLocalityId()).isEqualTo(CONNAUGHT_PLACE);
+        assertThat(filter.getLocation()).isNull();
+    }
+
+    @Test
+    void narrowKeepsUnknownLocationAsText() {
+        ServiceFilter filter = dictionary.narrow(ServiceFilter.publicListing(null, null, "Somewhere else"));
+        assertThat(filter.getCityId()).isNull();
+        assertThat(filter.getLocation()).isEqualTo("Somewhere else");
+    }
+
+    @Test
+    void applyToClearsAreaOfUnknownLocation() {
+        Service service = new Service();
+        service.setLocation("Koramangala, Bangalore");
+        dictionary.applyTo(service);
+        assertThat(service.getCityId()).isEqualTo(BENGALURU);
+        assertThat(service.getLocalityId()).isEqualTo(KORAMANGALA);
+
+        service.setLocation("Somewhere else");
+        dictionary.applyTo(service);
+        assertThat(service.getCityId()).isNull();
+        assertThat(service.getLocalityId()).isNull();
+    }
+
+    private static void assertMatch(LocalityDictionary.Match match, Long cityId, Long localityId) {
+        assertThat(match).isNotNull();
+        assertThat(match.getCityId()).isEqualTo(cityId);
+        assertThat(match.getLocalityId()).isEqualTo(localityId);
+    }
+
+    private static City city(Long id, String name, String aliases) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setAliases(aliases);
+        return city;
+    }
+
+    private static Locality locality(Long id, Long cityId, String name, String aliases) {
+        Locality locality = new Locality();
+        locality.setId(id);
+        locality.setCityId(cityId);
+        locality.setName(name);
+        locality.setAliases(aliases);
+        return locality;
+    }
+}
@@ -0,0 +1,147 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.fixitnow.model.AvailabilitySlots;
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.AvailabilityQuery;
+
+class ServiceAvailabilityIndexTest {
+
+    private final ServiceAvailabilityIndex index = new ServiceAvailabilityIndex();
+
+    @Test
+    void dayAndTimeMustBothMatch() {
+        index.onServiceSaved(service(1L, week(0, 9 * 60, 17 * 60))); // Monday 09:00-17:00
+        index.onServiceSaved(service(2L, week(5, 8 * 60, 12 * 60))); // Saturday 08:00-12:00
+
+        assertThat(matching("saturday", "10:00")).containsExactly(2L);
+        assertThat(matching("2024-01-01", "16:30")).containsExactly(1L); // a Monday
+        assertThat(matching("monday", "17:00")).isEmpty(); // the range ends at 17:00
+        assertThat(matching("saturday", null)).containsExactly(2L);
+        assertThat(matching(null, "09:00")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(matching("sunday", null)).isEmpty();
+    }
+
+    @Test
+    void timeRangeMustBeFreeInFull() {
+        index.onServiceSaved(service(1L, week(2, 9 * 60, 12 * 60)));
+
+        assertThat(matching("wednesday", "09:00-12:00")).containsExactly(1L);
+        assertThat(matching("wednesday", "11:00-12:30")).isEmpty();
+    }
+
+    @Test
+    void rejectsUnreadableFilters() {
+        assertThat(AvailabilityQuery.parse(null, " ")).isNull();
+        assertThatThrownBy(() -> AvailabilityQuery.parse("someday", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AvailabilityQuery.parse(null, "noon")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AvailabilityQuery.parse(null, "12:00-10:00")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void inactiveDeletedAndRemovedServicesDoNotMatch() {
+        index.onServiceSaved(service(1L, week(0, 0, 24 * 60)));
+        index.onServiceSaved(service(2L, week(0, 0, 24 * 60)));
+        index.onServiceSaved(service(3L, week(0, 0, 24 * 60)));
+
+        Service inactive = service(1L, week(0, 0, 24 * 60));
+        inactive.setIsActive(false);
+        index.onServiceSaved(inactive);
+        Service deleted = service(2L, week(0, 0, 24 * 60));
+        deleted.setIsDeleted(true);
+        index.onServiceSaved(deleted);
+
+        assertThat(matching("monday", null)).containsExactly(3L);
+        index.onServiceRemoved(3L);
+        assertThat(matching("monday", null)).isEmpty();
+    }
+
+    @Test
+    void returnsNullOnceMoreThanLimitMatch() {
+        for (long id = 1; id <= 5; id++) {
+            index.onServiceSaved(service(id, week(1, 9 * 60, 10 * 60)));
+        }
+        AvailabilityQuery query = AvailabilityQuery.parse("tuesday", "09:00");
+
+        assertThat(index.matching(query, 5)).hasSize(5);
+        assertThat(index.matching(query, 4)).isNull();
+    }
+
+    @Test
+    void matchesBruteForceThroughWritesAndGrowth() {
+        Random random = new Random(11);
+        Map<Long, long[]> live = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(700);
+            if (random.nextInt(5) == 0) {
+                index.onServiceRemoved(id);
+                live.remove(id);
+                continue;
+            }
+            long[] week = new long[7];
+            for (int d = 0; d < 7; d++) {
+                int start = random.nextInt(40) * 30;
+                week[d] = random.nextBoolean() ? AvailabilitySlots.range(start, start + 30 * (1 + random.nextInt(8))) : 0L;
+            }
+            index.onServiceSaved(service(id, week));
+            live.put(id, week);
+        }
+
+        String[] days = {null, "monday", "wednesday", "sunday"};
+        String[] times = {null, "00:00", "09:30", "13:00-15:00"};
+        for (String day : days) {
+            for (String time : times) {
+                if (day == null && time == null) {
+                    continue;
+                }
+                AvailabilityQuery query = AvailabilityQuery.parse(day, time);
+                List<Long> expected = live.entrySet().stream()
+                    .filter(e -> bruteForce(query, e.getValue()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+                assertThat(index.matching(query, Integer.MAX_VALUE)).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    // The filter's definition spelled out per weekday
+    private static boolean bruteForce(AvailabilityQuery query, long[] week) {
+        for (int d = 0; d < 7; d++) {
+            long mask = query.getMasks()[d];
+            if (mask == 0) {
+                continue;
+            }
+            if (query.isRequireAll() ? (week[d] & mask) == mask : (week[d] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Long> matching(String availableOn, String availableAt) {
+        return index.matching(AvailabilityQuery.parse(availableOn, availableAt), Integer.MAX_VALUE);
+    }
+
+    private static long[] week(int day, int startMinute, int endMinute) {
+        long[] week = new long[7];
+        week[day] = AvailabilitySlots.range(startMinute, endMinute);
+        return week;
+    }
+
+    private static Service service(Long id, long[] week) {
+        Service service = new Service();
+        service.setId(id);
+        service.setAvailabilitySlots(new AvailabilitySlots(week));
+        return service;
+    }
+}
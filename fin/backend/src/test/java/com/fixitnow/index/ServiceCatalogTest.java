@@ -0,0 +1,91 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.fixitnow.model.Service;
+
+class ServiceCatalogTest {
+
+    @Test
+    void etagsChangeOnEveryWrite() {
+        ServiceCatalog catalog = catalog();
+        catalog.serviceSaved(service(1L, 0L));
+        String catalogEtag = catalog.getCatalogEtag();
+        String serviceEtag = catalog.getServiceEtag(1L);
+
+        catalog.serviceSaved(service(2L, 0L));
+        assertThat(catalog.getCatalogEtag()).isNotEqualTo(catalogEtag);
+        assertThat(catalog.getServiceEtag(1L)).isEqualTo(serviceEtag);
+
+        catalog.serviceSaved(service(1L, 1L));
+        assertThat(catalog.getServiceEtag(1L)).isNotEqualTo(serviceEtag);
+        assertThat(catalog.getServiceEtag(service(1L, 1L))).isEqualTo(catalog.getServiceEtag(1L));
+
+        String updated = catalog.getServiceEtag(1L);
+        catalog.providerChanged();
+        assertThat(catalog.getServiceEtag(1L)).isNotEqualTo(updated);
+
+        catalog.serviceRemoved(1L);
+        assertThat(catalog.getServiceEtag(1L)).isNull();
+    }
+
+    @Test
+    void etagsFromAnotherProcessNeverMatch() {
+        // Same writes, so the same counters: a restarted or second instance must still issue new tags
+        ServiceCatalog first = catalog();
+        ServiceCatalog second = catalog();
+        for (ServiceCatalog catalog : List.of(first, second)) {
+            catalog.serviceSaved(service(1L, 3L));
+            catalog.providerChanged();
+        }
+
+        assertThat(second.getVersion()).isEqualTo(first.getVersion());
+        assertThat(second.getCatalogEtag()).isNotEqualTo(first.getCatalogEtag());
+        assertThat(second.getServiceEtag(1L)).isNotEqualTo(first.getServiceEtag(1L));
+    }
+
+    @Test
+    void changesInsideATransactionWaitForTheCommit() {
+        ServiceCatalog catalog = catalog();
+        catalog.serviceSaved(service(1L, 0L));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalog.serviceRemoved(1L);
+            assertThat(catalog.getServiceEtag(1L)).isNotNull();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertThat(catalog.getServiceEtag(1L)).isNull();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Rolled back: nothing to publish
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            catalog.serviceSaved(service(2L, 0L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(catalog.getServiceEtag(2L)).isNull();
+    }
+
+    private static ServiceCatalog catalog() {
+        ServiceCatalog catalog = new ServiceCatalog();
+        ReflectionTestUtils.setField(catalog, "listeners", List.of());
+        return catalog;
+    }
+
+    private static Service service(Long id, Long version) {
+        Service service = new Service();
+        service.setId(id);
+        service.setVersion(version);
+        return service;
+    }
+}
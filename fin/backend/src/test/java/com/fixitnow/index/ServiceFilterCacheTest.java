@@ -0,0 +1,77 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fixitnow.model.Service;
+import com.fixitnow.repository.ServiceFilter;
+import com.fixitnow.repository.ServiceRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceFilterCacheTest {
+
+    private final Pageable page = PageRequest.of(0, 10);
+
+    @Mock
+    private ServiceRepository serviceRepository;
+
+    @Mock
+    private LocalityDictionary localityDictionary;
+
+    @InjectMocks
+    private ServiceFilterCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        when(localityDictionary.narrow(any())).thenAnswer(call -> call.getArgument(0));
+        when(serviceRepository.findCards(any(ServiceFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+    }
+
+    @Test
+    void categoriesDifferingInCaseDoNotShareAnEntry() {
+        // A case-sensitive store may answer these differently
+        cache.findByFilterCriteria("Plumbing", null, null, page);
+        cache.findByFilterCriteria("plumbing", null, null, page);
+        cache.findByFilterCriteria(" Plumbing ", null, null, page);
+
+        verify(serviceRepository, times(2)).findCards(any(ServiceFilter.class), any(Pageable.class));
+        assertThat(cache.getStats().get("hits")).isEqualTo(1L);
+    }
+
+    @Test
+    void aWriteEvictsTheCategoryInEveryCase() {
+        when(serviceRepository.findCardsByIds(anyList())).thenReturn(List.of());
+        cache.findByFilterCriteria("Plumbing", null, null, page);
+        cache.findByFilterCriteria("PLUMBING", null, null, page);
+        cache.findByFilterCriteria("Electrical", null, null, page);
+
+        Service service = new Service();
+        service.setId(1L);
+        service.setCategory("plumbing");
+        cache.onServiceSaved(service);
+
+        cache.findByFilterCriteria("Plumbing", null, null, page);
+        cache.findByFilterCriteria("PLUMBING", null, null, page);
+        cache.findByFilterCriteria("Electrical", null, null, page);
+        verify(serviceRepository, times(5)).findCards(any(ServiceFilter.class), any(Pageable.class));
+    }
+}
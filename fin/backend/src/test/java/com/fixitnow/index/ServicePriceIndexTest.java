@@ -0,0 +1,151 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.fixitnow.dto.PriceHistogramDTO;
+import com.fixitnow.model.Service;
+
+class ServicePriceIndexTest {
+
+    private static final String[] CATEGORIES = {"Plumbing", "Electrical", "Cleaning"};
+
+    private final ServicePriceIndex index = new ServicePriceIndex();
+
+    @Test
+    void rangesMatchBruteForceThroughWrites() {
+        Random random = new Random(42);
+        Map<Long, Service> live = new HashMap<>();
+        for (long id = 1; id <= 400; id++) {
+            Service service = service(id, CATEGORIES[random.nextInt(CATEGORIES.length)], randomPrice(random));
+            service.setIsActive(random.nextInt(10) != 0);
+            save(service, live);
+        }
+        // Price changes, category moves, deactivations and deletes
+        for (int i = 0; i < 300; i++) {
+            long id = 1 + random.nextInt(400);
+            switch (random.nextInt(4)) {
+                case 0 -> save(service(id, CATEGORIES[random.nextInt(CATEGORIES.length)], randomPrice(random)), live);
+                case 1 -> {
+                    Service service = service(id, "Plumbing", randomPrice(random));
+                    service.setIsDeleted(true);
+                    save(service, live);
+                }
+                case 2 -> {
+                    index.onServiceRemoved(id);
+                    live.remove(id);
+                }
+                default -> save(service(id, CATEGORIES[random.nextInt(CATEGORIES.length)], randomPrice(random)), live);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String category = random.nextInt(4) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+            BigDecimal min = random.nextInt(5) == 0 ? null : randomPrice(random);
+            BigDecimal max = random.nextInt(5) == 0 ? null : randomPrice(random);
+            List<Long> expected = live.values().stream()
+                .filter(s -> category == null || category.equals(s.getCategory()))
+                .filter(s -> min == null || s.getPrice().compareTo(min) >= 0)
+                .filter(s -> max == null || s.getPrice().compareTo(max) <= 0)
+                .sorted(Comparator.comparing(Service::getPrice).thenComparing(Service::getId))
+                .map(Service::getId)
+                .collect(Collectors.toList());
+
+            assertThat(index.ids(category, min, max)).isEqualTo(expected);
+            assertThat(index.count(category, min, max)).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    void boundsAreInclusiveToThePaisa() {
+        index.onServiceSaved(service(1L, "Plumbing", new BigDecimal("499.99")));
+        index.onServiceSaved(service(2L, "Plumbing", new BigDecimal("500.00")));
+        index.onServiceSaved(service(3L, "Plumbing", new BigDecimal("500.01")));
+
+        assertThat(index.ids("Plumbing", new BigDecimal("500"), new BigDecimal("500"))).containsExactly(2L);
+        assertThat(index.ids(null, new BigDecimal("499.995"), null)).containsExactly(2L, 3L);
+        assertThat(index.count("Plumbing", null, new BigDecimal("500.00"))).isEqualTo(2);
+        assertThat(index.count("Carpentry", null, null)).isZero();
+    }
+
+    @Test
+    void histogramUsesRoundBucketsThatCoverTheRange() {
+        long[] rupees = {120, 180, 250, 499, 500, 730, 990, 1480};
+        for (int i = 0; i < rupees.length; i++) {
+            index.onServiceSaved(service(i + 1L, "Cleaning", BigDecimal.valueOf(rupees[i])));
+        }
+
+        PriceHistogramDTO histogram = index.histogram("Cleaning", null, null, 5);
+
+        assertThat(histogram.getTotal()).isEqualTo(rupees.length);
+        assertThat(histogram.getMin()).isEqualByComparingTo("120");
+        assertThat(histogram.getMax()).isEqualByComparingTo("1480");
+        List<PriceHistogramDTO.Bucket> buckets = histogram.getBuckets();
+        // (1480 - 120) / 5 rounds up to a width of 500
+        assertThat(buckets).extracting(b -> b.getFrom().intValue()).containsExactly(0, 500, 1000);
+        assertThat(buckets).extracting(PriceHistogramDTO.Bucket::getCount).containsExactly(4L, 3L, 1L);
+        for (int i = 1; i < buckets.size(); i++) {
+            assertThat(buckets.get(i).getFrom()).isEqualByComparingTo(buckets.get(i - 1).getTo());
+        }
+    }
+
+    @Test
+    void histogramFromSortedPricesMatchesIndex() {
+        List<BigDecimal> prices = new ArrayList<>();
+        Random random = new Random(7);
+        for (long id = 1; id <= 100; id++) {
+            BigDecimal price = randomPrice(random);
+            prices.add(price);
+            index.onServiceSaved(service(id, "Electrical", price));
+        }
+        prices.sort(Comparator.naturalOrder());
+
+        PriceHistogramDTO fromIndex = index.histogram("Electrical", null, null, 10);
+        PriceHistogramDTO fromPrices = ServicePriceIndex.fromSortedPrices(prices, 10);
+
+        assertThat(fromPrices.getTotal()).isEqualTo(fromIndex.getTotal());
+        assertThat(fromPrices.getBuckets()).usingRecursiveFieldByFieldElementComparator()
+            .isEqualTo(fromIndex.getBuckets());
+    }
+
+    @Test
+    void emptyRangeHasNoBuckets() {
+        index.onServiceSaved(service(1L, "Plumbing", new BigDecimal("300")));
+
+        PriceHistogramDTO histogram = index.histogram("Plumbing", new BigDecimal("400"), null, 5);
+
+        assertThat(histogram.getTotal()).isZero();
+        assertThat(histogram.getBuckets()).isEmpty();
+    }
+
+    private void save(Service service, Map<Long, Service> live) {
+        index.onServiceSaved(service);
+        if (Boolean.TRUE.equals(service.getIsActive()) && !Boolean.TRUE.equals(service.getIsDeleted())) {
+            live.put(service.getId(), service);
+        } else {
+            live.remove(service.getId());
+        }
+    }
+
+    private static BigDecimal randomPrice(Random random) {
+        return BigDecimal.valueOf(100 + random.nextInt(200_000), 2);
+    }
+
+    private static Service service(Long id, String category, BigDecimal price) {
+        Service service = new Service();
+        service.setId(id);
+        service.setCategory(category);
+        service.setPrice(price);
+        return service;
+    }
+}
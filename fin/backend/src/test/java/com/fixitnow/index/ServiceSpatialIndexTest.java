@@ -0,0 +1,162 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fixitnow.geo.GeoMath;
+import com.fixitnow.model.Service;
+
+class ServiceSpatialIndexTest {
+
+    private final ServiceSpatialIndex index = new ServiceSpatialIndex();
+    private final Map<Long, double[]> live = new HashMap<>();
+    private final Random random = new Random(16);
+
+    // Dense city clusters so leaves split several levels deep, plus points all over the globe
+    @BeforeEach
+    void populate() {
+        double[][] cities = {{12.97, 77.59}, {28.61, 77.21}, {-17.8, 179.9}, {64.1, -21.9}};
+        for (long id = 1; id <= 3000; id++) {
+            double lat;
+            double lng;
+            if (id % 4 == 0) {
+                lat = -90 + random.nextDouble() * 180;
+                lng = -180 + random.nextDouble() * 360;
+            } else {
+                double[] city = cities[random.nextInt(cities.length)];
+                lat = city[0] + random.nextGaussian() * 0.05;
+                lng = wrap(city[1] + random.nextGaussian() * 0.05);
+            }
+            save(id, lat, lng);
+        }
+        // Moves and removals after the splits
+        for (int i = 0; i < 500; i++) {
+            long id = 1 + random.nextInt(3000);
+            if (random.nextBoolean()) {
+                index.onServiceRemoved(id);
+                live.remove(id);
+            } else {
+                save(id, 12.97 + random.nextGaussian() * 0.05, 77.59 + random.nextGaussian() * 0.05);
+            }
+        }
+    }
+
+    @Test
+    void withinMatchesBruteForce() {
+        assertThat(index.size()).isEqualTo(live.size());
+        for (int i = 0; i < 200; i++) {
+            double[] center = i % 2 == 0 ? new double[] {12.97, 77.59} : new double[] {28.61, 77.21};
+            double minLat = center[0] - random.nextDouble() * 0.2;
+            double maxLat = center[0] + random.nextDouble() * 0.2;
+            double minLng = center[1] - random.nextDouble() * 0.2;
+            double maxLng = center[1] + random.nextDouble() * 0.2;
+            List<Long> expected = live.entrySet().stream()
+                .filter(e -> e.getValue()[0] >= minLat && e.getValue()[0] <= maxLat
+                    && e.getValue()[1] >= minLng && e.getValue()[1] <= maxLng)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+            assertThat(index.within(minLat, maxLat, minLng, maxLng)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void withinAcrossTheAntimeridian() {
+        List<Long> expected = live.entrySet().stream()
+            .filter(e -> e.getValue()[0] >= -18 && e.getValue()[0] <= -17.6
+                && (e.getValue()[1] >= 179.8 || e.getValue()[1] <= -179.9))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+
+        assertThat(expected).isNotEmpty();
+        assertThat(index.within(-18, -17.6, 179.8, -179.9)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void nearbyMatchesBruteForceNearestFirst() {
+        double[][] centers = {{12.97, 77.59}, {28.65, 77.25}, {-17.8, -179.95}, {89.9, 0}, {0, 0}};
+        for (double[] center : centers) {
+            for (double radiusKm : new double[] {0.5, 3, 25, 2000}) {
+                List<Long> expected = live.entrySet().stream()
+                    .filter(e -> distance(center, e.getValue()) <= radiusKm)
+                    .sorted(Comparator.comparingDouble(e -> distance(center, e.getValue())))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+
+                assertThat(index.nearby(center[0], center[1], radiusKm)).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        double[][] centers = {{12.97, 77.59}, {13.2, 77.9}, {-17.8, -179.95}, {89.9, 0}, {-60, 100}};
+        for (double[] center : centers) {
+            for (int k : new int[] {1, 7, 50, 400}) {
+                for (String category : new String[] {null, "Plumbing"}) {
+                    List<Long> expected = live.entrySet().stream()
+                        .filter(e -> category == null || e.getKey() % 2 == 0)
+                        .sorted(Comparator.comparingDouble(e -> distance(center, e.getValue())))
+                        .limit(k)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList());
+
+                    assertThat(index.nearest(center[0], center[1], k, category)).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void nearestReturnsWhatThereIs() {
+        assertThat(index.nearest(12.97, 77.59, 0, null)).isEmpty();
+        assertThat(index.nearest(12.97, 77.59, 5, "Carpentry")).isEmpty();
+        assertThat(index.nearest(12.97, 77.59, live.size() + 10, null)).hasSize(live.size());
+    }
+
+    @Test
+    void inactiveDeletedAndUnplacedServicesAreDropped() {
+        Service inactive = service(1L, 12.97, 77.59);
+        inactive.setIsActive(false);
+        index.onServiceSaved(inactive);
+        Service deleted = service(2L, 12.97, 77.59);
+        deleted.setIsDeleted(true);
+        index.onServiceSaved(deleted);
+        index.onServiceSaved(service(3L, null, 77.59));
+
+        assertThat(index.within(-90, 90, -180, 180)).doesNotContain(1L, 2L, 3L);
+        index.clear();
+        assertThat(index.size()).isZero();
+    }
+
+    private void save(long id, double lat, double lng) {
+        index.onServiceSaved(service(id, lat, lng));
+        live.put(id, new double[] {lat, lng});
+    }
+
+    private static double distance(double[] from, double[] to) {
+        return GeoMath.distanceKm(from[0], from[1], to[0], to[1]);
+    }
+
+    private static double wrap(double lng) {
+        return lng < -180 ? lng + 360 : lng > 180 ? lng - 360 : lng;
+    }
+
+    private static Service service(Long id, Double lat, Double lng) {
+        Service service = new Service();
+        service.setId(id);
+        service.setCategory(id % 2 == 0 ? "Plumbing" : "Electrical");
+        service.setLatitude(lat);
+        service.setLongitude(lng);
+        return service;
+    }
+}
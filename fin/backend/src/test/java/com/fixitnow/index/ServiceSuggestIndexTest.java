@@ -0,0 +1,51 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fixitnow.dto.ServiceSuggestionDTO;
+import com.fixitnow.model.Service;
+
+class ServiceSuggestIndexTest {
+
+    private final ServiceSuggestIndex index = new ServiceSuggestIndex();
+
+    @Test
+    void removalUnlinksNodesNoPhraseNeeds() {
+        index.onServiceSaved(service(1L, "Plumbing Repair", "Plumbing", "Leaks"));
+        int shared = index.nodeCount();
+        index.onServiceSaved(service(2L, "Pipe Repair", "Plumbing", "Pipes"));
+        index.onServiceSaved(service(3L, "Electrical Wiring", "Electrical", "Wiring"));
+
+        index.onServiceRemoved(3L);
+        index.onServiceRemoved(2L);
+        assertThat(index.nodeCount()).isEqualTo(shared);
+        assertThat(index.suggest("pip", 5)).isEmpty();
+        assertThat(index.suggest("wir", 5)).isEmpty();
+        assertThat(index.suggest("rep", 5)).extracting(ServiceSuggestionDTO::getText).containsExactly("Plumbing Repair");
+
+        index.onServiceRemoved(1L);
+        assertThat(index.nodeCount()).isEqualTo(1);
+        assertThat(index.suggest("p", 5)).isEmpty();
+    }
+
+    @Test
+    void renameKeepsOnlyTheNewPhrase() {
+        index.onServiceSaved(service(1L, "Tap Fitting", "Plumbing", "Taps"));
+        index.onServiceSaved(service(1L, "Tile Fitting", "Plumbing", "Taps"));
+
+        assertThat(index.suggest("ta", 5)).extracting(ServiceSuggestionDTO::getText).containsExactly("Taps");
+        assertThat(index.suggest("fit", 5)).extracting(ServiceSuggestionDTO::getText).containsExactly("Tile Fitting");
+    }
+
+    private static Service service(Long id, String title, String category, String subcategory) {
+        Service service = new Service();
+        service.setId(id);
+        service.setTitle(title);
+        service.setCategory(category);
+        service.setSubcategory(subcategory);
+        service.setIsActive(true);
+        return service;
+    }
+}
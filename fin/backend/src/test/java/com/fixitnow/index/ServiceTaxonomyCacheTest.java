@@ -0,0 +1,34 @@
+package com.fixitnow.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class ServiceTaxonomyCacheTest {
+
+    @Test
+    void etagFollowsTheContent() {
+        String etag = etag(Map.of("Plumbing", List.of("Leaks", "Pipes")));
+
+        assertThat(etag(Map.of("Plumbing", List.of("Leaks", "Pipes")))).isEqualTo(etag);
+        assertThat(etag(Map.of("Plumbing", List.of("Leaks")))).isNotEqualTo(etag);
+        assertThat(etag(Map.of("Plumbing", List.of("Leaks", "Pipes"), "Electrical", List.of()))).isNotEqualTo(etag);
+    }
+
+    @Test
+    void listsThatHashAlikeGetDifferentTags() {
+        // "Aa" and "BB" share a String.hashCode(), which the tag used to be built from
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        assertThat(etag(Map.of("Aa", List.of()))).isNotEqualTo(etag(Map.of("BB", List.of())));
+        // Names are not run together: ("ab", "c") is not ("a", "bc")
+        assertThat(etag(Map.of("Cleaning", List.of("ab", "c")))).isNotEqualTo(etag(Map.of("Cleaning", List.of("a", "bc"))));
+    }
+
+    private static String etag(Map<String, List<String>> subcategories) {
+        return new ServiceTaxonomyCache.Taxonomy(1L, new TreeMap<>(subcategories)).getEtag();
+    }
+}
@@ -0,0 +1,80 @@
+package com.fixitnow.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.Test;
+
+class AvailabilitySlotsTest {
+
+    private static final long NINE_TO_SIX = AvailabilitySlots.range(9 * 60, 18 * 60);
+
+    @Test
+    void rangeCoversEveryOverlappingHalfHour() {
+        assertThat(AvailabilitySlots.range(9 * 60, 10 * 60)).isEqualTo(0b11L << 18);
+        // 09:15-10:10 touches 09:00, 09:30 and 10:00
+        assertThat(AvailabilitySlots.range(9 * 60 + 15, 10 * 60 + 10)).isEqualTo(0b111L << 18);
+        assertThat(AvailabilitySlots.range(0, 24 * 60)).isEqualTo(AvailabilitySlots.FULL_DAY);
+        assertThat(AvailabilitySlots.range(10 * 60, 10 * 60)).isZero();
+    }
+
+    @Test
+    void compilesDayRanges() {
+        long[] week = AvailabilitySlots.compile("{\"monday\": {\"start\": \"09:00\", \"end\": \"17:00\", \"available\": true},"
+            + " \"Tuesday\": [{\"start\": \"08:00\", \"end\": \"10:00\"}, {\"start\": \"14:00\", \"end\": \"15:30\"}],"
+            + " \"wednesday\": {\"start\": \"09:00\", \"end\": \"17:00\", \"available\": false}}").toArray();
+
+        assertThat(week[0]).isEqualTo(AvailabilitySlots.range(9 * 60, 17 * 60));
+        assertThat(week[1]).isEqualTo(AvailabilitySlots.range(8 * 60, 10 * 60) | AvailabilitySlots.range(14 * 60, 15 * 60 + 30));
+        assertThat(week[2]).isZero();
+        assertThat(week[3]).isZero();
+    }
+
+    @Test
+    void overnightRangeSpillsIntoNextDay() {
+        long[] week = AvailabilitySlots.compile("{\"sunday\": {\"start\": \"22:00\", \"end\": \"02:00\"},"
+            + " \"friday\": {\"start\": \"18:00\", \"end\": \"24:00\"}}").toArray();
+
+        assertThat(week[6]).isEqualTo(AvailabilitySlots.range(22 * 60, 24 * 60));
+        assertThat(week[0]).isEqualTo(AvailabilitySlots.range(0, 2 * 60)); // Monday morning
+        assertThat(week[4]).isEqualTo(AvailabilitySlots.range(18 * 60, 24 * 60));
+        assertThat(week[5]).isZero();
+    }
+
+    @Test
+    void skipsUnknownKeysAndUnreadableTimes() {
+        long[] week = AvailabilitySlots.compile("{\"holidays\": [], \"monday\": {\"start\": \"9am\", \"end\": \"5pm\"},"
+            + " \"tuesday\": {\"start\": \"10:00\", \"end\": \"11:00\"}}").toArray();
+
+        assertThat(week[0]).isZero();
+        assertThat(week[1]).isEqualTo(AvailabilitySlots.range(10 * 60, 11 * 60));
+    }
+
+    @Test
+    void missingOrUnreadableJsonMeansNineToSixEveryDay() {
+        for (String json : new String[] {null, "", "not json", "[1, 2]"}) {
+            assertThat(AvailabilitySlots.compile(json).toArray()).containsOnly(NINE_TO_SIX);
+        }
+    }
+
+    @Test
+    void startsAreBackToBackWithinEachRun() {
+        long day = AvailabilitySlots.range(9 * 60, 11 * 60 + 30) | AvailabilitySlots.range(14 * 60, 15 * 60);
+
+        assertThat(AvailabilitySlots.starts(day, AvailabilitySlots.SLOTS_PER_BOOKING)).containsExactly(
+            LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(14, 0));
+        assertThat(AvailabilitySlots.starts(day, 1)).hasSize(7);
+        assertThat(AvailabilitySlots.starts(0L, 1)).isEmpty();
+        assertThat(AvailabilitySlots.starts(AvailabilitySlots.FULL_DAY, 2)).hasSize(24)
+            .endsWith(LocalTime.of(23, 0));
+    }
+
+    @Test
+    void slotIsTheHalfHourContainingTheTime() {
+        assertThat(AvailabilitySlots.slot(LocalTime.of(0, 0))).isZero();
+        assertThat(AvailabilitySlots.slot(LocalTime.of(9, 29))).isEqualTo(18);
+        assertThat(AvailabilitySlots.slot(LocalTime.of(9, 30))).isEqualTo(19);
+        assertThat(AvailabilitySlots.slot(LocalTime.of(23, 59))).isEqualTo(47);
+    }
+}
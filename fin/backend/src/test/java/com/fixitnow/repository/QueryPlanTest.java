@@ -0,0 +1,185 @@
+package com.fixitnow.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.ChatRoom;
+import com.fixitnow.model.User;
+
+/**
+ * EXPLAINs the SQL the hot repository queries generate against the migrated schema and asserts
+ * that each plan uses the index the db/migration scripts created for it. The statements are
+ * recorded from Hibernate, so a changed query or filter that loses its index fails here.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Sql(scripts = "/query-plan-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/query-plan-cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSlotCellRepository bookingSlotCellRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceAreaRepository serviceAreaRepository;
+
+    @Test
+    void publicListingUsesListingIndex() {
+        assertPlanUses("idx_services_listing",
+            () -> serviceRepository.findIds(ServiceFilter.publicListing("Plumbing", "Pipe Repair", null)));
+    }
+
+    @Test
+    void providerListingUsesProviderIndex() {
+        assertPlanUses("idx_services_provider", () -> serviceRepository.findCards(
+            ServiceFilter.providerListing(1L), PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"))));
+    }
+
+    @Test
+    void areaListingUsesAreaIndex() {
+        ServiceFilter filter = ServiceFilter.publicListing(null, null, null);
+        filter.setCityId(1L);
+        filter.setLocalityId(1L);
+        assertPlanUses("idx_services_area", () -> serviceRepository.findIds(filter));
+    }
+
+    @Test
+    void mapMarkersUseSpatialIndex() {
+        // Both indexes lead with (is_active, is_deleted); IS NOT NULL narrows neither
+        assertPlanUses(() -> serviceRepository.findAllWithCoordinates(),
+            "idx_services_coordinates", "idx_services_geohash");
+    }
+
+    @Test
+    void boundsUseSpatialIndex() {
+        // MySQL can range-scan the OR of geohash ranges; H2 cannot and seeks the latitude range instead
+        assertPlanUses(() -> serviceRepository.findInBounds(28.4, 28.8, 77.0, 77.4),
+            "idx_services_geohash", "idx_services_coordinates");
+    }
+
+    @Test
+    void bookingCountsUseStatusIndexes() {
+        assertPlanUses("idx_bookings_provider_status",
+            () -> bookingRepository.countByProviderIdAndStatus(1L, Booking.BookingStatus.PENDING));
+        assertPlanUses("idx_bookings_customer_status",
+            () -> bookingRepository.countByCustomerIdAndStatus(1L, Booking.BookingStatus.PENDING));
+    }
+
+    @Test
+    void providerDayUsesDateIndex() {
+        assertPlanUses("idx_bookings_provider_date",
+            () -> bookingRepository.findByProviderAndDate(1L, LocalDate.of(2024, 1, 1)));
+    }
+
+    @Test
+    void slotCellLookupsUseCellKey() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        assertPlanUses("uk_booking_slot_cells",
+            () -> bookingSlotCellRepository.existsCell(900002L, date, List.of(18, 19)));
+        assertPlanUses("uk_booking_slot_cells",
+            () -> bookingSlotCellRepository.findCells(900002L, date, date.plusDays(6)));
+    }
+
+    @Test
+    void ratingAverageUsesReviewIndex() {
+        assertPlanUses("idx_reviews_provider_rating", () -> reviewRepository.findAverageRatingByProviderId(1L));
+    }
+
+    @Test
+    void unreadCountsUseMessageIndexes() {
+        User sender = user(1L);
+        User receiver = user(2L);
+        assertPlanUses("idx_messages_sender_receiver_read",
+            () -> messageRepository.countUnreadMessages(sender, receiver));
+        assertPlanUses("idx_messages_receiver_read", () -> messageRepository.countUnreadMessagesForUser(receiver));
+    }
+
+    @Test
+    void lastChatMessageUsesRoomIndex() {
+        ChatRoom room = new ChatRoom();
+        room.setId(1L);
+        // H2 does not read the index backwards for ORDER BY sent_at DESC, so the room's foreign key index ties with it
+        assertPlanUses(() -> chatMessageRepository.findLastMessageByChatRoom(room),
+            "idx_chat_messages_room_sent", "fkbcsxusjp1v4rd8879fhvq8ssb");
+    }
+
+    @Test
+    void providerListsUseUserIndexes() {
+        assertPlanUses("idx_users_role_verified", () -> userRepository.findActiveVerifiedProviders());
+        assertPlanUses("idx_users_area", () -> userRepository.findProvidersInArea(User.Role.PROVIDER, 1L, 1L));
+    }
+
+    @Test
+    void coverageLookupUsesBoundsIndex() {
+        assertPlanUses("idx_service_areas_bounds", () -> serviceAreaRepository.findBoxesContaining(28.6, 77.2));
+    }
+
+    private void assertPlanUses(String index, Runnable query) {
+        assertPlanUses(query, index);
+    }
+
+    // The query runs one statement whose plan uses one of the indexes
+    private void assertPlanUses(Runnable query, String... indexes) {
+        List<String> statements = RecordingStatementInspector.record(query);
+        assertThat(statements).as("statements of the query").hasSize(1);
+        String plan = explain(statements.get(0)).toLowerCase(Locale.ROOT);
+        assertThat(indexes)
+            .as("indexes used by %s%nPlan: %s", statements.get(0), plan)
+            .anyMatch(index -> plan.contains(index.toLowerCase(Locale.ROOT)));
+    }
+
+    // H2 plans the statement with its parameters unbound, so no values are needed
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
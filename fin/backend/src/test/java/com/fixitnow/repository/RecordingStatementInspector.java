@@ -0,0 +1,37 @@
+package com.fixitnow.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while {@link #record} runs, so
+ * tests can check the statements the repositories really generate.
+ * Registered through hibernate.session_factory.statement_inspector in the test properties.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    // Statements prepared while the call ran, in order
+    public static List<String> record(Runnable call) {
+        List<String> recorded = new ArrayList<>();
+        RECORDED.set(recorded);
+        try {
+            call.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return recorded;
+    }
+}
@@ -0,0 +1,95 @@
+package com.fixitnow.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fixitnow.dto.ServiceCardDTO;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+
+/**
+ * Keyset pages cover every row once, including rows whose sort key is null, in either direction.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceCursorTest {
+
+    private static final String CATEGORY = "Cursor Nulls";
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> titled = new ArrayList<>();
+    private final List<Long> untitled = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        User provider = userRepository.save(new User("Cursor Provider", "cursor-provider@example.com", "secret", User.Role.PROVIDER));
+        for (String title : new String[] {"Alpha", null, "Bravo", null, "Bravo", "Charlie", null}) {
+            Service service = new Service(provider, CATEGORY, "Repairs", "Cursor test service", BigDecimal.valueOf(300), "Indiranagar, Bangalore");
+            service.setTitle(title == null ? "Untitled" : title);
+            Long id = serviceRepository.save(service).getId();
+            if (title == null) {
+                // Rows written before titles were required
+                jdbcTemplate.update("UPDATE services SET title = NULL WHERE id = ?", id);
+                untitled.add(id);
+            } else {
+                titled.add(id);
+            }
+        }
+    }
+
+    @Test
+    void nullKeysRoundTrip() {
+        ServiceCursor first = ServiceCursor.first("title", "asc");
+        Service last = new Service();
+        last.setId(42L);
+        ServiceCursor decoded = ServiceCursor.decode(first.after(last).encode());
+        assertThat(decoded.getLastKey()).isNull();
+        assertThat(decoded.getLastId()).isEqualTo(42L);
+        assertThat(decoded.isAfterNullKey()).isTrue();
+
+        // A real title that reads "null" is still a title
+        last.setTitle("null");
+        assertThat(ServiceCursor.decode(first.after(last).encode()).getLastKey()).isEqualTo("null");
+    }
+
+    @Test
+    void pagesVisitEveryRowWithNullsLast() {
+        for (String direction : new String[] {"asc", "desc"}) {
+            List<Long> seen = new ArrayList<>();
+            ServiceCursor cursor = ServiceCursor.first("title", direction);
+            while (true) {
+                List<ServiceCardDTO> page = serviceRepository.findCardPageAfter(
+                    ServiceFilter.publicListing(CATEGORY, null, null), cursor, 2);
+                if (page.isEmpty()) {
+                    break;
+                }
+                page.forEach(card -> seen.add(card.getId()));
+                // Through the token, as clients echo it back
+                cursor = ServiceCursor.decode(cursor.after(page.get(page.size() - 1)).encode());
+            }
+
+            assertThat(seen).as(direction).doesNotHaveDuplicates().hasSize(titled.size() + untitled.size());
+            assertThat(seen.subList(titled.size(), seen.size())).as(direction).containsExactlyInAnyOrderElementsOf(untitled);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.fixitnow.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fixitnow.index.ProviderCoverageIndex;
+import com.fixitnow.model.ServiceArea;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ServiceAreaRepository;
+import com.fixitnow.repository.UserRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ServiceAreaServiceTest {
+
+    @Autowired
+    private ServiceAreaService serviceAreaService;
+
+    @Autowired
+    private ServiceAreaRepository serviceAreaRepository;
+
+    @Autowired
+    private ProviderCoverageIndex providerCoverageIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void replaceSwapsTheWholeSet() {
+        Long providerId = provider("area-swap@example.com");
+        serviceAreaService.replaceAreas(providerId, List.of(circle(providerId, 12.97, 77.59)));
+        serviceAreaService.replaceAreas(providerId, List.of(circle(providerId, 28.61, 77.21)));
+
+        assertThat(serviceAreaRepository.findByProviderIdOrderByIdAsc(providerId)).hasSize(1);
+        assertThat(providerCoverageIndex.covering(12.97, 77.59, null)).doesNotContain(providerId);
+        assertThat(providerCoverageIndex.covering(28.61, 77.21, null)).contains(providerId);
+    }
+
+    @Test
+    void failedReplaceKeepsTheOldSet() {
+        Long providerId = provider("area-rollback@example.com");
+        serviceAreaService.replaceAreas(providerId, List.of(circle(providerId, 12.97, 77.59)));
+
+        ServiceArea broken = circle(providerId, 28.61, 77.21);
+        broken.setShape(null);
+        assertThatThrownBy(() -> serviceAreaService.replaceAreas(providerId,
+            List.of(circle(providerId, 28.61, 77.21), broken))).isInstanceOf(RuntimeException.class);
+
+        assertThat(serviceAreaRepository.findByProviderIdOrderByIdAsc(providerId))
+            .extracting(ServiceArea::getCenterLat).containsExactly(12.97);
+        assertThat(providerCoverageIndex.covering(12.97, 77.59, null)).contains(providerId);
+        assertThat(providerCoverageIndex.covering(28.61, 77.21, null)).doesNotContain(providerId);
+    }
+
+    @Test
+    void deletingTheProviderDropsTheAreas() {
+        Long providerId = provider("area-delete@example.com");
+        serviceAreaService.replaceAreas(providerId, List.of(circle(providerId, 12.97, 77.59)));
+
+        userRepository.deleteById(providerId);
+        serviceAreaService.refresh(providerId);
+
+        assertThat(serviceAreaRepository.findByProviderIdOrderByIdAsc(providerId)).isEmpty();
+        assertThat(providerCoverageIndex.covering(12.97, 77.59, null)).doesNotContain(providerId);
+    }
+
+    private Long provider(String email) {
+        return userRepository.save(new User("Area Provider", email, "secret", User.Role.PROVIDER)).getId();
+    }
+
+    private static ServiceArea circle(Long providerId, double lat, double lng) {
+        ServiceArea area = new ServiceArea();
+        area.setProviderId(providerId);
+        area.setShape(ServiceArea.Shape.CIRCLE);
+        area.setCenterLat(lat);
+        area.setCenterLng(lng);
+        area.setRadiusKm(5.0);
+        return area;
+    }
+}
@@ -0,0 +1,245 @@
+package com.fixitnow.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fixitnow.dto.BookingSlotDTO;
+import com.fixitnow.model.Booking;
+import com.fixitnow.model.Service;
+import com.fixitnow.model.User;
+import com.fixitnow.repository.ServiceRepository;
+import com.fixitnow.repository.UserRepository;
+
+/**
+ * Bookings of one provider never overlap, whichever node takes them. Extra instances of the
+ * service stand in for other nodes: they do not share the striped locks, so only
+ * uk_booking_slot_cells keeps them apart.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SlotReservationServiceTest {
+
+    private static final int CALLERS = 16;
+
+    @Autowired
+    private SlotReservationService slotReservationService;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger weeks = new AtomicInteger();
+
+    private User customer;
+    private Service onTheHour;
+    private Service onTheHalfHour;
+
+    @BeforeAll
+    void seed() {
+        User provider = userRepository.save(new User("Slot Provider", "slot-provider@example.com", "secret", User.Role.PROVIDER));
+        customer = userRepository.save(new User("Slot Customer", "slot-customer@example.com", "secret", User.Role.CUSTOMER));
+        // Two services of one provider whose one-hour starts are offset by half an hour
+        onTheHour = service(provider, "{\"monday\": {\"start\": \"09:00\", \"end\": \"18:00\", \"available\": true}}");
+        onTheHalfHour = service(provider, "{\"monday\": {\"start\": \"09:30\", \"end\": \"17:30\", \"available\": true}}");
+    }
+
+    @AfterAll
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelCallersForOneSlotGetOneBooking() throws Exception {
+        LocalDate monday = nextMonday();
+        assertExactlyOneBooked(instances(1), i -> booking(onTheHour, monday, "10:00"));
+    }
+
+    @Test
+    void parallelCallersOnSeparateNodesGetOneBooking() throws Exception {
+        LocalDate monday = nextMonday();
+        assertExactlyOneBooked(instances(CALLERS), i -> booking(onTheHour, monday, "10:00"));
+    }
+
+    @Test
+    void parallelOverlappingStartsGetOneBooking() throws Exception {
+        // 10:00-11:00 and 10:30-11:30 share the 10:30 half hour
+        LocalDate monday = nextMonday();
+        assertExactlyOneBooked(instances(CALLERS),
+            i -> i % 2 == 0 ? booking(onTheHour, monday, "10:00") : booking(onTheHalfHour, monday, "10:30"));
+    }
+
+    @Test
+    void overlappingStartIsRefusedWithFreeAlternatives() {
+        LocalDate monday = nextMonday();
+        slotReservationService.reserve(booking(onTheHour, monday, "9:00"));
+
+        assertThatThrownBy(() -> slotReservationService.reserve(booking(onTheHour, monday, "09:00")))
+            .isInstanceOf(SlotReservationService.SlotTakenException.class);
+        assertThatThrownBy(() -> slotReservationService.reserve(booking(onTheHalfHour, monday, "09:30")))
+            .isInstanceOfSatisfying(SlotReservationService.SlotTakenException.class, e -> {
+                assertThat(e.getAlternatives()).isNotEmpty();
+                BookingSlotDTO nearest = e.getAlternatives().get(0);
+                assertThat(nearest.getBookingDate()).isEqualTo(monday);
+                assertThat(nearest.getTimeSlot()).isEqualTo("10:30");
+            });
+        // Back to back is fine
+        assertThat(slotReservationService.reserve(booking(onTheHalfHour, monday, "10:30")).getId()).isNotNull();
+    }
+
+    @Test
+    void startsOffTheServiceGridAreRejected() {
+        LocalDate monday = nextMonday();
+        for (String time : new String[] {"09:30", "9:15", "17:30", "18:00", "morning"}) {
+            assertThatThrownBy(() -> slotReservationService.reserve(booking(onTheHour, monday, time)))
+                .as(time).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> slotReservationService.reserve(booking(onTheHour, monday.plusDays(1), "10:00")))
+            .as("not available on Tuesdays").isInstanceOf(IllegalArgumentException.class);
+        assertThat(slotReservationService.reserve(booking(onTheHour, monday, "17:00")).getId()).isNotNull();
+    }
+
+    @Test
+    void longerBookingsHoldEveryHour() {
+        LocalDate monday = nextMonday();
+        Booking threeHours = booking(onTheHour, monday, "10:00");
+        threeHours.setDurationHours(3);
+        slotReservationService.reserve(threeHours);
+
+        assertThatThrownBy(() -> slotReservationService.reserve(booking(onTheHour, monday, "12:00")))
+            .isInstanceOf(SlotReservationService.SlotTakenException.class);
+        Booking twoHours = booking(onTheHalfHour, monday, "09:30");
+        twoHours.setDurationHours(2);
+        assertThatThrownBy(() -> slotReservationService.reserve(twoHours))
+            .isInstanceOfSatisfying(SlotReservationService.SlotTakenException.class, e -> {
+                assertThat(e.getAlternatives()).isNotEmpty();
+                assertThat(e.getAlternatives().get(0).getTimeSlot()).isEqualTo("13:30");
+                // 15:30-17:30 is the last two hours of the 09:30-17:30 day
+                assertThat(e.getAlternatives()).extracting(BookingSlotDTO::getTimeSlot).doesNotContain("16:30");
+            });
+        assertThat(slotReservationService.reserve(booking(onTheHour, monday, "13:00")).getId()).isNotNull();
+    }
+
+    @Test
+    void bookingsMustEndWithinTheAvailableDay() {
+        LocalDate monday = nextMonday();
+        Booking pastClosing = booking(onTheHour, monday, "16:00");
+        pastClosing.setDurationHours(3);
+        assertThatThrownBy(() -> slotReservationService.reserve(pastClosing)).isInstanceOf(IllegalArgumentException.class);
+        Booking tooLong = booking(onTheHour, monday, "09:00");
+        tooLong.setDurationHours(9);
+        assertThatThrownBy(() -> slotReservationService.reserve(tooLong)).isInstanceOf(IllegalArgumentException.class);
+
+        pastClosing.setDurationHours(2);
+        assertThat(slotReservationService.reserve(pastClosing).getId()).isNotNull();
+    }
+
+    @Test
+    void cancellingFreesTheCellsAndRevivingRetakesThem() {
+        LocalDate monday = nextMonday();
+        Booking first = slotReservationService.reserve(booking(onTheHour, monday, "12:00"));
+        slotReservationService.updateStatus(first, Booking.BookingStatus.CANCELLED);
+
+        Booking second = slotReservationService.reserve(booking(onTheHalfHour, monday, "12:30"));
+
+        assertThatThrownBy(() -> slotReservationService.updateStatus(first, Booking.BookingStatus.CONFIRMED))
+            .isInstanceOf(SlotReservationService.SlotTakenException.class);
+        assertThat(first.getStatus()).isEqualTo(Booking.BookingStatus.CANCELLED);
+
+        slotReservationService.updateStatus(second, Booking.BookingStatus.CANCELLED);
+        assertThat(slotReservationService.updateStatus(first, Booking.BookingStatus.CONFIRMED).getStatus())
+            .isEqualTo(Booking.BookingStatus.CONFIRMED);
+    }
+
+    private interface BookingFactory {
+        Booking create(int caller);
+    }
+
+    // All callers start together; exactly one gets the booking and the rest are told the slot is taken
+    private void assertExactlyOneBooked(List<SlotReservationService> nodes, BookingFactory bookings) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Booking>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            SlotReservationService node = nodes.get(i % nodes.size());
+            Booking booking = bookings.create(i);
+            Callable<Booking> call = () -> {
+                start.await();
+                return node.reserve(booking);
+            };
+            results.add(executor.submit(call));
+        }
+        start.countDown();
+
+        int booked = 0;
+        int taken = 0;
+        for (Future<Booking> result : results) {
+            try {
+                assertThat(result.get().getId()).isNotNull();
+                booked++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(SlotReservationService.SlotTakenException.class);
+                taken++;
+            }
+        }
+        assertThat(booked).isEqualTo(1);
+        assertThat(taken).isEqualTo(CALLERS - 1);
+    }
+
+    private List<SlotReservationService> instances(int count) {
+        List<SlotReservationService> nodes = new ArrayList<>();
+        nodes.add(slotReservationService);
+        while (nodes.size() < count) {
+            SlotReservationService node = new SlotReservationService();
+            beanFactory.autowireBean(node);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    // A Monday no other test books
+    private LocalDate nextMonday() {
+        return LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).plusWeeks(weeks.getAndIncrement());
+    }
+
+    private Booking booking(Service service, LocalDate date, String timeSlot) {
+        Booking booking = new Booking(service, customer, service.getProvider(), date, timeSlot);
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        return booking;
+    }
+
+    private Service service(User provider, String availability) {
+        Service service = new Service(provider, "Slots", "Repairs", "Slot test service", BigDecimal.valueOf(500), "Koramangala, Bangalore");
+        service.setTitle("Slot test service");
+        service.setAvailability(availability);
+        return serviceRepository.save(service);
+    }
+}
@@ -0,0 +1,10 @@
+-- Removes the rows of query-plan-data.sql, children first
+DELETE FROM service_areas WHERE id > 900000;
+DELETE FROM chat_messages WHERE id > 900000;
+DELETE FROM chat_rooms WHERE id > 900000;
+DELETE FROM messages WHERE id > 900000;
+DELETE FROM reviews WHERE id > 900000;
+DELETE FROM booking_slot_cells WHERE id > 900000;
+DELETE FROM bookings WHERE id > 900000;
+DELETE FROM services WHERE id > 900000;
+DELETE FROM users WHERE id > 900000;
@@ -0,0 +1,58 @@
+-- Representative rows for QueryPlanTest. H2 picks the first usable index on empty tables, so
+-- plans only say something once the tables hold committed data. query-plan-cleanup.sql removes
+-- the rows again; every id is above 900000.
+INSERT INTO users (id, name, email, password, role, is_active, is_verified, is_deleted, city_id, locality_id)
+SELECT 900000 + x, 'Plan user ' || x, 'plan-user-' || x || '@example.com', 'secret',
+       CASE WHEN MOD(x, 2) = 0 THEN 'PROVIDER' ELSE 'CUSTOMER' END,
+       MOD(x, 10) <> 0, MOD(x, 3) = 0, FALSE, MOD(x, 11) + 1, MOD(x, 40) + 1
+FROM SYSTEM_RANGE(1, 400);
+
+INSERT INTO services (id, provider_id, title, category, subcategory, description, price, location,
+                      latitude, longitude, geohash, is_active, is_deleted, created_at, city_id, locality_id)
+SELECT 900000 + x, 900000 + 2 * (MOD(x, 200) + 1), 'Plan service ' || x, 'Category ' || MOD(x, 12),
+       'Subcategory ' || MOD(x, 36), 'Plan service', 100 + MOD(x, 500), 'Plan location ' || MOD(x, 40),
+       8 + MOD(x, 270) / 10.0, 68 + MOD(x * 7, 290) / 10.0, 'tt' || MOD(x, 97),
+       MOD(x, 9) <> 0, MOD(x, 17) = 0, TIMESTAMP '2024-01-01 00:00:00' + MOD(x, 365) * INTERVAL '1' DAY,
+       MOD(x, 11) + 1, MOD(x, 40) + 1
+FROM SYSTEM_RANGE(1, 3000);
+
+INSERT INTO bookings (id, customer_id, provider_id, service_id, booking_date, time_slot, status, created_at)
+SELECT 900000 + x, 900000 + 2 * MOD(x, 200) + 1, 900000 + 2 * (MOD(x, 200) + 1), 900000 + MOD(x, 3000) + 1,
+       DATE '2024-01-01' + MOD(x, 90), LPAD(9 + MOD(x, 9), 2, '0') || ':00',
+       CASE MOD(x, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'CONFIRMED' WHEN 2 THEN 'COMPLETED' ELSE 'CANCELLED' END,
+       TIMESTAMP '2024-01-01 00:00:00' + MOD(x, 90) * INTERVAL '1' DAY
+FROM SYSTEM_RANGE(1, 4000);
+
+-- The two half hours of each live booking among the first 1800 (later ones repeat their slots)
+INSERT INTO booking_slot_cells (id, booking_id, provider_id, booking_date, cell)
+SELECT 900000 + 2 * x + h, 900000 + x, 900000 + 2 * (MOD(x, 200) + 1), DATE '2024-01-01' + MOD(x, 90),
+       2 * (9 + MOD(x, 9)) + h
+FROM SYSTEM_RANGE(1, 1800), (SELECT X AS h FROM SYSTEM_RANGE(0, 1))
+WHERE MOD(x, 4) <> 3;
+
+INSERT INTO reviews (id, booking_id, customer_id, provider_id, rating, created_at)
+SELECT 900000 + x, 900000 + x, 900000 + 2 * MOD(x, 200) + 1, 900000 + 2 * (MOD(x, 200) + 1), MOD(x, 5) + 1,
+       TIMESTAMP '2024-01-01 00:00:00'
+FROM SYSTEM_RANGE(1, 2000);
+
+INSERT INTO messages (id, sender_id, receiver_id, content, sent_at, is_read)
+SELECT 900000 + x, 900000 + MOD(x, 400) + 1, 900000 + MOD(x * 7, 400) + 1, 'Plan message',
+       TIMESTAMP '2024-01-01 00:00:00' + x * INTERVAL '1' MINUTE, MOD(x, 3) <> 0
+FROM SYSTEM_RANGE(1, 4000);
+
+INSERT INTO chat_rooms (id, room_id, customer_id, provider_id, is_active)
+SELECT 900000 + x, 'plan-room-' || x, 900000 + 2 * MOD(x, 200) + 1, 900000 + 2 * (MOD(x, 200) + 1), TRUE
+FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO chat_messages (id, chat_room_id, sender_id, content, message_type, sent_at, is_read)
+SELECT 900000 + x, 900000 + MOD(x, 200) + 1, 900000 + MOD(x, 400) + 1, 'Plan chat message', 'TEXT',
+       TIMESTAMP '2024-01-01 00:00:00' + x * INTERVAL '1' MINUTE, MOD(x, 3) <> 0
+FROM SYSTEM_RANGE(1, 4000);
+
+INSERT INTO service_areas (id, provider_id, shape, min_lat, max_lat, min_lng, max_lng)
+SELECT 900000 + x, 900000 + 2 * (MOD(x, 200) + 1), 'CIRCLE',
+       8 + MOD(x, 270) / 10.0, 8.5 + MOD(x, 270) / 10.0, 68 + MOD(x * 7, 290) / 10.0, 68.5 + MOD(x * 7, 290) / 10.0
+FROM SYSTEM_RANGE(1, 1000);
+
+-- Column selectivity, as a production database keeps it
+ANALYZE;
@@ -47,16 +47,28 @@ const BookService = () => {
     fetchService();
   }, [fetchService]);
 
+  // Starts the backend accepts (AvailabilitySlots.starts): on the hour from the start of the
+  // available window, with the whole duration ending by its close
+  const startsWithin = (start, end) => {
+    const slots = [];
+    const duration = parseInt(bookingData.duration, 10) || 1;
+    const startTime = new Date(`2000-01-01T${start}:00`);
+    const endTime = new Date(`2000-01-01T${end}:00`);
+    const lastStart = new Date(endTime.getTime() - duration * 60 * 60 * 1000);
+
+    while (startTime <= lastStart) {
+      slots.push(startTime.toTimeString().slice(0, 5));
+      startTime.setMinutes(startTime.getMinutes() + 60); // 1-hour grid
+    }
+    return slots;
+  };
+
   const getAvailableTimeSlots = () => {
     if (!service || !bookingData.selectedDate) return [];
 
-    // Generate default time slots if availability is not properly defined
+    // The backend books 09:00-18:00 when availability is not properly defined
     if (!service.availability) {
-      const slots = [];
-      for (let hour = 9; hour <= 17; hour++) {
-        slots.push(`${hour.toString().padStart(2, '0')}:00`);
-      }
-      return slots;
+      return startsWithin('09:00', '18:00');
     }
 
     try {
@@ -73,24 +85,11 @@ const BookService = () => {
         return [];
       }
 
-      const slots = [];
-      const startTime = new Date(`2000-01-01T${dayAvailability.start}:00`);
-      const endTime = new Date(`2000-01-01T${dayAvailability.end}:00`);
-      
-      while (startTime < endTime) {
-        slots.push(startTime.toTimeString().slice(0, 5));
-        startTime.setMinutes(startTime.getMinutes() + 60); // 1-hour slots
-      }
-
-      return slots;
+      return startsWithin(dayAvailability.start, dayAvailability.end);
     } catch (error) {
       console.error('Error parsing availability:', error);
       // Fallback to default slots
-      const slots = [];
-      for (let hour = 9; hour <= 17; hour++) {
-        slots.push(`${hour.toString().padStart(2, '0')}:00`);
-      }
-      return slots;
+      return startsWithin('09:00', '18:00');
     }
   };
 
@@ -153,6 +152,7 @@ const BookService = () => {
         bookingDate: bookingData.selectedDate,
         timeSlot: bookingData.selectedTime,
         urgencyLevel: bookingData.urgencyLevel,
+        durationHours: parseInt(bookingData.duration, 10),
         notes: `Duration: ${bookingData.duration} hours, Urgency: ${bookingData.urgencyLevel}, Total: ₹${calculateTotal()}${bookingData.specialRequests ? `, Special Requests: ${bookingData.specialRequests.trim()}` : ''}`
       };
 